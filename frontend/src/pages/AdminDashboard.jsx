@@ -43,7 +43,7 @@ function AdminDashboard() {
             setWalletsLoading(true);
             setWalletsError(null);
             const data = await getRequest('/admin/wallets/negative');
-            setNegativeWallets(data);
+            setNegativeWallets(data.items);
         } catch (err) {
             setWalletsError('Failed to fetch negative balance wallets');
             console.error('Error fetching wallets:', err);
@@ -57,7 +57,7 @@ function AdminDashboard() {
             setVehiclesLoading(true);
             setVehiclesError(null);
             const data = await getRequest('/admin/vehicles');
-            setVehicles(data);
+            setVehicles(data.items);
         } catch (err) {
             setVehiclesError('Failed to fetch vehicles');
             console.error('Error fetching vehicles:', err);
@@ -31,7 +31,7 @@ function Highways() {
             setLoading(true);
             setError(null);
             const data = await getRequest('/highways');
-            setHighways(data);
+            setHighways(data.items);
         } catch (err) {
             setError('Failed to fetch highways. Make sure the backend is running.');
             console.error('Error fetching highways:', err);
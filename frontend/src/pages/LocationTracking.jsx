@@ -88,7 +88,7 @@ function LocationTracking() {
             setHistoryLoading(true);
             setHistoryError(null);
             const data = await getRequest(`/locations/vehicle/${searchVehicleId}`);
-            setLocations(data);
+            setLocations(data.items);
         } catch (err) {
             setHistoryError('Failed to fetch location history. Vehicle ID may not exist.');
             console.error('Error fetching location history:', err);
@@ -26,7 +26,7 @@ function Users() {
             setLoading(true);
             setError(null);
             const data = await getRequest('/users');
-            setUsers(data);
+            setUsers(data.items);
         } catch (err) {
             setError('Failed to fetch users. Make sure the backend is running.');
             console.error('Error fetching users:', err);
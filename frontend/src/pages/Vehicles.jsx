@@ -26,7 +26,7 @@ function Vehicles() {
             setLoading(true);
             setError(null);
             const data = await getRequest('/vehicles');
-            setVehicles(data);
+            setVehicles(data.items);
         } catch (err) {
             setError('Failed to fetch vehicles. Make sure the backend is running.');
             console.error('Error fetching vehicles:', err);
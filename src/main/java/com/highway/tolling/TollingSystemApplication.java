@@ -2,6 +2,7 @@ package com.highway.tolling;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
@@ -11,9 +12,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * The @SpringBootApplication annotation enables auto-configuration,
  * component scanning, and configuration.
  * The @EnableScheduling annotation enables scheduled tasks.
+ * The @EnableAsync annotation enables asynchronous event listeners.
  */
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 public class TollingSystemApplication {
 
     public static void main(String[] args) {
@@ -1,15 +1,27 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.model.Wallet;
 import com.highway.tolling.service.AdminService;
+import com.highway.tolling.service.BillingAccrualService;
+import com.highway.tolling.service.GpsArchiveService;
+import com.highway.tolling.service.HighwayMapMatchingService;
+import com.highway.tolling.service.HighwaySessionHysteresisService;
+import com.highway.tolling.service.OverdueBillService;
+import com.highway.tolling.service.TrajectoryCompressionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,40 +33,76 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final TrajectoryCompressionService trajectoryCompressionService;
+    private final GpsArchiveService gpsArchiveService;
+    private final HighwayMapMatchingService highwayMapMatchingService;
+    private final HighwaySessionHysteresisService highwaySessionHysteresisService;
+    private final BillingAccrualService billingAccrualService;
+    private final OverdueBillService overdueBillService;
 
     @Autowired
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService,
+            TrajectoryCompressionService trajectoryCompressionService,
+            GpsArchiveService gpsArchiveService,
+            HighwayMapMatchingService highwayMapMatchingService,
+            HighwaySessionHysteresisService highwaySessionHysteresisService,
+            BillingAccrualService billingAccrualService,
+            OverdueBillService overdueBillService) {
         this.adminService = adminService;
+        this.trajectoryCompressionService = trajectoryCompressionService;
+        this.gpsArchiveService = gpsArchiveService;
+        this.highwayMapMatchingService = highwayMapMatchingService;
+        this.highwaySessionHysteresisService = highwaySessionHysteresisService;
+        this.billingAccrualService = billingAccrualService;
+        this.overdueBillService = overdueBillService;
     }
 
     /**
-     * Get all vehicles in the system
-     * GET /api/admin/vehicles
+     * Get vehicles in the system, ordered by ID, one page at a time
+     * GET /api/admin/vehicles?limit=100&cursor=...
      */
     @GetMapping("/vehicles")
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        List<Vehicle> vehicles = adminService.getAllVehicles();
-        return new ResponseEntity<>(vehicles, HttpStatus.OK);
+    public ResponseEntity<PageResponse<Vehicle>> getAllVehicles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Vehicle> page = adminService.getVehiclesPage(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
-     * Get all users with negative wallet balance
-     * GET /api/admin/wallets/negative
+     * Get wallets with negative balance, ordered by ID, one page at a time
+     * GET /api/admin/wallets/negative?limit=100&cursor=...
      */
     @GetMapping("/wallets/negative")
-    public ResponseEntity<List<Wallet>> getWalletsWithNegativeBalance() {
-        List<Wallet> wallets = adminService.getWalletsWithNegativeBalance();
-        return new ResponseEntity<>(wallets, HttpStatus.OK);
+    public ResponseEntity<PageResponse<Wallet>> getWalletsWithNegativeBalance(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Wallet> page = adminService.getWalletsWithNegativeBalance(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
-     * Get all wallets in deficit (below minimum balance)
-     * GET /api/admin/wallets/deficit
+     * Get wallets in deficit (below minimum balance), ordered by ID, one page at a time
+     * GET /api/admin/wallets/deficit?limit=100&cursor=...
      */
     @GetMapping("/wallets/deficit")
-    public ResponseEntity<List<Wallet>> getWalletsInDeficit() {
-        List<Wallet> wallets = adminService.getWalletsInDeficit();
-        return new ResponseEntity<>(wallets, HttpStatus.OK);
+    public ResponseEntity<PageResponse<Wallet>> getWalletsInDeficit(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Wallet> page = adminService.getWalletsInDeficit(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
@@ -63,12 +111,12 @@ public class AdminController {
      */
     @GetMapping("/toll/total")
     public ResponseEntity<Map<String, Object>> getTotalTollCollected() {
-        double totalToll = adminService.getTotalTollCollected();
+        long totalToll = adminService.getTotalTollCollected();
 
         Map<String, Object> response = new HashMap<>();
-        response.put("totalTollCollected", totalToll);
+        response.put("totalTollCollected", Money.toRupees(totalToll));
         response.put("currency", "INR");
-        response.put("formattedAmount", "₹" + String.format("%.2f", totalToll));
+        response.put("formattedAmount", Money.format(totalToll));
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -83,6 +131,94 @@ public class AdminController {
         return new ResponseEntity<>(stats, HttpStatus.OK);
     }
 
+    /**
+     * Get online GPS trajectory compression statistics since startup
+     * GET /api/admin/locations/compression
+     */
+    @GetMapping("/locations/compression")
+    public ResponseEntity<TrajectoryCompressionService.CompressionResult> getCompressionStats() {
+        return new ResponseEntity<>(trajectoryCompressionService.getOnlineStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Get highway map-matching statistics since startup
+     * GET /api/admin/highway-matching/stats
+     */
+    @GetMapping("/highway-matching/stats")
+    public ResponseEntity<HighwayMapMatchingService.MatchingStats> getHighwayMatchingStats() {
+        return new ResponseEntity<>(highwayMapMatchingService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Get highway session hysteresis statistics since startup
+     * (suppressedTransitions = session flaps avoided)
+     * GET /api/admin/highway-matching/hysteresis
+     */
+    @GetMapping("/highway-matching/hysteresis")
+    public ResponseEntity<HighwaySessionHysteresisService.HysteresisStats> getHysteresisStats() {
+        return new ResponseEntity<>(highwaySessionHysteresisService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Compact stored GPS history within a closed time range
+     * POST /api/admin/locations/compact?from=2026-01-01T00:00:00&to=2026-01-31T23:59:59
+     */
+    @PostMapping("/locations/compact")
+    public ResponseEntity<TrajectoryCompressionService.CompressionResult> compactLocationHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(trajectoryCompressionService.compactHistory(from, to), HttpStatus.OK);
+    }
+
+    /**
+     * Export a closed month of GPS points to the columnar archive
+     * POST /api/admin/archive/gps?month=2026-01
+     */
+    @PostMapping("/archive/gps")
+    public ResponseEntity<GpsArchiveService.ArchiveResult> exportGpsArchive(@RequestParam String month) {
+        YearMonth archiveMonth;
+        try {
+            archiveMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        if (!archiveMonth.isBefore(YearMonth.now())) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Only closed months
+        }
+        return new ResponseEntity<>(gpsArchiveService.exportMonth(archiveMonth), HttpStatus.OK);
+    }
+
+    /**
+     * Recompute a month's billing accruals from the closed highway sessions
+     * POST /api/admin/billing/accruals/rebuild?month=2026-01
+     */
+    @PostMapping("/billing/accruals/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildBillingAccruals(@RequestParam String month) {
+        YearMonth accrualMonth;
+        try {
+            accrualMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("month", accrualMonth.toString());
+        response.put("rowsAffected", billingAccrualService.rebuildAccruals(accrualMonth));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Mark PENDING bills past their due date as OVERDUE now (the scheduler
+     * does this daily) and send the payment reminders
+     * POST /api/admin/billing/overdue/sweep
+     */
+    @PostMapping("/billing/overdue/sweep")
+    public ResponseEntity<OverdueBillService.SweepResult> sweepOverdueBills() {
+        return new ResponseEntity<>(overdueBillService.sweepOverdueBills(LocalDate.now()), HttpStatus.OK);
+    }
+
     /**
      * Health check for admin endpoints
      * GET /api/admin/health
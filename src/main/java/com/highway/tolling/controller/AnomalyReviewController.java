@@ -1,14 +1,16 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.DataAnomaly;
 import com.highway.tolling.model.ReviewStatus;
 import com.highway.tolling.service.AnomalyDetectionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
@@ -21,20 +23,34 @@ public class AnomalyReviewController {
 
     private final AnomalyDetectionService anomalyDetectionService;
 
+    // Start of the range used when no start is given
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     @Autowired
     public AnomalyReviewController(AnomalyDetectionService anomalyDetectionService) {
         this.anomalyDetectionService = anomalyDetectionService;
     }
 
     /**
-     * Get all pending anomalies
+     * Get pending anomalies, newest first, one page at a time
      * GET /api/anomalies/pending
+     * Optional: ?from=2026-01-01T00:00:00&to=2026-01-31T23:59:59&limit=100&cursor=...
      */
     @GetMapping("/pending")
-    public ResponseEntity<?> getPendingAnomalies() {
+    public ResponseEntity<?> getPendingAnomalies(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<DataAnomaly> anomalies = anomalyDetectionService.getPendingAnomalies();
+            PageResponse<DataAnomaly> anomalies = anomalyDetectionService.getPendingAnomalies(
+                    from != null ? from : EARLIEST,
+                    to != null ? to : LocalDateTime.now(),
+                    cursor,
+                    PageResponse.normalizeLimit(limit));
             return ResponseEntity.ok(anomalies);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error retrieving anomalies: " + e.getMessage());
@@ -42,14 +58,27 @@ public class AnomalyReviewController {
     }
 
     /**
-     * Get anomalies for a specific vehicle
+     * Get anomalies for a specific vehicle, newest first, one page at a time
      * GET /api/anomalies/vehicle/{vehicleId}
+     * Optional: ?from=...&to=...&limit=100&cursor=...
      */
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<?> getVehicleAnomalies(@PathVariable Long vehicleId) {
+    public ResponseEntity<?> getVehicleAnomalies(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<DataAnomaly> anomalies = anomalyDetectionService.getVehicleAnomalies(vehicleId);
+            PageResponse<DataAnomaly> anomalies = anomalyDetectionService.getVehicleAnomalies(
+                    vehicleId,
+                    from != null ? from : EARLIEST,
+                    to != null ? to : LocalDateTime.now(),
+                    cursor,
+                    PageResponse.normalizeLimit(limit));
             return ResponseEntity.ok(anomalies);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error retrieving anomalies: " + e.getMessage());
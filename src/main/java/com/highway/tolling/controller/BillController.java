@@ -0,0 +1,94 @@
+package com.highway.tolling.controller;
+
+import com.highway.tolling.model.Bill;
+import com.highway.tolling.model.BillLineItem;
+import com.highway.tolling.model.BillingAccrual;
+import com.highway.tolling.service.BillLineItemService;
+import com.highway.tolling.service.BillService;
+import com.highway.tolling.service.BillingAccrualService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Bill Controller
+ * REST API endpoints for monthly bills and the running bill of the current
+ * month
+ */
+@RestController
+@RequestMapping("/api/bills")
+public class BillController {
+
+    private final BillService billService;
+    private final BillingAccrualService billingAccrualService;
+    private final BillLineItemService billLineItemService;
+
+    @Autowired
+    public BillController(BillService billService, BillingAccrualService billingAccrualService,
+            BillLineItemService billLineItemService) {
+        this.billService = billService;
+        this.billingAccrualService = billingAccrualService;
+        this.billLineItemService = billLineItemService;
+    }
+
+    /**
+     * Get bill by ID
+     * GET /api/bills/{billId}
+     */
+    @GetMapping("/{billId}")
+    public ResponseEntity<Bill> getBillById(@PathVariable Long billId) {
+        return billService.getBillById(billId)
+                .map(bill -> new ResponseEntity<>(bill, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Get the per-vehicle, per-highway line items of a bill
+     * GET /api/bills/{billId}/line-items
+     */
+    @GetMapping("/{billId}/line-items")
+    public ResponseEntity<List<BillLineItem>> getLineItems(@PathVariable Long billId) {
+        return new ResponseEntity<>(billLineItemService.getLineItems(billId), HttpStatus.OK);
+    }
+
+    /**
+     * Get all bills of a user
+     * GET /api/bills/user/{userId}
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<Bill>> getUserBills(@PathVariable Long userId) {
+        return new ResponseEntity<>(billService.getUserBills(userId), HttpStatus.OK);
+    }
+
+    /**
+     * Get the running bill of the current month (zero if the user has not
+     * closed a highway session this month)
+     * GET /api/bills/user/{userId}/running
+     */
+    @GetMapping("/user/{userId}/running")
+    public ResponseEntity<BillingAccrual> getRunningBill(@PathVariable Long userId) {
+        YearMonth currentMonth = YearMonth.now();
+        BillingAccrual accrual = billingAccrualService.getAccrual(userId, currentMonth).orElseGet(() -> {
+            BillingAccrual empty = new BillingAccrual();
+            empty.setUserId(userId);
+            empty.setBillMonth(currentMonth.toString());
+            empty.setUpdatedAt(LocalDateTime.now());
+            return empty;
+        });
+        return new ResponseEntity<>(accrual, HttpStatus.OK);
+    }
+
+    /**
+     * Get the accruals of all months of a user, most recent first
+     * GET /api/bills/user/{userId}/accruals
+     */
+    @GetMapping("/user/{userId}/accruals")
+    public ResponseEntity<List<BillingAccrual>> getUserAccruals(@PathVariable Long userId) {
+        return new ResponseEntity<>(billingAccrualService.getUserAccruals(userId), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,104 @@
+package com.highway.tolling.controller;
+
+import com.highway.tolling.service.ExportService;
+import com.highway.tolling.service.ExportService.ExportDataset;
+import com.highway.tolling.service.ExportService.ExportFilter;
+import com.highway.tolling.service.ExportService.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export Controller
+ * Streaming CSV/NDJSON downloads for analysts. Rows are written to the
+ * response as they are read from the database.
+ *
+ * Common parameters: format=csv|ndjson (default csv),
+ * from/to (ISO date-time, default: everything up to now)
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Export GPS points
+     * GET /api/export/locations?vehicleId=1&highwayId=2&from=...&to=...&format=ndjson
+     */
+    @GetMapping("/locations")
+    public ResponseEntity<StreamingResponseBody> exportLocations(
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) Long highwayId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        return stream(ExportDataset.LOCATIONS, format, new ExportFilter(vehicleId, highwayId, null,
+                from != null ? from : EARLIEST, to != null ? to : LocalDateTime.now()));
+    }
+
+    /**
+     * Export highway usage sessions (time range applies to the entry time)
+     * GET /api/export/highway-usage?vehicleId=1&highwayId=2&from=...&to=...
+     */
+    @GetMapping("/highway-usage")
+    public ResponseEntity<StreamingResponseBody> exportHighwayUsage(
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) Long highwayId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        return stream(ExportDataset.HIGHWAY_USAGE, format, new ExportFilter(vehicleId, highwayId, null,
+                from != null ? from : EARLIEST, to != null ? to : LocalDateTime.now()));
+    }
+
+    /**
+     * Export bills (time range applies to the creation time; vehicleId selects
+     * the bills of the vehicle's owner)
+     * GET /api/export/bills?userId=1&from=...&to=...
+     */
+    @GetMapping("/bills")
+    public ResponseEntity<StreamingResponseBody> exportBills(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        return stream(ExportDataset.BILLS, format, new ExportFilter(vehicleId, null, userId,
+                from != null ? from : EARLIEST, to != null ? to : LocalDateTime.now()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(ExportDataset dataset, String format, ExportFilter filter) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            exportService.validate(dataset, filter);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+
+        String fileName = dataset.name().toLowerCase().replace('_', '-')
+                + (exportFormat == ExportFormat.CSV ? ".csv" : ".ndjson");
+        StreamingResponseBody body = out -> exportService.export(dataset, exportFormat, filter, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV ? new MediaType("text", "csv") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
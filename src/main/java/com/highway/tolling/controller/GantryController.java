@@ -0,0 +1,147 @@
+package com.highway.tolling.controller;
+
+import com.highway.tolling.dto.PageResponse;
+import com.highway.tolling.model.Gantry;
+import com.highway.tolling.model.GantryCrossing;
+import com.highway.tolling.service.GantryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gantry Controller
+ * REST API endpoints for virtual toll gantries and their crossings
+ */
+@RestController
+@RequestMapping("/api/gantries")
+public class GantryController {
+
+    // Start of the range used when no start is given
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final GantryService gantryService;
+
+    @Autowired
+    public GantryController(GantryService gantryService) {
+        this.gantryService = gantryService;
+    }
+
+    /**
+     * Create a new gantry
+     * POST /api/gantries
+     */
+    @PostMapping
+    public ResponseEntity<Gantry> createGantry(@RequestBody Gantry gantry) {
+        try {
+            Gantry createdGantry = gantryService.createGantry(gantry);
+            return new ResponseEntity<>(createdGantry, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get gantries, or the gantries of one highway, ordered by ID, one page at a time
+     * GET /api/gantries?highwayId=1&limit=100&cursor=...
+     */
+    @GetMapping
+    public ResponseEntity<PageResponse<Gantry>> getGantries(
+            @RequestParam(required = false) Long highwayId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Gantry> page = gantryService.getGantriesPage(highwayId, cursor,
+                    PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
+    }
+
+    /**
+     * Get gantry by ID
+     * GET /api/gantries/{gantryId}
+     */
+    @GetMapping("/{gantryId}")
+    public ResponseEntity<Gantry> getGantryById(@PathVariable Long gantryId) {
+        return gantryService.getGantryById(gantryId)
+                .map(gantry -> new ResponseEntity<>(gantry, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Update gantry information
+     * PUT /api/gantries/{gantryId}
+     */
+    @PutMapping("/{gantryId}")
+    public ResponseEntity<Gantry> updateGantry(@PathVariable Long gantryId, @RequestBody Gantry gantry) {
+        try {
+            Gantry updatedGantry = gantryService.updateGantry(gantryId, gantry);
+            return new ResponseEntity<>(updatedGantry, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Delete a gantry
+     * DELETE /api/gantries/{gantryId}
+     */
+    @DeleteMapping("/{gantryId}")
+    public ResponseEntity<Void> deleteGantry(@PathVariable Long gantryId) {
+        try {
+            gantryService.deleteGantry(gantryId);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Get a vehicle's gantry crossings, newest first, one page at a time
+     * GET /api/gantries/crossings/vehicle/{vehicleId}?from=...&to=...&limit=100&cursor=...
+     */
+    @GetMapping("/crossings/vehicle/{vehicleId}")
+    public ResponseEntity<PageResponse<GantryCrossing>> getVehicleCrossings(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<GantryCrossing> crossings = gantryService.getVehicleCrossings(
+                    vehicleId,
+                    from != null ? from : EARLIEST,
+                    to != null ? to : LocalDateTime.now(),
+                    cursor,
+                    PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(crossings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
+    }
+
+    /**
+     * Get the gantry crossings charged to a highway session
+     * GET /api/gantries/crossings/session/{highwayUsageId}
+     */
+    @GetMapping("/crossings/session/{highwayUsageId}")
+    public ResponseEntity<List<GantryCrossing>> getSessionCrossings(@PathVariable Long highwayUsageId) {
+        return new ResponseEntity<>(gantryService.getSessionCrossings(highwayUsageId), HttpStatus.OK);
+    }
+
+    /**
+     * Rebuild the gantry index after editing gantries directly in the database
+     * POST /api/gantries/reindex
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Void> rebuildIndex() {
+        gantryService.rebuildIndex();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,6 +1,8 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.TollRate;
 import com.highway.tolling.service.HighwayService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -39,13 +41,19 @@ public class HighwayController {
     }
 
     /**
-     * Get all highways
-     * GET /api/highways
+     * Get highways, ordered by ID, one page at a time
+     * GET /api/highways?limit=100&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<Highway>> getAllHighways() {
-        List<Highway> highways = highwayService.getAllHighways();
-        return new ResponseEntity<>(highways, HttpStatus.OK);
+    public ResponseEntity<PageResponse<Highway>> getAllHighways(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Highway> page = highwayService.getHighwaysPage(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
@@ -84,6 +92,32 @@ public class HighwayController {
         }
     }
 
+    /**
+     * Get the rate history of a highway
+     * GET /api/highways/{highwayId}/rates
+     */
+    @GetMapping("/{highwayId}/rates")
+    public ResponseEntity<List<TollRate>> getRateHistory(@PathVariable Long highwayId) {
+        if (highwayService.getHighwayById(highwayId).isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(highwayService.getRateHistory(highwayId), HttpStatus.OK);
+    }
+
+    /**
+     * Schedule a rate change for one vehicle type
+     * POST /api/highways/{highwayId}/rates
+     */
+    @PostMapping("/{highwayId}/rates")
+    public ResponseEntity<TollRate> scheduleRate(@PathVariable Long highwayId, @RequestBody TollRate rate) {
+        try {
+            TollRate scheduledRate = highwayService.scheduleRate(highwayId, rate);
+            return new ResponseEntity<>(scheduledRate, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Delete a highway
      * DELETE /api/highways/{highwayId}
@@ -97,4 +131,15 @@ public class HighwayController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    /**
+     * Reload the highway catalog and segment index after editing highways
+     * directly in the database
+     * POST /api/highways/reindex
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Void> reloadCatalog() {
+        highwayService.reloadCatalog();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
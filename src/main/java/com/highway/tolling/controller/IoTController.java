@@ -40,6 +40,14 @@ public class IoTController {
     public ResponseEntity<IoTDataResponse> receiveIoTData(@Valid @RequestBody IoTDataRequest request) {
         try {
             LocationTracking savedLocation = iotIdentificationService.processIoTData(request);
+            if (savedLocation.getId() == null) {
+                // Stationary or compressed-out ping - processed, no row written
+                IoTDataResponse response = new IoTDataResponse(
+                        true,
+                        "GPS data received and processed (not stored as a track point)",
+                        null);
+                return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+            }
             IoTDataResponse response = new IoTDataResponse(
                     true,
                     "GPS data received and processed successfully",
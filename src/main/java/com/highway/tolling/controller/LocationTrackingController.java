@@ -1,13 +1,15 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.LocationTracking;
 import com.highway.tolling.service.LocationTrackingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * LocationTracking Controller
@@ -19,6 +21,12 @@ public class LocationTrackingController {
 
     private final LocationTrackingService locationTrackingService;
 
+    // Range used by GET /api/locations when no bounds are given
+    private static final int DEFAULT_RANGE_HOURS = 24;
+
+    // Start of the range used by GET /api/locations/vehicle/{id} when no start is given
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     @Autowired
     public LocationTrackingController(LocationTrackingService locationTrackingService) {
         this.locationTrackingService = locationTrackingService;
@@ -40,13 +48,29 @@ public class LocationTrackingController {
     }
 
     /**
-     * Get all location records for a specific vehicle
+     * Get location records for a specific vehicle, newest first, one page at a
+     * time
      * GET /api/locations/vehicle/{vehicleId}
+     * Optional: ?from=2026-01-01T00:00:00&to=2026-01-31T23:59:59&limit=100&cursor=...
      */
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<LocationTracking>> getVehicleLocations(@PathVariable Long vehicleId) {
-        List<LocationTracking> locations = locationTrackingService.getLocationsByVehicleId(vehicleId);
-        return new ResponseEntity<>(locations, HttpStatus.OK);
+    public ResponseEntity<PageResponse<LocationTracking>> getVehicleLocations(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<LocationTracking> page = locationTrackingService.getVehicleLocationsPage(
+                    vehicleId,
+                    from != null ? from : EARLIEST,
+                    to != null ? to : LocalDateTime.now(),
+                    cursor,
+                    PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
@@ -61,12 +85,24 @@ public class LocationTrackingController {
     }
 
     /**
-     * Get all location records
-     * GET /api/locations
+     * Get location records within a time range (default: last 24 hours),
+     * newest first, one page at a time
+     * GET /api/locations?from=2026-01-01T00:00:00&to=2026-01-02T00:00:00&limit=100&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<LocationTracking>> getAllLocations() {
-        List<LocationTracking> locations = locationTrackingService.getAllLocations();
-        return new ResponseEntity<>(locations, HttpStatus.OK);
+    public ResponseEntity<PageResponse<LocationTracking>> getAllLocations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeStart = from != null ? from : rangeEnd.minusHours(DEFAULT_RANGE_HOURS);
+        try {
+            PageResponse<LocationTracking> page = locationTrackingService.getLocationsPage(
+                    rangeStart, rangeEnd, cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 }
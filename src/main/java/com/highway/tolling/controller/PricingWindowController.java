@@ -0,0 +1,85 @@
+package com.highway.tolling.controller;
+
+import com.highway.tolling.model.PricingWindow;
+import com.highway.tolling.service.PricingWindowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Pricing Window Controller
+ * REST API endpoints for time-of-day pricing windows
+ */
+@RestController
+@RequestMapping("/api/pricing-windows")
+public class PricingWindowController {
+
+    private final PricingWindowService pricingWindowService;
+
+    @Autowired
+    public PricingWindowController(PricingWindowService pricingWindowService) {
+        this.pricingWindowService = pricingWindowService;
+    }
+
+    /**
+     * Create a new pricing window
+     * POST /api/pricing-windows
+     */
+    @PostMapping
+    public ResponseEntity<PricingWindow> createWindow(@RequestBody PricingWindow window) {
+        try {
+            PricingWindow createdWindow = pricingWindowService.createWindow(window);
+            return new ResponseEntity<>(createdWindow, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get the pricing windows of a highway
+     * GET /api/pricing-windows?highwayId=1
+     */
+    @GetMapping
+    public ResponseEntity<List<PricingWindow>> getWindows(@RequestParam Long highwayId) {
+        return new ResponseEntity<>(pricingWindowService.getWindowsByHighway(highwayId), HttpStatus.OK);
+    }
+
+    /**
+     * Get pricing window by ID
+     * GET /api/pricing-windows/{windowId}
+     */
+    @GetMapping("/{windowId}")
+    public ResponseEntity<PricingWindow> getWindowById(@PathVariable Long windowId) {
+        return pricingWindowService.getWindowById(windowId)
+                .map(window -> new ResponseEntity<>(window, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Delete a pricing window
+     * DELETE /api/pricing-windows/{windowId}
+     */
+    @DeleteMapping("/{windowId}")
+    public ResponseEntity<Void> deleteWindow(@PathVariable Long windowId) {
+        try {
+            pricingWindowService.deleteWindow(windowId);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Rebuild the pricing schedule after editing windows directly in the
+     * database
+     * POST /api/pricing-windows/rebuild
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildSchedule() {
+        pricingWindowService.rebuildSchedule();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,17 +1,24 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.TollQuoteRequest;
 import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.model.VehicleType;
 import com.highway.tolling.service.HighwayService;
 import com.highway.tolling.service.TollCalculationService;
+import com.highway.tolling.service.TollQuoteService;
 import com.highway.tolling.service.VehicleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,15 +29,20 @@ import java.util.Map;
 @RequestMapping("/api/toll")
 public class TollCalculationController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TollCalculationService tollCalculationService;
+    private final TollQuoteService tollQuoteService;
     private final VehicleService vehicleService;
     private final HighwayService highwayService;
 
     @Autowired
     public TollCalculationController(TollCalculationService tollCalculationService,
+            TollQuoteService tollQuoteService,
             VehicleService vehicleService,
             HighwayService highwayService) {
         this.tollCalculationService = tollCalculationService;
+        this.tollQuoteService = tollQuoteService;
         this.vehicleService = vehicleService;
         this.highwayService = highwayService;
     }
@@ -65,13 +77,13 @@ public class TollCalculationController {
                 return ResponseEntity.badRequest().body("Distance must be greater than 0");
             }
 
-            // Apply default rates if not provided
-            double carRate = request.getRatePerKmForCar() != null ? request.getRatePerKmForCar() : 2.50;
-            double bikeRate = request.getRatePerKmForBike() != null ? request.getRatePerKmForBike() : 1.50;
-            double truckRate = request.getRatePerKmForTruck() != null ? request.getRatePerKmForTruck() : 5.00;
+            // Apply default rates if not provided (rupees in the API, paise in the service)
+            long carRate = Money.toPaise(request.getRatePerKmForCar() != null ? request.getRatePerKmForCar() : 2.50);
+            long bikeRate = Money.toPaise(request.getRatePerKmForBike() != null ? request.getRatePerKmForBike() : 1.50);
+            long truckRate = Money.toPaise(request.getRatePerKmForTruck() != null ? request.getRatePerKmForTruck() : 5.00);
 
             // Calculate toll
-            double totalToll = tollCalculationService.calculateToll(
+            long totalToll = tollCalculationService.calculateToll(
                     request.getVehicleType(),
                     request.getDistanceKm(),
                     carRate,
@@ -79,14 +91,14 @@ public class TollCalculationController {
                     truckRate);
 
             // Get the rate used for this vehicle type
-            double rateUsed = getRateForVehicleType(request.getVehicleType(), carRate, bikeRate, truckRate);
+            long rateUsed = getRateForVehicleType(request.getVehicleType(), carRate, bikeRate, truckRate);
 
             // Build response
             Map<String, Object> response = new HashMap<>();
             response.put("vehicleType", request.getVehicleType());
             response.put("distanceKm", request.getDistanceKm());
-            response.put("ratePerKm", rateUsed);
-            response.put("totalToll", Math.round(totalToll * 100.0) / 100.0);
+            response.put("ratePerKm", Money.toRupees(rateUsed));
+            response.put("totalToll", Money.toRupees(totalToll));
             response.put("currency", "INR");
 
             return ResponseEntity.ok(response);
@@ -135,11 +147,41 @@ public class TollCalculationController {
         }
     }
 
+    /**
+     * Quote a batch of routes, streamed as NDJSON (one line per route, in
+     * request order; routes that cannot be priced get an "error" line)
+     * POST /api/toll/quotes
+     * 
+     * Body:
+     * [
+     * { "vehicleId": 1, "highwayId": 2, "distanceKm": 45.5 },
+     * { "vehicleType": "TRUCK", "highwayId": 2, "distanceKm": 12.0, "time": "2026-02-04T08:30:00" }
+     * ]
+     * 
+     * Response line:
+     * {"index":0,"vehicleId":1,"vehicleType":"CAR","highwayId":2,"distanceKm":45.5,
+     * "time":"...","ratePerKm":2.50,"multiplier":1.0,"totalToll":113.75,"rateVersion":7}
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<StreamingResponseBody> quoteTolls(@RequestBody List<TollQuoteRequest> requests) {
+        try {
+            tollQuoteService.validate(requests);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StreamingResponseBody body = out -> tollQuoteService.writeQuotes(requests, now, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
     /**
      * Helper method to get rate for vehicle type
      */
-    private double getRateForVehicleType(VehicleType vehicleType,
-            double carRate, double bikeRate, double truckRate) {
+    private long getRateForVehicleType(VehicleType vehicleType,
+            long carRate, long bikeRate, long truckRate) {
         // Basic conditional logic
         if (vehicleType == VehicleType.CAR) {
             return carRate;
@@ -148,7 +190,7 @@ public class TollCalculationController {
         } else if (vehicleType == VehicleType.BUS || vehicleType == VehicleType.TRUCK) {
             return truckRate;
         } else {
-            return 0.0;
+            return 0;
         }
     }
 
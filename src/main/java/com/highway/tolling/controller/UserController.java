@@ -1,5 +1,6 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.User;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.model.VehicleType;
@@ -46,13 +47,19 @@ public class UserController {
     }
 
     /**
-     * Get all users
-     * GET /api/users
+     * Get users, ordered by ID, one page at a time
+     * GET /api/users?limit=100&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+    public ResponseEntity<PageResponse<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<User> page = userService.getUsersPage(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
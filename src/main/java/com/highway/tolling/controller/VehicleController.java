@@ -1,5 +1,6 @@
 package com.highway.tolling.controller;
 
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.service.VehicleService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,8 +8,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Vehicle Controller
  * REST API endpoints for vehicle operations
@@ -39,13 +38,19 @@ public class VehicleController {
     }
 
     /**
-     * Get all vehicles
-     * GET /api/vehicles
+     * Get vehicles, ordered by ID, one page at a time
+     * GET /api/vehicles?limit=100&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-        return new ResponseEntity<>(vehicles, HttpStatus.OK);
+    public ResponseEntity<PageResponse<Vehicle>> getAllVehicles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<Vehicle> page = vehicleService.getVehiclesPage(cursor, PageResponse.normalizeLimit(limit));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // Malformed cursor
+        }
     }
 
     /**
@@ -0,0 +1,106 @@
+package com.highway.tolling.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Page Cursor
+ * Opaque keyset position: the sort key of the last row of a page. Lists
+ * ordered by ID carry the ID only; time-ordered lists carry (timestamp, ID)
+ * so rows sharing a timestamp are neither skipped nor repeated.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp; // null for ID-only cursors
+    private final Long id;
+
+    public PageCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static String encode(Long id) {
+        return encodeText(String.valueOf(id));
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        return encodeText(timestamp + SEPARATOR + id);
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param cursor the cursor, null or blank for the first page
+     * @return the position, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = text.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new PageCursor(null, Long.parseLong(text));
+            }
+            return new PageCursor(LocalDateTime.parse(text.substring(0, separator)),
+                    Long.parseLong(text.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Decode an ID cursor
+     *
+     * @return the ID after which the page starts (0 for the first page)
+     */
+    public static long decodeId(String cursor) {
+        PageCursor position = decode(cursor);
+        return position == null ? 0L : position.getId();
+    }
+
+    /**
+     * Decode a (timestamp, ID) cursor of a newest-first list
+     *
+     * @param rangeEnd inclusive end of the queried range, where the first page
+     *                 starts
+     * @return the position before which the page starts
+     */
+    public static PageCursor decodeTimestamped(String cursor, LocalDateTime rangeEnd) {
+        PageCursor position = decode(cursor);
+        if (position == null) {
+            return new PageCursor(rangeEnd, Long.MAX_VALUE);
+        }
+        if (position.getTimestamp() == null) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        return position;
+    }
+
+    private static String encodeText(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Getters
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "timestamp=" + timestamp +
+                ", id=" + id +
+                '}';
+    }
+}
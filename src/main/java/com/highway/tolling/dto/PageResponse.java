@@ -0,0 +1,81 @@
+package com.highway.tolling.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page Response DTO
+ * One page of a keyset-paginated collection. Pass nextCursor back as
+ * ?cursor= to get the following page; it is null on the last page.
+ */
+public class PageResponse<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final int limit;
+
+    public PageResponse(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    /**
+     * Build a page from a query that fetched up to limit + 1 rows
+     * The extra row only signals that another page exists; it is not returned.
+     *
+     * @param fetched  rows in sort order, at most limit + 1
+     * @param limit    page size
+     * @param cursorOf cursor of a row (the last returned row starts the next page)
+     */
+    public static <T> PageResponse<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new PageResponse<>(fetched, null, limit);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new PageResponse<>(items, cursorOf.apply(items.get(limit - 1)), limit);
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_LIMIT (DEFAULT_LIMIT if absent)
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Getters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getSize() {
+        return items.size();
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PageResponse{" +
+                "size=" + items.size() +
+                ", limit=" + limit +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.highway.tolling.dto;
+
+import com.highway.tolling.model.VehicleType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toll Quote Request DTO
+ * One route of a batch toll quotation. The vehicle type is taken from the
+ * registered vehicle when vehicleId is given, otherwise from vehicleType.
+ */
+public class TollQuoteRequest {
+
+    private Long vehicleId;
+    private VehicleType vehicleType;
+    private Long highwayId;
+    private Double distanceKm;
+    private LocalDateTime time; // optional, defaults to the time of the request
+
+    // Default Constructor
+    public TollQuoteRequest() {
+    }
+
+    // Parameterized Constructor
+    public TollQuoteRequest(Long vehicleId, VehicleType vehicleType, Long highwayId, Double distanceKm,
+            LocalDateTime time) {
+        this.vehicleId = vehicleId;
+        this.vehicleType = vehicleType;
+        this.highwayId = highwayId;
+        this.distanceKm = distanceKm;
+        this.time = time;
+    }
+
+    // Getters and Setters
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public void setVehicleType(VehicleType vehicleType) {
+        this.vehicleType = vehicleType;
+    }
+
+    public Long getHighwayId() {
+        return highwayId;
+    }
+
+    public void setHighwayId(Long highwayId) {
+        this.highwayId = highwayId;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public void setTime(LocalDateTime time) {
+        this.time = time;
+    }
+
+    @Override
+    public String toString() {
+        return "TollQuoteRequest{" +
+                "vehicleId=" + vehicleId +
+                ", vehicleType=" + vehicleType +
+                ", highwayId=" + highwayId +
+                ", distanceKm=" + distanceKm +
+                ", time=" + time +
+                '}';
+    }
+}
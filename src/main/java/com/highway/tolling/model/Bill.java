@@ -1,5 +1,6 @@
 package com.highway.tolling.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 /**
  * Bill Entity
  * Represents a monthly toll bill for a user
+ * The amount is stored in paise; the API shows it in rupees
  */
 @Entity
 @Table(name = "bills")
@@ -23,7 +25,7 @@ public class Bill {
     private Double totalDistance;
 
     @Column(nullable = false)
-    private Double totalAmount;
+    private long totalAmountPaise;
 
     @Column(nullable = false, length = 7)
     private String billMonth; // Format: "2026-01" (YYYY-MM)
@@ -41,16 +43,15 @@ public class Bill {
     // Constructors
     public Bill() {
         this.totalDistance = 0.0;
-        this.totalAmount = 0.0;
         this.status = BillStatus.PENDING;
         this.createdAt = LocalDateTime.now();
     }
 
-    public Bill(Long userId, Double totalDistance, Double totalAmount,
+    public Bill(Long userId, Double totalDistance, long totalAmountPaise,
             String billMonth, LocalDate dueDate) {
         this.userId = userId;
         this.totalDistance = totalDistance;
-        this.totalAmount = totalAmount;
+        this.totalAmountPaise = totalAmountPaise;
         this.billMonth = billMonth;
         this.dueDate = dueDate;
         this.status = BillStatus.PENDING;
@@ -82,12 +83,22 @@ public class Bill {
         this.totalDistance = totalDistance;
     }
 
-    public Double getTotalAmount() {
-        return totalAmount;
+    @JsonIgnore
+    public long getTotalAmountPaise() {
+        return totalAmountPaise;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountPaise(long totalAmountPaise) {
+        this.totalAmountPaise = totalAmountPaise;
+    }
+
+    // Rupee view for the API
+    public double getTotalAmount() {
+        return Money.toRupees(totalAmountPaise);
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmountPaise = Money.toPaise(totalAmount);
     }
 
     public String getBillMonth() {
@@ -128,7 +139,7 @@ public class Bill {
                 "billId=" + billId +
                 ", userId=" + userId +
                 ", totalDistance=" + totalDistance + " km" +
-                ", totalAmount=₹" + totalAmount +
+                ", totalAmount=" + Money.format(totalAmountPaise) +
                 ", billMonth='" + billMonth + '\'' +
                 ", dueDate=" + dueDate +
                 ", status=" + status +
@@ -0,0 +1,150 @@
+package com.highway.tolling.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * BillLineItem Entity
+ * Per-vehicle, per-highway breakdown of a bill: the bill month's closed
+ * sessions of one vehicle on one highway, summed
+ */
+@Entity
+@Table(name = "bill_line_items")
+public class BillLineItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long lineItemId;
+
+    @Column(nullable = false)
+    private Long billId;
+
+    @Column(nullable = false)
+    private Long vehicleId;
+
+    @Column(nullable = false)
+    private Long highwayId;
+
+    @Column(nullable = false)
+    private Long sessionCount;
+
+    @Column(nullable = false)
+    private Double totalDistance; // in kilometers
+
+    @Column(nullable = false)
+    private long gantryChargesPaise;
+
+    @Column(nullable = false)
+    private long ratePerKmPaise; // effective distance rate of the grouped sessions
+
+    @Column(nullable = false)
+    private long amountPaise; // distance toll plus gantry charges
+
+    // Constructors
+    public BillLineItem() {
+    }
+
+    // Getters and Setters
+    public Long getLineItemId() {
+        return lineItemId;
+    }
+
+    public void setLineItemId(Long lineItemId) {
+        this.lineItemId = lineItemId;
+    }
+
+    public Long getBillId() {
+        return billId;
+    }
+
+    public void setBillId(Long billId) {
+        this.billId = billId;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public Long getHighwayId() {
+        return highwayId;
+    }
+
+    public void setHighwayId(Long highwayId) {
+        this.highwayId = highwayId;
+    }
+
+    public Long getSessionCount() {
+        return sessionCount;
+    }
+
+    public void setSessionCount(Long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+
+    public Double getTotalDistance() {
+        return totalDistance;
+    }
+
+    public void setTotalDistance(Double totalDistance) {
+        this.totalDistance = totalDistance;
+    }
+
+    @JsonIgnore
+    public long getGantryChargesPaise() {
+        return gantryChargesPaise;
+    }
+
+    public void setGantryChargesPaise(long gantryChargesPaise) {
+        this.gantryChargesPaise = gantryChargesPaise;
+    }
+
+    @JsonIgnore
+    public long getRatePerKmPaise() {
+        return ratePerKmPaise;
+    }
+
+    public void setRatePerKmPaise(long ratePerKmPaise) {
+        this.ratePerKmPaise = ratePerKmPaise;
+    }
+
+    @JsonIgnore
+    public long getAmountPaise() {
+        return amountPaise;
+    }
+
+    public void setAmountPaise(long amountPaise) {
+        this.amountPaise = amountPaise;
+    }
+
+    // Rupee views for the API
+    public double getGantryCharges() {
+        return Money.toRupees(gantryChargesPaise);
+    }
+
+    public double getRatePerKm() {
+        return Money.toRupees(ratePerKmPaise);
+    }
+
+    public double getAmount() {
+        return Money.toRupees(amountPaise);
+    }
+
+    @Override
+    public String toString() {
+        return "BillLineItem{" +
+                "lineItemId=" + lineItemId +
+                ", billId=" + billId +
+                ", vehicleId=" + vehicleId +
+                ", highwayId=" + highwayId +
+                ", sessionCount=" + sessionCount +
+                ", totalDistance=" + totalDistance + " km" +
+                ", gantryCharges=" + Money.format(gantryChargesPaise) +
+                ", ratePerKm=" + Money.format(ratePerKmPaise) + "/km" +
+                ", amount=" + Money.format(amountPaise) +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.highway.tolling.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * BillingAccrual Entity
+ * Running total of a user's highway usage in one bill month. Incremented
+ * by an atomic upsert whenever a session closes (see BillingAccrualService)
+ * and turned into a Bill at month end.
+ */
+@Entity
+@Table(name = "billing_accruals")
+public class BillingAccrual {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long accrualId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 7)
+    private String billMonth; // Format: "2026-01" (YYYY-MM)
+
+    @Column(nullable = false)
+    private Double totalDistance; // in kilometers
+
+    @Column(nullable = false)
+    private long totalAmountPaise;
+
+    @Column(nullable = false)
+    private Long sessionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BillingAccrual() {
+        this.totalDistance = 0.0;
+        this.sessionCount = 0L;
+    }
+
+    // Getters and Setters
+    public Long getAccrualId() {
+        return accrualId;
+    }
+
+    public void setAccrualId(Long accrualId) {
+        this.accrualId = accrualId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getBillMonth() {
+        return billMonth;
+    }
+
+    public void setBillMonth(String billMonth) {
+        this.billMonth = billMonth;
+    }
+
+    public Double getTotalDistance() {
+        return totalDistance;
+    }
+
+    public void setTotalDistance(Double totalDistance) {
+        this.totalDistance = totalDistance;
+    }
+
+    @JsonIgnore
+    public long getTotalAmountPaise() {
+        return totalAmountPaise;
+    }
+
+    public void setTotalAmountPaise(long totalAmountPaise) {
+        this.totalAmountPaise = totalAmountPaise;
+    }
+
+    // Rupee view for the API
+    public double getTotalAmount() {
+        return Money.toRupees(totalAmountPaise);
+    }
+
+    public Long getSessionCount() {
+        return sessionCount;
+    }
+
+    public void setSessionCount(Long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BillingAccrual{" +
+                "accrualId=" + accrualId +
+                ", userId=" + userId +
+                ", billMonth='" + billMonth + '\'' +
+                ", totalDistance=" + totalDistance + " km" +
+                ", totalAmount=" + Money.format(totalAmountPaise) +
+                ", sessionCount=" + sessionCount +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,204 @@
+package com.highway.tolling.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * Gantry Entity
+ * Virtual toll gantry: a line segment across a highway. A vehicle is charged
+ * a fixed amount per vehicle type each time its path crosses the line.
+ */
+@Entity
+@Table(name = "gantries")
+public class Gantry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long gantryId;
+
+    @Column(nullable = false)
+    private Long highwayId;
+
+    @Column(nullable = false, length = 100)
+    private String gantryName;
+
+    @Column(nullable = false)
+    private Double startLatitude;
+
+    @Column(nullable = false)
+    private Double startLongitude;
+
+    @Column(nullable = false)
+    private Double endLatitude;
+
+    @Column(nullable = false)
+    private Double endLongitude;
+
+    @Column(nullable = false)
+    private Long chargeForCarPaise;
+
+    @Column(nullable = false)
+    private Long chargeForBikePaise;
+
+    @Column(nullable = false)
+    private Long chargeForTruckPaise; // Also applies to buses
+
+    // Constructors
+    public Gantry() {
+    }
+
+    public Gantry(Long highwayId, String gantryName, Double startLatitude, Double startLongitude,
+            Double endLatitude, Double endLongitude, Long chargeForCarPaise, Long chargeForBikePaise,
+            Long chargeForTruckPaise) {
+        this.highwayId = highwayId;
+        this.gantryName = gantryName;
+        this.startLatitude = startLatitude;
+        this.startLongitude = startLongitude;
+        this.endLatitude = endLatitude;
+        this.endLongitude = endLongitude;
+        this.chargeForCarPaise = chargeForCarPaise;
+        this.chargeForBikePaise = chargeForBikePaise;
+        this.chargeForTruckPaise = chargeForTruckPaise;
+    }
+
+    /**
+     * Get the charge for a vehicle type, in paise
+     */
+    public long getChargePaiseFor(VehicleType vehicleType) {
+        switch (vehicleType) {
+            case CAR:
+                return chargeForCarPaise;
+            case BIKE:
+                return chargeForBikePaise;
+            case BUS:
+            case TRUCK:
+                return chargeForTruckPaise;
+            default:
+                throw new IllegalArgumentException("Unknown vehicle type: " + vehicleType);
+        }
+    }
+
+    // Getters and Setters
+    public Long getGantryId() {
+        return gantryId;
+    }
+
+    public void setGantryId(Long gantryId) {
+        this.gantryId = gantryId;
+    }
+
+    public Long getHighwayId() {
+        return highwayId;
+    }
+
+    public void setHighwayId(Long highwayId) {
+        this.highwayId = highwayId;
+    }
+
+    public String getGantryName() {
+        return gantryName;
+    }
+
+    public void setGantryName(String gantryName) {
+        this.gantryName = gantryName;
+    }
+
+    public Double getStartLatitude() {
+        return startLatitude;
+    }
+
+    public void setStartLatitude(Double startLatitude) {
+        this.startLatitude = startLatitude;
+    }
+
+    public Double getStartLongitude() {
+        return startLongitude;
+    }
+
+    public void setStartLongitude(Double startLongitude) {
+        this.startLongitude = startLongitude;
+    }
+
+    public Double getEndLatitude() {
+        return endLatitude;
+    }
+
+    public void setEndLatitude(Double endLatitude) {
+        this.endLatitude = endLatitude;
+    }
+
+    public Double getEndLongitude() {
+        return endLongitude;
+    }
+
+    public void setEndLongitude(Double endLongitude) {
+        this.endLongitude = endLongitude;
+    }
+
+    @JsonIgnore
+    public Long getChargeForCarPaise() {
+        return chargeForCarPaise;
+    }
+
+    public void setChargeForCarPaise(Long chargeForCarPaise) {
+        this.chargeForCarPaise = chargeForCarPaise;
+    }
+
+    public Double getChargeForCar() {
+        return chargeForCarPaise != null ? Money.toRupees(chargeForCarPaise) : null;
+    }
+
+    public void setChargeForCar(Double chargeForCar) {
+        this.chargeForCarPaise = chargeForCar != null ? Money.toPaise(chargeForCar) : null;
+    }
+
+    @JsonIgnore
+    public Long getChargeForBikePaise() {
+        return chargeForBikePaise;
+    }
+
+    public void setChargeForBikePaise(Long chargeForBikePaise) {
+        this.chargeForBikePaise = chargeForBikePaise;
+    }
+
+    public Double getChargeForBike() {
+        return chargeForBikePaise != null ? Money.toRupees(chargeForBikePaise) : null;
+    }
+
+    public void setChargeForBike(Double chargeForBike) {
+        this.chargeForBikePaise = chargeForBike != null ? Money.toPaise(chargeForBike) : null;
+    }
+
+    @JsonIgnore
+    public Long getChargeForTruckPaise() {
+        return chargeForTruckPaise;
+    }
+
+    public void setChargeForTruckPaise(Long chargeForTruckPaise) {
+        this.chargeForTruckPaise = chargeForTruckPaise;
+    }
+
+    public Double getChargeForTruck() {
+        return chargeForTruckPaise != null ? Money.toRupees(chargeForTruckPaise) : null;
+    }
+
+    public void setChargeForTruck(Double chargeForTruck) {
+        this.chargeForTruckPaise = chargeForTruck != null ? Money.toPaise(chargeForTruck) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Gantry{" +
+                "gantryId=" + gantryId +
+                ", highwayId=" + highwayId +
+                ", gantryName='" + gantryName + '\'' +
+                ", startLatitude=" + startLatitude +
+                ", startLongitude=" + startLongitude +
+                ", endLatitude=" + endLatitude +
+                ", endLongitude=" + endLongitude +
+                ", chargeForCar=" + (chargeForCarPaise != null ? Money.format(chargeForCarPaise) : null) +
+                ", chargeForBike=" + (chargeForBikePaise != null ? Money.format(chargeForBikePaise) : null) +
+                ", chargeForTruck=" + (chargeForTruckPaise != null ? Money.format(chargeForTruckPaise) : null) +
+                '}';
+    }
+}
@@ -0,0 +1,114 @@
+package com.highway.tolling.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * GantryCrossing Entity
+ * A charge event: one vehicle crossing one gantry. The charge is also added
+ * to the vehicle's highway session when one is open.
+ */
+@Entity
+@Table(name = "gantry_crossings")
+public class GantryCrossing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long gantryId;
+
+    @Column(nullable = false)
+    private Long vehicleId;
+
+    @Column
+    private Long highwayUsageId; // null if no session was open
+
+    @Column(nullable = false)
+    private LocalDateTime crossingTimestamp;
+
+    @Column(nullable = false)
+    private long chargePaise;
+
+    // Constructors
+    public GantryCrossing() {
+    }
+
+    public GantryCrossing(Long gantryId, Long vehicleId, Long highwayUsageId,
+            LocalDateTime crossingTimestamp, long chargePaise) {
+        this.gantryId = gantryId;
+        this.vehicleId = vehicleId;
+        this.highwayUsageId = highwayUsageId;
+        this.crossingTimestamp = crossingTimestamp;
+        this.chargePaise = chargePaise;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGantryId() {
+        return gantryId;
+    }
+
+    public void setGantryId(Long gantryId) {
+        this.gantryId = gantryId;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public Long getHighwayUsageId() {
+        return highwayUsageId;
+    }
+
+    public void setHighwayUsageId(Long highwayUsageId) {
+        this.highwayUsageId = highwayUsageId;
+    }
+
+    public LocalDateTime getCrossingTimestamp() {
+        return crossingTimestamp;
+    }
+
+    public void setCrossingTimestamp(LocalDateTime crossingTimestamp) {
+        this.crossingTimestamp = crossingTimestamp;
+    }
+
+    @JsonIgnore
+    public long getChargePaise() {
+        return chargePaise;
+    }
+
+    public void setChargePaise(long chargePaise) {
+        this.chargePaise = chargePaise;
+    }
+
+    // Rupee view for the API
+    public double getCharge() {
+        return Money.toRupees(chargePaise);
+    }
+
+    @Override
+    public String toString() {
+        return "GantryCrossing{" +
+                "id=" + id +
+                ", gantryId=" + gantryId +
+                ", vehicleId=" + vehicleId +
+                ", highwayUsageId=" + highwayUsageId +
+                ", crossingTimestamp=" + crossingTimestamp +
+                ", charge=" + Money.format(chargePaise) +
+                '}';
+    }
+}
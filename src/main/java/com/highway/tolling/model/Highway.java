@@ -1,5 +1,6 @@
 package com.highway.tolling.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 /**
@@ -30,29 +31,32 @@ public class Highway {
     private Double endLongitude;
 
     @Column(nullable = false)
-    private Double ratePerKmForCar;
+    private Long ratePerKmForCarPaise;
 
     @Column(nullable = false)
-    private Double ratePerKmForBike;
+    private Long ratePerKmForBikePaise;
 
     @Column(nullable = false)
-    private Double ratePerKmForTruck;
+    private Long ratePerKmForTruckPaise;
+
+    @Column(columnDefinition = "TEXT")
+    private String geometry; // "lat,lon;lat,lon;..." centreline vertices, null = straight start-to-end
 
     // Constructors
     public Highway() {
     }
 
     public Highway(String highwayName, Double startLatitude, Double startLongitude,
-            Double endLatitude, Double endLongitude, Double ratePerKmForCar,
-            Double ratePerKmForBike, Double ratePerKmForTruck) {
+            Double endLatitude, Double endLongitude, Long ratePerKmForCarPaise,
+            Long ratePerKmForBikePaise, Long ratePerKmForTruckPaise) {
         this.highwayName = highwayName;
         this.startLatitude = startLatitude;
         this.startLongitude = startLongitude;
         this.endLatitude = endLatitude;
         this.endLongitude = endLongitude;
-        this.ratePerKmForCar = ratePerKmForCar;
-        this.ratePerKmForBike = ratePerKmForBike;
-        this.ratePerKmForTruck = ratePerKmForTruck;
+        this.ratePerKmForCarPaise = ratePerKmForCarPaise;
+        this.ratePerKmForBikePaise = ratePerKmForBikePaise;
+        this.ratePerKmForTruckPaise = ratePerKmForTruckPaise;
     }
 
     // Getters and Setters
@@ -104,28 +108,63 @@ public class Highway {
         this.endLongitude = endLongitude;
     }
 
+    @JsonIgnore
+    public Long getRatePerKmForCarPaise() {
+        return ratePerKmForCarPaise;
+    }
+
+    public void setRatePerKmForCarPaise(Long ratePerKmForCarPaise) {
+        this.ratePerKmForCarPaise = ratePerKmForCarPaise;
+    }
+
     public Double getRatePerKmForCar() {
-        return ratePerKmForCar;
+        return ratePerKmForCarPaise != null ? Money.toRupees(ratePerKmForCarPaise) : null;
     }
 
     public void setRatePerKmForCar(Double ratePerKmForCar) {
-        this.ratePerKmForCar = ratePerKmForCar;
+        this.ratePerKmForCarPaise = ratePerKmForCar != null ? Money.toPaise(ratePerKmForCar) : null;
+    }
+
+    @JsonIgnore
+    public Long getRatePerKmForBikePaise() {
+        return ratePerKmForBikePaise;
+    }
+
+    public void setRatePerKmForBikePaise(Long ratePerKmForBikePaise) {
+        this.ratePerKmForBikePaise = ratePerKmForBikePaise;
     }
 
     public Double getRatePerKmForBike() {
-        return ratePerKmForBike;
+        return ratePerKmForBikePaise != null ? Money.toRupees(ratePerKmForBikePaise) : null;
     }
 
     public void setRatePerKmForBike(Double ratePerKmForBike) {
-        this.ratePerKmForBike = ratePerKmForBike;
+        this.ratePerKmForBikePaise = ratePerKmForBike != null ? Money.toPaise(ratePerKmForBike) : null;
+    }
+
+    @JsonIgnore
+    public Long getRatePerKmForTruckPaise() {
+        return ratePerKmForTruckPaise;
+    }
+
+    public void setRatePerKmForTruckPaise(Long ratePerKmForTruckPaise) {
+        this.ratePerKmForTruckPaise = ratePerKmForTruckPaise;
     }
 
     public Double getRatePerKmForTruck() {
-        return ratePerKmForTruck;
+        return ratePerKmForTruckPaise != null ? Money.toRupees(ratePerKmForTruckPaise) : null;
     }
 
     public void setRatePerKmForTruck(Double ratePerKmForTruck) {
-        this.ratePerKmForTruck = ratePerKmForTruck;
+        this.ratePerKmForTruckPaise = ratePerKmForTruck != null ? Money.toPaise(ratePerKmForTruck) : null;
+    }
+
+    public String getGeometry() {
+        return geometry;
+    }
+
+    public void setGeometry(String geometry) {
+        this.geometry = geometry;
     }
 
     @Override
@@ -137,9 +176,9 @@ public class Highway {
                 ", startLongitude=" + startLongitude +
                 ", endLatitude=" + endLatitude +
                 ", endLongitude=" + endLongitude +
-                ", ratePerKmForCar=" + ratePerKmForCar +
-                ", ratePerKmForBike=" + ratePerKmForBike +
-                ", ratePerKmForTruck=" + ratePerKmForTruck +
+                ", ratePerKmForCar=" + (ratePerKmForCarPaise != null ? Money.format(ratePerKmForCarPaise) : null) +
+                ", ratePerKmForBike=" + (ratePerKmForBikePaise != null ? Money.format(ratePerKmForBikePaise) : null) +
+                ", ratePerKmForTruck=" + (ratePerKmForTruckPaise != null ? Money.format(ratePerKmForTruckPaise) : null) +
                 '}';
     }
 }
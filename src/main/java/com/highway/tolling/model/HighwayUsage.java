@@ -1,12 +1,15 @@
 package com.highway.tolling.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 /**
  * HighwayUsage Entity
  * Tracks individual highway usage sessions for vehicles
- * Records entry/exit points and accumulated distance
+ * Records entry/exit points and their chainage (km marker along the highway
+ * centreline); the billed distance is the chainage difference and the toll is
+ * fixed when the session closes
  */
 @Entity
 @Table(name = "highway_usage")
@@ -43,6 +46,27 @@ public class HighwayUsage {
     @Column
     private Double exitLongitude;
 
+    @Column
+    private Double entryChainageKm;
+
+    @Column
+    private Double exitChainageKm;
+
+    @Column(nullable = false)
+    private long gantryChargesPaise; // sum of gantry crossing charges during the session
+
+    @Column
+    private Long tollAmountPaise; // distance toll plus gantry charges; null until the session is closed
+
+    @Column
+    private Long rateVersion; // toll_rates version (rate ID) the session was priced with
+
+    @Column(length = 7)
+    private String billMonth; // month ("2026-01") the toll was accrued to: the month the session closed in
+
+    @Column
+    private Long billedUserId; // owner of the vehicle when the session closed; the user it was accrued to
+
     // Constructors
     public HighwayUsage() {
         this.distanceTraveled = 0.0;
@@ -139,6 +163,73 @@ public class HighwayUsage {
         this.exitLongitude = exitLongitude;
     }
 
+    public Double getEntryChainageKm() {
+        return entryChainageKm;
+    }
+
+    public void setEntryChainageKm(Double entryChainageKm) {
+        this.entryChainageKm = entryChainageKm;
+    }
+
+    public Double getExitChainageKm() {
+        return exitChainageKm;
+    }
+
+    public void setExitChainageKm(Double exitChainageKm) {
+        this.exitChainageKm = exitChainageKm;
+    }
+
+    @JsonIgnore
+    public long getGantryChargesPaise() {
+        return gantryChargesPaise;
+    }
+
+    public void setGantryChargesPaise(long gantryChargesPaise) {
+        this.gantryChargesPaise = gantryChargesPaise;
+    }
+
+    @JsonIgnore
+    public Long getTollAmountPaise() {
+        return tollAmountPaise;
+    }
+
+    public void setTollAmountPaise(Long tollAmountPaise) {
+        this.tollAmountPaise = tollAmountPaise;
+    }
+
+    // Rupee views for the API
+    public double getGantryCharges() {
+        return Money.toRupees(gantryChargesPaise);
+    }
+
+    public Double getTollAmount() {
+        return tollAmountPaise != null ? Money.toRupees(tollAmountPaise) : null;
+    }
+
+    public Long getRateVersion() {
+        return rateVersion;
+    }
+
+    public void setRateVersion(Long rateVersion) {
+        this.rateVersion = rateVersion;
+    }
+
+    public String getBillMonth() {
+        return billMonth;
+    }
+
+    public void setBillMonth(String billMonth) {
+        this.billMonth = billMonth;
+    }
+
+    public Long getBilledUserId() {
+        return billedUserId;
+    }
+
+    public void setBilledUserId(Long billedUserId) {
+        this.billedUserId = billedUserId;
+    }
+
     /**
      * Check if this highway session is still active (no exit timestamp)
      */
@@ -166,6 +257,13 @@ public class HighwayUsage {
                 ", entryLongitude=" + entryLongitude +
                 ", exitLatitude=" + exitLatitude +
                 ", exitLongitude=" + exitLongitude +
+                ", entryChainageKm=" + entryChainageKm +
+                ", exitChainageKm=" + exitChainageKm +
+                ", gantryCharges=" + Money.format(gantryChargesPaise) +
+                ", tollAmount=" + (tollAmountPaise != null ? Money.format(tollAmountPaise) : null) +
+                ", rateVersion=" + rateVersion +
+                ", billMonth='" + billMonth + '\'' +
+                ", billedUserId=" + billedUserId +
                 ", active=" + isActive() +
                 '}';
     }
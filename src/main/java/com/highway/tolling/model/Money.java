@@ -0,0 +1,52 @@
+package com.highway.tolling.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money
+ * Fixed-point money helpers. All amounts, balances, charges and rates are
+ * held as whole paise (1/100 rupee) in long fields, so sums are exact and
+ * arithmetic allocates nothing; rupees only appear at the API boundary.
+ *
+ * There is one rounding policy: half up (ties away from zero) to the paisa,
+ * applied once per computed amount - never to intermediate results.
+ */
+public final class Money {
+
+    public static final long PAISE_PER_RUPEE = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Round a computed amount in fractional paise to whole paise
+     * (e.g. distance x rate); allocation-free, for the toll hot path
+     */
+    public static long round(double paise) {
+        return paise >= 0 ? (long) Math.floor(paise + 0.5) : -(long) Math.floor(-paise + 0.5);
+    }
+
+    /**
+     * Convert a rupee amount received through the API to paise
+     * Decimal-exact: 1.005 rupees is 101 paise, not 100.
+     */
+    public static long toPaise(double rupees) {
+        return BigDecimal.valueOf(rupees).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Convert paise to rupees for the API
+     */
+    public static double toRupees(long paise) {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    /**
+     * Format paise as a rupee amount, e.g. "₹1234.50"
+     */
+    public static String format(long paise) {
+        long abs = Math.abs(paise);
+        return (paise < 0 ? "-₹" : "₹") + abs / PAISE_PER_RUPEE + "." + String.format("%02d", abs % PAISE_PER_RUPEE);
+    }
+}
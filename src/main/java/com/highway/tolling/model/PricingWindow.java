@@ -0,0 +1,109 @@
+package com.highway.tolling.model;
+
+import jakarta.persistence.*;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * PricingWindow Entity
+ * Multiplier applied to a highway's per-km rates on one weekday between
+ * startTime and endTime (end exclusive; 00:00 as end means end of day)
+ */
+@Entity
+@Table(name = "pricing_windows")
+public class PricingWindow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long windowId;
+
+    @Column(nullable = false)
+    private Long highwayId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Double multiplier; // e.g. 1.5 for peak, 0.8 for night
+
+    // Constructors
+    public PricingWindow() {
+    }
+
+    public PricingWindow(Long highwayId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime,
+            Double multiplier) {
+        this.highwayId = highwayId;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.multiplier = multiplier;
+    }
+
+    // Getters and Setters
+    public Long getWindowId() {
+        return windowId;
+    }
+
+    public void setWindowId(Long windowId) {
+        this.windowId = windowId;
+    }
+
+    public Long getHighwayId() {
+        return highwayId;
+    }
+
+    public void setHighwayId(Long highwayId) {
+        this.highwayId = highwayId;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(Double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingWindow{" +
+                "windowId=" + windowId +
+                ", highwayId=" + highwayId +
+                ", dayOfWeek=" + dayOfWeek +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", multiplier=" + multiplier +
+                '}';
+    }
+}
@@ -0,0 +1,119 @@
+package com.highway.tolling.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * TollRate Entity
+ * One version of a highway's per-km rate for a vehicle type. A version
+ * applies from effectiveFrom until the next version of the same highway and
+ * vehicle type; versions are only ever appended.
+ */
+@Entity
+@Table(name = "toll_rates")
+public class TollRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rateId;
+
+    @Column(nullable = false)
+    private Long highwayId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private VehicleType vehicleType;
+
+    @Column(nullable = false)
+    private Long ratePerKmPaise;
+
+    @Column(nullable = false)
+    private LocalDateTime effectiveFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TollRate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public TollRate(Long highwayId, VehicleType vehicleType, Long ratePerKmPaise, LocalDateTime effectiveFrom) {
+        this.highwayId = highwayId;
+        this.vehicleType = vehicleType;
+        this.ratePerKmPaise = ratePerKmPaise;
+        this.effectiveFrom = effectiveFrom;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getRateId() {
+        return rateId;
+    }
+
+    public void setRateId(Long rateId) {
+        this.rateId = rateId;
+    }
+
+    public Long getHighwayId() {
+        return highwayId;
+    }
+
+    public void setHighwayId(Long highwayId) {
+        this.highwayId = highwayId;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public void setVehicleType(VehicleType vehicleType) {
+        this.vehicleType = vehicleType;
+    }
+
+    @JsonIgnore
+    public Long getRatePerKmPaise() {
+        return ratePerKmPaise;
+    }
+
+    public void setRatePerKmPaise(Long ratePerKmPaise) {
+        this.ratePerKmPaise = ratePerKmPaise;
+    }
+
+    public Double getRatePerKm() {
+        return ratePerKmPaise != null ? Money.toRupees(ratePerKmPaise) : null;
+    }
+
+    public void setRatePerKm(Double ratePerKm) {
+        this.ratePerKmPaise = ratePerKm != null ? Money.toPaise(ratePerKm) : null;
+    }
+
+    public LocalDateTime getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDateTime effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TollRate{" +
+                "rateId=" + rateId +
+                ", highwayId=" + highwayId +
+                ", vehicleType=" + vehicleType +
+                ", ratePerKm=" + (ratePerKmPaise != null ? Money.format(ratePerKmPaise) : null) + "/km" +
+                ", effectiveFrom=" + effectiveFrom +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
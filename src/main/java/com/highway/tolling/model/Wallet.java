@@ -1,11 +1,13 @@
 package com.highway.tolling.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 /**
  * Wallet Entity
  * Represents a user's digital wallet for toll payments
+ * Balances are stored in paise; the API shows them in rupees
  */
 @Entity
 @Table(name = "wallets")
@@ -20,10 +22,10 @@ public class Wallet {
     private User user;
 
     @Column(nullable = false)
-    private Double balance;
+    private long balancePaise;
 
     @Column(nullable = false)
-    private Double minimumBalance;
+    private long minimumBalancePaise;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -33,16 +35,14 @@ public class Wallet {
 
     // Constructors
     public Wallet() {
-        this.balance = 0.0;
-        this.minimumBalance = 0.0;
         this.createdAt = LocalDateTime.now();
         this.lastUpdated = LocalDateTime.now();
     }
 
-    public Wallet(User user, Double balance, Double minimumBalance) {
+    public Wallet(User user, long balancePaise, long minimumBalancePaise) {
         this.user = user;
-        this.balance = balance;
-        this.minimumBalance = minimumBalance;
+        this.balancePaise = balancePaise;
+        this.minimumBalancePaise = minimumBalancePaise;
         this.createdAt = LocalDateTime.now();
         this.lastUpdated = LocalDateTime.now();
     }
@@ -64,21 +64,40 @@ public class Wallet {
         this.user = user;
     }
 
-    public Double getBalance() {
-        return balance;
+    @JsonIgnore
+    public long getBalancePaise() {
+        return balancePaise;
     }
 
-    public void setBalance(Double balance) {
-        this.balance = balance;
+    public void setBalancePaise(long balancePaise) {
+        this.balancePaise = balancePaise;
         this.lastUpdated = LocalDateTime.now();
     }
 
-    public Double getMinimumBalance() {
-        return minimumBalance;
+    @JsonIgnore
+    public long getMinimumBalancePaise() {
+        return minimumBalancePaise;
     }
 
-    public void setMinimumBalance(Double minimumBalance) {
-        this.minimumBalance = minimumBalance;
+    public void setMinimumBalancePaise(long minimumBalancePaise) {
+        this.minimumBalancePaise = minimumBalancePaise;
+    }
+
+    // Rupee views for the API
+    public double getBalance() {
+        return Money.toRupees(balancePaise);
+    }
+
+    public void setBalance(double balance) {
+        setBalancePaise(Money.toPaise(balance));
+    }
+
+    public double getMinimumBalance() {
+        return Money.toRupees(minimumBalancePaise);
+    }
+
+    public void setMinimumBalance(double minimumBalance) {
+        this.minimumBalancePaise = Money.toPaise(minimumBalance);
     }
 
     public LocalDateTime getCreatedAt() {
@@ -103,7 +122,7 @@ public class Wallet {
      * @return true if wallet is in deficit, false otherwise
      */
     public boolean isInDeficit() {
-        return balance < minimumBalance;
+        return balancePaise < minimumBalancePaise;
     }
 
     @Override
@@ -111,8 +130,8 @@ public class Wallet {
         return "Wallet{" +
                 "walletId=" + walletId +
                 ", userId=" + (user != null ? user.getUserId() : null) +
-                ", balance=" + balance +
-                ", minimumBalance=" + minimumBalance +
+                ", balance=" + Money.format(balancePaise) +
+                ", minimumBalance=" + Money.format(minimumBalancePaise) +
                 ", isInDeficit=" + isInDeficit() +
                 ", createdAt=" + createdAt +
                 ", lastUpdated=" + lastUpdated +
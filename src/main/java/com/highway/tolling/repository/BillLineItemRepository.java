@@ -0,0 +1,21 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.BillLineItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * BillLineItem Repository
+ * Read access to bill line items; they are written in bulk by
+ * BillLineItemService
+ */
+@Repository
+public interface BillLineItemRepository extends JpaRepository<BillLineItem, Long> {
+
+    /**
+     * Find the line items of a bill (served by idx_bill_line_items_bill)
+     */
+    List<BillLineItem> findByBillIdOrderByVehicleIdAscHighwayIdAsc(Long billId);
+}
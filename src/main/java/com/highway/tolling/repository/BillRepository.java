@@ -3,8 +3,10 @@ package com.highway.tolling.repository;
 import com.highway.tolling.model.Bill;
 import com.highway.tolling.model.BillStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,4 +50,19 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
      * @return list of bills
      */
     List<Bill> findByStatus(BillStatus status);
+
+    /**
+     * Check if any bill of a month is in one of the given statuses
+     * 
+     * @param billMonth the bill month (format: "2026-01")
+     * @param statuses  the bill statuses
+     * @return true if such a bill exists
+     */
+    boolean existsByBillMonthAndStatusIn(String billMonth, Collection<BillStatus> statuses);
+
+    /**
+     * Sum of all bill amounts in paise (0 if there are no bills)
+     */
+    @Query("SELECT COALESCE(SUM(b.totalAmountPaise), 0) FROM Bill b")
+    Long sumTotalAmountPaise();
 }
@@ -0,0 +1,27 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.BillingAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * BillingAccrual Repository
+ * Read access to billing accruals; increments go through
+ * BillingAccrualService as atomic upserts
+ */
+@Repository
+public interface BillingAccrualRepository extends JpaRepository<BillingAccrual, Long> {
+
+    /**
+     * Find the accrual of a user for a bill month
+     */
+    Optional<BillingAccrual> findByUserIdAndBillMonth(Long userId, String billMonth);
+
+    /**
+     * Find all accruals of a user, most recent month first
+     */
+    List<BillingAccrual> findByUserIdOrderByBillMonthDesc(Long userId);
+}
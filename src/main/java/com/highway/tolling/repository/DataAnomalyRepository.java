@@ -3,6 +3,7 @@ package com.highway.tolling.repository;
 import com.highway.tolling.model.AnomalyType;
 import com.highway.tolling.model.DataAnomaly;
 import com.highway.tolling.model.ReviewStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -58,4 +59,47 @@ public interface DataAnomalyRepository extends JpaRepository<DataAnomaly, Long>
      */
     List<DataAnomaly> findByVehicleIdAndAnomalyTypeAndDetectedAtAfterOrderByDetectedAtDesc(
             Long vehicleId, AnomalyType anomalyType, LocalDateTime after);
+
+    /**
+     * Find IDs of GPS points referenced by anomalies of a vehicle
+     */
+    @Query("SELECT a.relatedLocationId FROM DataAnomaly a WHERE a.vehicleId = :vehicleId " +
+            "AND a.relatedLocationId IS NOT NULL")
+    List<Long> findRelatedLocationIdsByVehicleId(@Param("vehicleId") Long vehicleId);
+
+    /**
+     * Check if any anomaly with the given review status was detected in a range
+     */
+    boolean existsByReviewStatusAndDetectedAtBetween(ReviewStatus reviewStatus,
+            LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Keyset page of anomalies with a review status detected within a range,
+     * newest first. Returns the rows strictly after (beforeDetectedAt, beforeId)
+     * in (detectedAt DESC, id DESC) order.
+     */
+    @Query("SELECT a FROM DataAnomaly a WHERE a.reviewStatus = :reviewStatus " +
+            "AND a.detectedAt BETWEEN :from AND :to " +
+            "AND (a.detectedAt < :beforeDetectedAt OR (a.detectedAt = :beforeDetectedAt AND a.id < :beforeId)) " +
+            "ORDER BY a.detectedAt DESC, a.id DESC")
+    List<DataAnomaly> findPageByReviewStatus(@Param("reviewStatus") ReviewStatus reviewStatus,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeDetectedAt") LocalDateTime beforeDetectedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    /**
+     * Keyset page of a vehicle's anomalies detected within a range, newest first
+     */
+    @Query("SELECT a FROM DataAnomaly a WHERE a.vehicleId = :vehicleId " +
+            "AND a.detectedAt BETWEEN :from AND :to " +
+            "AND (a.detectedAt < :beforeDetectedAt OR (a.detectedAt = :beforeDetectedAt AND a.id < :beforeId)) " +
+            "ORDER BY a.detectedAt DESC, a.id DESC")
+    List<DataAnomaly> findPageByVehicleId(@Param("vehicleId") Long vehicleId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeDetectedAt") LocalDateTime beforeDetectedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 }
@@ -0,0 +1,50 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.GantryCrossing;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * GantryCrossing Repository
+ * Data access layer for gantry charge events
+ */
+@Repository
+public interface GantryCrossingRepository extends JpaRepository<GantryCrossing, Long> {
+
+    /**
+     * Keyset page of a vehicle's crossings within a range, newest first
+     */
+    @Query("SELECT gc FROM GantryCrossing gc WHERE gc.vehicleId = :vehicleId " +
+            "AND gc.crossingTimestamp BETWEEN :from AND :to " +
+            "AND (gc.crossingTimestamp < :beforeTimestamp " +
+            "OR (gc.crossingTimestamp = :beforeTimestamp AND gc.id < :beforeId)) " +
+            "ORDER BY gc.crossingTimestamp DESC, gc.id DESC")
+    List<GantryCrossing> findPageByVehicleId(@Param("vehicleId") Long vehicleId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    /**
+     * Find the crossings charged to a highway session
+     */
+    List<GantryCrossing> findByHighwayUsageIdOrderByCrossingTimestampAsc(Long highwayUsageId);
+
+    /**
+     * Find a vehicle's crossings of a highway's gantries since a timestamp
+     * that are not charged to any session
+     */
+    @Query("SELECT gc FROM GantryCrossing gc WHERE gc.vehicleId = :vehicleId " +
+            "AND gc.highwayUsageId IS NULL AND gc.crossingTimestamp >= :since " +
+            "AND gc.gantryId IN (SELECT g.gantryId FROM Gantry g WHERE g.highwayId = :highwayId)")
+    List<GantryCrossing> findUnsessionedSince(@Param("vehicleId") Long vehicleId,
+            @Param("highwayId") Long highwayId,
+            @Param("since") LocalDateTime since);
+}
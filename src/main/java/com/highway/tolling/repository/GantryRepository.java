@@ -0,0 +1,27 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.Gantry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Gantry Repository Interface
+ * Handles database operations for Gantry entity
+ */
+@Repository
+public interface GantryRepository extends JpaRepository<Gantry, Long> {
+
+    /**
+     * Keyset page of gantries, ordered by ID
+     */
+    List<Gantry> findByGantryIdGreaterThanOrderByGantryIdAsc(Long afterGantryId, Pageable pageable);
+
+    /**
+     * Keyset page of a highway's gantries, ordered by ID
+     */
+    List<Gantry> findByHighwayIdAndGantryIdGreaterThanOrderByGantryIdAsc(Long highwayId, Long afterGantryId,
+            Pageable pageable);
+}
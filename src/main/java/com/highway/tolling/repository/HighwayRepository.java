@@ -1,9 +1,11 @@
 package com.highway.tolling.repository;
 
 import com.highway.tolling.model.Highway;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +30,13 @@ public interface HighwayRepository extends JpaRepository<Highway, Long> {
      * @return true if highway exists, false otherwise
      */
     boolean existsByHighwayName(String highwayName);
+
+    /**
+     * Keyset page of highways ordered by ID
+     * 
+     * @param afterHighwayId ID of the last row of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0)
+     * @return up to pageable.getPageSize() highways with a greater ID
+     */
+    List<Highway> findByHighwayIdGreaterThanOrderByHighwayIdAsc(Long afterHighwayId, Pageable pageable);
 }
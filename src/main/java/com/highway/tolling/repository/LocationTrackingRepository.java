@@ -1,10 +1,15 @@
 package com.highway.tolling.repository;
 
 import com.highway.tolling.model.LocationTracking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * LocationTracking Repository Interface
@@ -28,4 +33,78 @@ public interface LocationTrackingRepository extends JpaRepository<LocationTracki
      * @return list of location tracking records in reverse chronological order
      */
     List<LocationTracking> findByVehicleIdOrderByTimestampDesc(Long vehicleId);
+
+    /**
+     * Find the two most recent location records for a vehicle
+     * 
+     * @param vehicleId the vehicle ID
+     * @return up to two records, newest first
+     */
+    List<LocationTracking> findTop2ByVehicleIdOrderByTimestampDesc(Long vehicleId);
+
+    /**
+     * Find the most recent location record for a vehicle
+     * 
+     * @param vehicleId the vehicle ID
+     * @return Optional containing the latest location if any
+     */
+    Optional<LocationTracking> findFirstByVehicleIdOrderByTimestampDesc(Long vehicleId);
+
+    /**
+     * Find location records for a vehicle within a time range, oldest first
+     * 
+     * @param vehicleId the vehicle ID
+     * @param from      range start (inclusive)
+     * @param to        range end (inclusive)
+     * @return list of location tracking records in chronological order
+     */
+    List<LocationTracking> findByVehicleIdAndTimestampBetweenOrderByTimestampAsc(
+            Long vehicleId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find IDs of all vehicles that reported a location within a time range
+     * 
+     * @param from range start (inclusive)
+     * @param to   range end (inclusive)
+     * @return distinct vehicle IDs
+     */
+    @Query("SELECT DISTINCT lt.vehicleId FROM LocationTracking lt WHERE lt.timestamp BETWEEN :from AND :to")
+    List<Long> findDistinctVehicleIdsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Keyset page of location records within a time range, newest first
+     * Returns the rows strictly after (beforeTimestamp, beforeId) in
+     * (timestamp DESC, id DESC) order; pass (to, Long.MAX_VALUE) for the first
+     * page.
+     * 
+     * @param from            range start (inclusive)
+     * @param to              range end (inclusive)
+     * @param beforeTimestamp timestamp of the last row of the previous page
+     * @param beforeId        ID of the last row of the previous page
+     * @param pageable        page size (page number must be 0)
+     * @return up to pageable.getPageSize() records
+     */
+    @Query("SELECT lt FROM LocationTracking lt WHERE lt.timestamp BETWEEN :from AND :to " +
+            "AND (lt.timestamp < :beforeTimestamp OR (lt.timestamp = :beforeTimestamp AND lt.id < :beforeId)) " +
+            "ORDER BY lt.timestamp DESC, lt.id DESC")
+    List<LocationTracking> findPageBetween(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    /**
+     * Keyset page of a vehicle's location records within a time range, newest
+     * first (see findPageBetween)
+     */
+    @Query("SELECT lt FROM LocationTracking lt WHERE lt.vehicleId = :vehicleId " +
+            "AND lt.timestamp BETWEEN :from AND :to " +
+            "AND (lt.timestamp < :beforeTimestamp OR (lt.timestamp = :beforeTimestamp AND lt.id < :beforeId)) " +
+            "ORDER BY lt.timestamp DESC, lt.id DESC")
+    List<LocationTracking> findVehiclePageBetween(@Param("vehicleId") Long vehicleId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 }
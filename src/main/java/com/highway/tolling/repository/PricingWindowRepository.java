@@ -0,0 +1,20 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.PricingWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PricingWindow Repository
+ * Data access layer for time-of-day pricing windows
+ */
+@Repository
+public interface PricingWindowRepository extends JpaRepository<PricingWindow, Long> {
+
+    /**
+     * Find the pricing windows of a highway, in creation order
+     */
+    List<PricingWindow> findByHighwayIdOrderByWindowIdAsc(Long highwayId);
+}
@@ -0,0 +1,27 @@
+package com.highway.tolling.repository;
+
+import com.highway.tolling.model.TollRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * TollRate Repository
+ * Data access layer for versioned toll rates
+ */
+@Repository
+public interface TollRateRepository extends JpaRepository<TollRate, Long> {
+
+    /**
+     * Find the rate history of a highway, per vehicle type, oldest first
+     */
+    List<TollRate> findByHighwayIdOrderByVehicleTypeAscEffectiveFromAsc(Long highwayId);
+
+    /**
+     * Find the IDs of all highways that have at least one rate version
+     */
+    @Query("SELECT DISTINCT tr.highwayId FROM TollRate tr")
+    List<Long> findRatedHighwayIds();
+}
@@ -1,9 +1,11 @@
 package com.highway.tolling.repository;
 
 import com.highway.tolling.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,4 +46,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if user exists, false otherwise
      */
     boolean existsByPhoneNumber(String phoneNumber);
+
+    /**
+     * Keyset page of users ordered by ID
+     * 
+     * @param afterUserId ID of the last row of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0)
+     * @return up to pageable.getPageSize() users with a greater ID
+     */
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long afterUserId, Pageable pageable);
 }
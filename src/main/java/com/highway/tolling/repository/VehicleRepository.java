@@ -1,9 +1,12 @@
 package com.highway.tolling.repository;
 
 import com.highway.tolling.model.Vehicle;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +31,21 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      * @return true if vehicle exists, false otherwise
      */
     boolean existsByVehicleNumber(String vehicleNumber);
+
+    /**
+     * Keyset page of vehicles ordered by ID
+     * 
+     * @param afterVehicleId ID of the last row of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0)
+     * @return up to pageable.getPageSize() vehicles with a greater ID
+     */
+    List<Vehicle> findByVehicleIdGreaterThanOrderByVehicleIdAsc(Long afterVehicleId, Pageable pageable);
+
+    /**
+     * Load the ID, type and owner of every vehicle without loading the owners
+     * 
+     * @return rows of {vehicleId, vehicleType, userId}
+     */
+    @Query("SELECT v.vehicleId, v.vehicleType, v.user.userId FROM Vehicle v")
+    List<Object[]> findAllRegistryEntries();
 }
@@ -1,9 +1,13 @@
 package com.highway.tolling.repository;
 
 import com.highway.tolling.model.Wallet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +32,23 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
      * @return true if wallet exists, false otherwise
      */
     boolean existsByUser_UserId(Long userId);
+
+    /**
+     * Keyset page of wallets with a balance below the given amount (paise), ordered by ID
+     */
+    List<Wallet> findByBalancePaiseLessThanAndWalletIdGreaterThanOrderByWalletIdAsc(long balancePaise, Long afterWalletId,
+            Pageable pageable);
+
+    /**
+     * Keyset page of wallets below their minimum balance, ordered by ID
+     */
+    @Query("SELECT w FROM Wallet w WHERE w.balancePaise < w.minimumBalancePaise AND w.walletId > :afterWalletId " +
+            "ORDER BY w.walletId ASC")
+    List<Wallet> findDeficitPage(@Param("afterWalletId") Long afterWalletId, Pageable pageable);
+
+    /**
+     * Count wallets below their minimum balance
+     */
+    @Query("SELECT COUNT(w) FROM Wallet w WHERE w.balancePaise < w.minimumBalancePaise")
+    long countDeficit();
 }
@@ -0,0 +1,54 @@
+package com.highway.tolling.scheduler;
+
+import com.highway.tolling.service.OverdueBillService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Overdue Bill Scheduler
+ * Marks PENDING bills past their due date as OVERDUE
+ * 
+ * Runs daily; bills due yesterday or earlier become overdue and their owners
+ * get a payment reminder (see PaymentReminderService). The number of bills
+ * marked and the duration are logged.
+ */
+@Component
+public class OverdueBillScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueBillScheduler.class);
+
+    private final OverdueBillService overdueBillService;
+
+    @Value("${app.billing.overdue.enabled:true}")
+    private boolean sweepEnabled;
+
+    @Autowired
+    public OverdueBillScheduler(OverdueBillService overdueBillService) {
+        this.overdueBillService = overdueBillService;
+    }
+
+    /**
+     * Scheduled job that runs every day at 00:15
+     */
+    @Scheduled(cron = "${app.billing.overdue.cron:0 15 0 * * ?}")
+    public void sweepOverdueBills() {
+        if (!sweepEnabled) {
+            return;
+        }
+
+        logger.info("Starting overdue bill sweep...");
+        try {
+            OverdueBillService.SweepResult result = overdueBillService.sweepOverdueBills(LocalDate.now());
+            logger.info("Overdue bill sweep completed: {} bills marked overdue in {} chunks, {} ms",
+                    result.getBillsMarked(), result.getChunks(), result.getDurationMs());
+        } catch (Exception e) {
+            logger.error("Error in overdue bill sweep: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.highway.tolling.scheduler;
+
+import com.highway.tolling.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partition Maintenance Scheduler
+ * Keeps the monthly partitions of location_tracking and data_anomalies ahead
+ * of time and applies the retention policy
+ * 
+ * Runs at startup and every day at 00:15, so the next month's partition always
+ * exists before the first GPS point of that month arrives.
+ */
+@Component
+public class PartitionMaintenanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceScheduler.class);
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    public PartitionMaintenanceScheduler(PartitionMaintenanceService partitionMaintenanceService) {
+        this.partitionMaintenanceService = partitionMaintenanceService;
+    }
+
+    /**
+     * Create upcoming partitions as soon as the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            partitionMaintenanceService.ensureUpcomingPartitions();
+        } catch (Exception e) {
+            logger.error("Error creating upcoming partitions at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Daily maintenance: create upcoming partitions, then apply retention
+     */
+    @Scheduled(cron = "${app.partitioning.cron:0 15 0 * * ?}")
+    public void runMaintenance() {
+        logger.info("Starting partition maintenance job...");
+
+        try {
+            partitionMaintenanceService.ensureUpcomingPartitions();
+            int removed = partitionMaintenanceService.applyRetention();
+            logger.info("Partition maintenance completed. {} expired partitions removed", removed);
+        } catch (Exception e) {
+            logger.error("Error in partition maintenance job: {}", e.getMessage(), e);
+        }
+    }
+}
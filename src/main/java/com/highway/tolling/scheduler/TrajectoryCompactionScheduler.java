@@ -0,0 +1,63 @@
+package com.highway.tolling.scheduler;
+
+import com.highway.tolling.service.TrajectoryCompressionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Trajectory Compaction Scheduler
+ * Simplifies the stored GPS history of the previous day
+ * 
+ * Points recorded before online compression was enabled (or stored because a
+ * vehicle's window was flushed early) are reduced with Douglas-Peucker within
+ * the configured tolerance. The achieved compression ratio is logged.
+ */
+@Component
+public class TrajectoryCompactionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrajectoryCompactionScheduler.class);
+
+    private final TrajectoryCompressionService trajectoryCompressionService;
+
+    @Value("${app.tracking.compaction.enabled:true}")
+    private boolean compactionEnabled;
+
+    @Autowired
+    public TrajectoryCompactionScheduler(TrajectoryCompressionService trajectoryCompressionService) {
+        this.trajectoryCompressionService = trajectoryCompressionService;
+    }
+
+    /**
+     * Scheduled job that runs every day at 02:30
+     * Only the previous (closed) day is compacted, so live windows are never
+     * touched.
+     */
+    @Scheduled(cron = "${app.tracking.compaction.cron:0 30 2 * * ?}")
+    public void compactPreviousDay() {
+        if (!compactionEnabled) {
+            return;
+        }
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDateTime from = yesterday.atStartOfDay();
+        LocalDateTime to = yesterday.plusDays(1).atStartOfDay().minusNanos(1);
+
+        logger.info("Starting trajectory compaction for {}...", yesterday);
+        try {
+            TrajectoryCompressionService.CompressionResult result = trajectoryCompressionService
+                    .compactHistory(from, to);
+            logger.info("Trajectory compaction for {} completed: {} points -> {} points (ratio {})",
+                    yesterday, result.getPointsBefore(), result.getPointsAfter(),
+                    String.format("%.2f", result.getCompressionRatio()));
+        } catch (Exception e) {
+            logger.error("Error in trajectory compaction job: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.highway.tolling.scheduler;
+
+import com.highway.tolling.service.TrajectoryCompressionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trajectory Window Sweep Scheduler
+ * Stores the points online compression holds back for vehicles that went
+ * silent
+ * 
+ * Without it a vehicle's real last position stays in memory until its next
+ * ping, so export, archiving, compaction and missing-data detection see a
+ * stale last point, and a crash loses it. Idle windows are dropped.
+ */
+@Component
+public class TrajectoryWindowSweepScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrajectoryWindowSweepScheduler.class);
+
+    private final TrajectoryCompressionService trajectoryCompressionService;
+
+    @Value("${app.tracking.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Autowired
+    public TrajectoryWindowSweepScheduler(TrajectoryCompressionService trajectoryCompressionService) {
+        this.trajectoryCompressionService = trajectoryCompressionService;
+    }
+
+    /**
+     * Scheduled job that runs every minute
+     */
+    @Scheduled(cron = "${app.tracking.compression.sweep-cron:0 * * * * ?}")
+    public void sweepIdleWindows() {
+        if (!compressionEnabled) {
+            return;
+        }
+
+        try {
+            int dropped = trajectoryCompressionService.sweepIdleWindows(LocalDateTime.now());
+            if (dropped > 0) {
+                logger.debug("Stored and dropped {} idle compression windows, {} remain",
+                        dropped, trajectoryCompressionService.getWindowCount());
+            }
+        } catch (Exception e) {
+            logger.error("Error in trajectory window sweep: {}", e.getMessage(), e);
+        }
+    }
+}
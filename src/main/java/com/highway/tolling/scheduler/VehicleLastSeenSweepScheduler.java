@@ -0,0 +1,43 @@
+package com.highway.tolling.scheduler;
+
+import com.highway.tolling.service.VehicleLastSeenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vehicle Last-Seen Sweep Scheduler
+ * Drops the in-memory last-seen entries of vehicles silent for longer than
+ * the heartbeat interval, so the map holds active vehicles only
+ */
+@Component
+public class VehicleLastSeenSweepScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleLastSeenSweepScheduler.class);
+
+    private final VehicleLastSeenService vehicleLastSeenService;
+
+    @Autowired
+    public VehicleLastSeenSweepScheduler(VehicleLastSeenService vehicleLastSeenService) {
+        this.vehicleLastSeenService = vehicleLastSeenService;
+    }
+
+    /**
+     * Scheduled job that runs every minute
+     */
+    @Scheduled(cron = "${app.iot.last-seen.sweep-cron:30 * * * * ?}")
+    public void evictIdleVehicles() {
+        try {
+            int dropped = vehicleLastSeenService.evictIdle(LocalDateTime.now());
+            if (dropped > 0) {
+                logger.debug("Dropped {} idle last-seen entries, {} remain", dropped, vehicleLastSeenService.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error in last-seen sweep: {}", e.getMessage(), e);
+        }
+    }
+}
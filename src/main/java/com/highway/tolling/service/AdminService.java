@@ -1,16 +1,18 @@
 package com.highway.tolling.service;
 
-import com.highway.tolling.model.Bill;
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.model.Wallet;
 import com.highway.tolling.repository.BillRepository;
 import com.highway.tolling.repository.VehicleRepository;
 import com.highway.tolling.repository.WalletRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Admin Service
@@ -33,48 +35,47 @@ public class AdminService {
     }
 
     /**
-     * Get all vehicles in the system
+     * Get one page of vehicles in the system, ordered by ID
      * 
-     * @return List of all vehicles
+     * @param cursor cursor from the previous page (null for the first page)
+     * @param limit  page size
+     * @return Page of vehicles
      */
-    public List<Vehicle> getAllVehicles() {
-        return vehicleRepository.findAll();
+    public PageResponse<Vehicle> getVehiclesPage(String cursor, int limit) {
+        List<Vehicle> vehicles = vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(
+                PageCursor.decodeId(cursor), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(vehicles, limit, vehicle -> PageCursor.encode(vehicle.getVehicleId()));
     }
 
     /**
-     * Get all wallets with negative balance
+     * Get one page of wallets with negative balance, ordered by ID
      * 
-     * @return List of wallets in deficit
+     * @return Page of wallets with negative balance
      */
-    public List<Wallet> getWalletsWithNegativeBalance() {
-        List<Wallet> allWallets = walletRepository.findAll();
-        return allWallets.stream()
-                .filter(wallet -> wallet.getBalance() < 0)
-                .collect(Collectors.toList());
+    public PageResponse<Wallet> getWalletsWithNegativeBalance(String cursor, int limit) {
+        List<Wallet> wallets = walletRepository.findByBalancePaiseLessThanAndWalletIdGreaterThanOrderByWalletIdAsc(
+                0L, PageCursor.decodeId(cursor), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(wallets, limit, wallet -> PageCursor.encode(wallet.getWalletId()));
     }
 
     /**
-     * Get all wallets in deficit (below minimum balance)
+     * Get one page of wallets in deficit (below minimum balance), ordered by ID
      * 
-     * @return List of wallets in deficit
+     * @return Page of wallets in deficit
      */
-    public List<Wallet> getWalletsInDeficit() {
-        List<Wallet> allWallets = walletRepository.findAll();
-        return allWallets.stream()
-                .filter(Wallet::isInDeficit)
-                .collect(Collectors.toList());
+    public PageResponse<Wallet> getWalletsInDeficit(String cursor, int limit) {
+        List<Wallet> wallets = walletRepository.findDeficitPage(PageCursor.decodeId(cursor),
+                PageRequest.ofSize(limit + 1));
+        return PageResponse.of(wallets, limit, wallet -> PageCursor.encode(wallet.getWalletId()));
     }
 
     /**
      * Calculate total toll collected from all paid bills
      * 
-     * @return Total amount collected
+     * @return Total amount collected in paise
      */
-    public double getTotalTollCollected() {
-        List<Bill> allBills = billRepository.findAll();
-        return allBills.stream()
-                .mapToDouble(Bill::getTotalAmount)
-                .sum();
+    public long getTotalTollCollected() {
+        return billRepository.sumTotalAmountPaise();
     }
 
     /**
@@ -86,8 +87,8 @@ public class AdminService {
         long totalVehicles = vehicleRepository.count();
         long totalWallets = walletRepository.count();
         long totalBills = billRepository.count();
-        double totalTollCollected = getTotalTollCollected();
-        long walletsInDeficit = getWalletsInDeficit().size();
+        long totalTollCollected = getTotalTollCollected();
+        long walletsInDeficit = walletRepository.countDeficit();
 
         return new AdminStats(
                 totalVehicles,
@@ -104,11 +105,11 @@ public class AdminService {
         private long totalVehicles;
         private long totalWallets;
         private long totalBills;
-        private double totalTollCollected;
+        private long totalTollCollected; // paise
         private long walletsInDeficit;
 
         public AdminStats(long totalVehicles, long totalWallets, long totalBills,
-                double totalTollCollected, long walletsInDeficit) {
+                long totalTollCollected, long walletsInDeficit) {
             this.totalVehicles = totalVehicles;
             this.totalWallets = totalWallets;
             this.totalBills = totalBills;
@@ -130,7 +131,7 @@ public class AdminService {
         }
 
         public double getTotalTollCollected() {
-            return totalTollCollected;
+            return Money.toRupees(totalTollCollected);
         }
 
         public long getWalletsInDeficit() {
@@ -143,7 +144,7 @@ public class AdminService {
                     "totalVehicles=" + totalVehicles +
                     ", totalWallets=" + totalWallets +
                     ", totalBills=" + totalBills +
-                    ", totalTollCollected=₹" + totalTollCollected +
+                    ", totalTollCollected=" + Money.format(totalTollCollected) +
                     ", walletsInDeficit=" + walletsInDeficit +
                     '}';
         }
@@ -1,13 +1,17 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.*;
 import com.highway.tolling.repository.DataAnomalyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Anomaly Detection Service
@@ -19,6 +23,8 @@ public class AnomalyDetectionService {
     private final DataAnomalyRepository anomalyRepository;
     private final LocationTrackingService locationTrackingService;
     private final DistanceCalculatorService distanceCalculatorService;
+    private final VehicleLastSeenService vehicleLastSeenService;
+    private final TrajectoryCompressionService trajectoryCompressionService;
 
     // Configurable thresholds
     private static final int MISSING_DATA_THRESHOLD_HOURS = 2;
@@ -31,32 +37,42 @@ public class AnomalyDetectionService {
     @Autowired
     public AnomalyDetectionService(DataAnomalyRepository anomalyRepository,
             LocationTrackingService locationTrackingService,
-            DistanceCalculatorService distanceCalculatorService) {
+            DistanceCalculatorService distanceCalculatorService,
+            VehicleLastSeenService vehicleLastSeenService,
+            TrajectoryCompressionService trajectoryCompressionService) {
         this.anomalyRepository = anomalyRepository;
         this.locationTrackingService = locationTrackingService;
         this.distanceCalculatorService = distanceCalculatorService;
+        this.vehicleLastSeenService = vehicleLastSeenService;
+        this.trajectoryCompressionService = trajectoryCompressionService;
     }
 
     /**
      * Detect missing GPS data for a vehicle
      * Checks if no data received for extended period
+     * Suppressed stationary pings count as received data (last-seen state)
      */
     public void detectMissingData(Long vehicleId) {
-        List<LocationTracking> recentLocations = locationTrackingService.getLocationsByVehicleId(vehicleId);
+        Optional<LocationTracking> latestLocation = locationTrackingService.getLatestLocation(vehicleId);
 
-        if (recentLocations.isEmpty()) {
+        if (latestLocation.isEmpty()) {
             return; // First data point, no anomaly
         }
 
-        LocationTracking lastLocation = recentLocations.get(0);
+        LocalDateTime lastDataAt = latestLocation.get().getTimestamp();
+        Optional<VehicleLastSeenService.LastSeen> lastSeen = vehicleLastSeenService.getLastSeen(vehicleId);
+        if (lastSeen.isPresent() && lastSeen.get().getTimestamp().isAfter(lastDataAt)) {
+            lastDataAt = lastSeen.get().getTimestamp();
+        }
+
         LocalDateTime now = LocalDateTime.now();
-        Duration timeSinceLastData = Duration.between(lastLocation.getTimestamp(), now);
+        Duration timeSinceLastData = Duration.between(lastDataAt, now);
 
         if (timeSinceLastData.toHours() > MISSING_DATA_THRESHOLD_HOURS) {
             String description = String.format(
                     "No GPS data received for %.1f hours. Last data at %s",
                     timeSinceLastData.toHours() / 1.0,
-                    lastLocation.getTimestamp());
+                    lastDataAt);
 
             flagAnomaly(vehicleId, AnomalyType.MISSING_DATA, description,
                     AnomalySeverity.MEDIUM, null);
@@ -100,7 +116,42 @@ public class AnomalyDetectionService {
                     AnomalyType.INACTIVITY_ON_HIGHWAY,
                     description,
                     AnomalySeverity.MEDIUM,
-                    currentLocation.getId());
+                    relatedLocationId(currentLocation));
+        }
+    }
+
+    /**
+     * Detect inactivity on highway from suppressed stationary pings
+     * Uses the in-memory last-seen state, since these pings are not persisted.
+     * Flags at most once per stationary episode.
+     */
+    public void detectStationaryInactivity(Long vehicleId, Long highwayId) {
+        if (highwayId == null) {
+            return; // Only relevant on highway
+        }
+
+        VehicleLastSeenService.LastSeen lastSeen = vehicleLastSeenService.getLastSeen(vehicleId).orElse(null);
+        if (lastSeen == null || lastSeen.getStationarySince() == null || lastSeen.isInactivityFlagged()) {
+            return;
+        }
+
+        Duration stationaryFor = Duration.between(lastSeen.getStationarySince(), lastSeen.getTimestamp());
+        if (stationaryFor.toMinutes() > INACTIVITY_THRESHOLD_MINUTES) {
+            String description = String.format(
+                    "Vehicle stationary on highway for %d minutes (%d pings suppressed). " +
+                            "Last seen at (%.4f, %.4f). Highway ID: %d",
+                    stationaryFor.toMinutes(),
+                    lastSeen.getSuppressedPings(),
+                    lastSeen.getLatitude(),
+                    lastSeen.getLongitude(),
+                    highwayId);
+
+            flagAnomaly(vehicleId,
+                    AnomalyType.INACTIVITY_ON_HIGHWAY,
+                    description,
+                    AnomalySeverity.MEDIUM,
+                    null);
+            vehicleLastSeenService.markInactivityFlagged(vehicleId);
         }
     }
 
@@ -109,13 +160,20 @@ public class AnomalyDetectionService {
      * Checks for abrupt stop in GPS transmission
      */
     public void detectDisconnection(Long vehicleId, LocationTracking currentLocation) {
-        List<LocationTracking> recentLocations = locationTrackingService.getLocationsByVehicleId(vehicleId);
+        List<LocationTracking> recentLocations = locationTrackingService.getRecentLocations(vehicleId);
 
         if (recentLocations.size() < 2) {
             return; // Not enough data
         }
 
-        LocationTracking previousLocation = recentLocations.get(1); // Get second-to-last
+        detectDisconnection(vehicleId, currentLocation, recentLocations.get(1)); // Second-to-last
+    }
+
+    /**
+     * Detect sudden disconnection against a known previous location
+     */
+    public void detectDisconnection(Long vehicleId, LocationTracking currentLocation,
+            LocationTracking previousLocation) {
         Duration gap = Duration.between(previousLocation.getTimestamp(), currentLocation.getTimestamp());
 
         // Check if there was a significant gap in transmission
@@ -133,10 +191,38 @@ public class AnomalyDetectionService {
                     AnomalyType.SUDDEN_DISCONNECTION,
                     description,
                     AnomalySeverity.HIGH,
-                    currentLocation.getId());
+                    relatedLocationId(currentLocation));
         }
     }
 
+    /**
+     * Flag a gap on a highway that could not be bridged
+     * The jump between the two points is faster than any plausible vehicle
+     * or does not follow the highway, so it is not billed.
+     */
+    public void detectImplausibleGap(LocationTracking currentLocation, LocationTracking previousLocation,
+            GapBridge.BridgeResult bridge) {
+        String description = String.format(
+                "Implausible jump on highway %d between %s and %s: %.2f km along the highway " +
+                        "at an implied %.0f km/h. Session split, gap not billed. " +
+                        "From (%.4f, %.4f) to (%.4f, %.4f)",
+                currentLocation.getHighwayId(),
+                previousLocation.getTimestamp(),
+                currentLocation.getTimestamp(),
+                bridge.getAlongHighwayKm(),
+                bridge.getImpliedSpeedKmh(),
+                previousLocation.getLatitude(),
+                previousLocation.getLongitude(),
+                currentLocation.getLatitude(),
+                currentLocation.getLongitude());
+
+        flagAnomaly(currentLocation.getVehicleId(),
+                AnomalyType.SUSPICIOUS_DISTANCE,
+                description,
+                AnomalySeverity.HIGH,
+                relatedLocationId(previousLocation));
+    }
+
     /**
      * Detect repeated abnormal patterns
      * Checks if same anomaly type occurs multiple times
@@ -168,17 +254,26 @@ public class AnomalyDetectionService {
      */
     public void runAllChecks(LocationTracking currentLocation) {
         Long vehicleId = currentLocation.getVehicleId();
-        List<LocationTracking> previousLocations = locationTrackingService.getLocationsByVehicleId(vehicleId);
+        List<LocationTracking> previousLocations = locationTrackingService.getRecentLocations(vehicleId);
 
         // Skip if this is the first location
         if (previousLocations.isEmpty() || previousLocations.size() < 2) {
             return;
         }
 
-        LocationTracking previousLocation = previousLocations.get(1); // Second-to-last (current is already saved)
+        runAllChecks(currentLocation, previousLocations.get(1)); // Second-to-last (current is already saved)
+    }
+
+    /**
+     * Run all anomaly checks for a new GPS data point against the previous one
+     * The ingest path already holds the previous location, so no re-query is
+     * needed.
+     */
+    public void runAllChecks(LocationTracking currentLocation, LocationTracking previousLocation) {
+        Long vehicleId = currentLocation.getVehicleId();
 
         // Run detection checks
-        detectDisconnection(vehicleId, currentLocation);
+        detectDisconnection(vehicleId, currentLocation, previousLocation);
 
         if (currentLocation.getIsOnHighway() && previousLocation.getIsOnHighway()) {
             detectInactivity(currentLocation, previousLocation);
@@ -188,11 +283,21 @@ public class AnomalyDetectionService {
         for (AnomalyType type : new AnomalyType[] {
                 AnomalyType.SUDDEN_DISCONNECTION,
                 AnomalyType.INACTIVITY_ON_HIGHWAY,
-                AnomalyType.MISSING_DATA }) {
+                AnomalyType.MISSING_DATA,
+                AnomalyType.SUSPICIOUS_DISTANCE }) {
             detectRepeatedPatterns(vehicleId, type);
         }
     }
 
+    /**
+     * ID of the point an anomaly refers to
+     * Online compression may still hold the point back; it is stored first so
+     * the anomaly references a row that compaction will keep.
+     */
+    private Long relatedLocationId(LocationTracking location) {
+        return trajectoryCompressionService.keep(location).getId();
+    }
+
     /**
      * Flag an anomaly for review
      * Creates a DataAnomaly record without imposing immediate penalty
@@ -211,17 +316,28 @@ public class AnomalyDetectionService {
     }
 
     /**
-     * Get all pending anomalies for review
+     * Get one page of pending anomalies detected within a range, newest first
      */
-    public List<DataAnomaly> getPendingAnomalies() {
-        return anomalyRepository.findByReviewStatusOrderByDetectedAtDesc(ReviewStatus.PENDING);
+    public PageResponse<DataAnomaly> getPendingAnomalies(LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        PageCursor position = PageCursor.decodeTimestamped(cursor, to);
+        List<DataAnomaly> anomalies = anomalyRepository.findPageByReviewStatus(ReviewStatus.PENDING, from, to,
+                position.getTimestamp(), position.getId(), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(anomalies, limit,
+                anomaly -> PageCursor.encode(anomaly.getDetectedAt(), anomaly.getId()));
     }
 
     /**
-     * Get anomalies for a specific vehicle
+     * Get one page of anomalies for a specific vehicle within a range, newest
+     * first
      */
-    public List<DataAnomaly> getVehicleAnomalies(Long vehicleId) {
-        return anomalyRepository.findByVehicleIdOrderByDetectedAtDesc(vehicleId);
+    public PageResponse<DataAnomaly> getVehicleAnomalies(Long vehicleId, LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        PageCursor position = PageCursor.decodeTimestamped(cursor, to);
+        List<DataAnomaly> anomalies = anomalyRepository.findPageByVehicleId(vehicleId, from, to,
+                position.getTimestamp(), position.getId(), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(anomalies, limit,
+                anomaly -> PageCursor.encode(anomaly.getDetectedAt(), anomaly.getId()));
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.BillLineItem;
+import com.highway.tolling.repository.BillLineItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bill Line Item Service
+ * Breaks bills down per vehicle and highway (db/07_bill_line_items.sql).
+ *
+ * Line items are generated set-based right after the month's bills: one
+ * grouped INSERT ... SELECT per range of user IDs, so the work per statement
+ * (and the lock footprint) stays bounded however many users are billed, and
+ * no highway or vehicle is looked up per row.
+ */
+@Service
+public class BillLineItemService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillLineItemService.class);
+
+    // Sessions billed to the bill's user in the bill month, grouped by vehicle
+    // and highway, so the items add up to the bill even if a vehicle changed
+    // owner during the month; bills that already have line items are skipped
+    private static final String GENERATE_SQL =
+            "INSERT INTO bill_line_items (bill_id, vehicle_id, highway_id, session_count, total_distance, " +
+            "gantry_charges_paise, rate_per_km_paise, amount_paise) " +
+            "SELECT b.bill_id, hu.vehicle_id, hu.highway_id, COUNT(*), ROUND(SUM(hu.distance_traveled), 2), " +
+            "SUM(hu.gantry_charges_paise), " +
+            "COALESCE(ROUND((SUM(hu.toll_amount_paise) - SUM(hu.gantry_charges_paise)) / NULLIF(SUM(hu.distance_traveled), 0)), 0), " +
+            "SUM(hu.toll_amount_paise) " +
+            "FROM bills b " +
+            "JOIN highway_usage hu ON hu.billed_user_id = b.user_id AND hu.bill_month = b.bill_month " +
+            "WHERE b.bill_month = ? AND b.user_id >= ? AND b.user_id < ? " +
+            "AND hu.toll_amount_paise IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM bill_line_items li WHERE li.bill_id = b.bill_id) " +
+            "GROUP BY b.bill_id, hu.vehicle_id, hu.highway_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BillLineItemRepository billLineItemRepository;
+
+    // Width of the user ID range handled by one INSERT ... SELECT
+    @Value("${app.billing.line-items.users-per-chunk:1000}")
+    private int usersPerChunk;
+
+    @Autowired
+    public BillLineItemService(JdbcTemplate jdbcTemplate, BillLineItemRepository billLineItemRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.billLineItemRepository = billLineItemRepository;
+    }
+
+    /**
+     * Generate the line items of a month's bills
+     * Safe to re-run: bills that already have line items are left alone.
+     *
+     * @return number of line items created
+     */
+    public int generateLineItems(YearMonth month) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(user_id) AS min_id, MAX(user_id) AS max_id FROM bills WHERE bill_month = ?",
+                month.toString());
+        if (range.get("min_id") == null) {
+            return 0; // No bills for the month
+        }
+        long minUserId = ((Number) range.get("min_id")).longValue();
+        long maxUserId = ((Number) range.get("max_id")).longValue();
+
+        int created = 0;
+        for (long lo = minUserId; lo <= maxUserId; lo += usersPerChunk) {
+            created += jdbcTemplate.update(GENERATE_SQL, month.toString(), lo, lo + usersPerChunk);
+        }
+        logger.info("Generated {} bill line items for {}", created, month);
+        return created;
+    }
+
+    /**
+     * Get the line items of a bill, ordered by vehicle and highway
+     */
+    public List<BillLineItem> getLineItems(Long billId) {
+        return billLineItemRepository.findByBillIdOrderByVehicleIdAscHighwayIdAsc(billId);
+    }
+}
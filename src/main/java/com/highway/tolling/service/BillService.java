@@ -39,12 +39,12 @@ public class BillService {
      * 
      * @param userId        User ID
      * @param totalDistance Total distance traveled
-     * @param totalAmount   Total toll amount
+     * @param totalAmount   Total toll amount in paise
      * @param billMonth     Bill month (format: "2026-01")
      * @param dueDate       Due date for payment
      * @return the created bill
      */
-    public Bill createBill(Long userId, Double totalDistance, Double totalAmount,
+    public Bill createBill(Long userId, Double totalDistance, long totalAmount,
             String billMonth, LocalDate dueDate) {
         Bill bill = new Bill(userId, totalDistance, totalAmount, billMonth, dueDate);
         return billRepository.save(bill);
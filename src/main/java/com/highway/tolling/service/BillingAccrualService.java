@@ -0,0 +1,125 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.BillingAccrual;
+import com.highway.tolling.repository.BillingAccrualRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Billing Accrual Service
+ * Keeps a running per-user, per-month total of closed highway sessions
+ * (db/06_billing_accruals.sql), by the month each session closed in, so the
+ * month-end run only copies accruals into bills and users can see their
+ * running bill mid-month.
+ *
+ * Increments are single INSERT ... ON DUPLICATE KEY UPDATE statements: the
+ * database applies them atomically, so concurrent session closes for the
+ * same user never lose an update and no row lock is held across calls.
+ */
+@Service
+public class BillingAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillingAccrualService.class);
+
+    private static final String ACCRUE_SQL =
+            "INSERT INTO billing_accruals (user_id, bill_month, total_distance, total_amount_paise, session_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE total_distance = total_distance + VALUES(total_distance), " +
+            "total_amount_paise = total_amount_paise + VALUES(total_amount_paise), " +
+            "session_count = session_count + 1, updated_at = VALUES(updated_at)";
+
+    // Recomputes a month's accruals from the priced sessions accrued to it,
+    // per user the sessions were billed to
+    private static final String REBUILD_SQL =
+            "INSERT INTO billing_accruals (user_id, bill_month, total_distance, total_amount_paise, session_count, updated_at) " +
+            "SELECT hu.billed_user_id, hu.bill_month, SUM(hu.distance_traveled), SUM(hu.toll_amount_paise), COUNT(*), ? " +
+            "FROM highway_usage hu " +
+            "WHERE hu.bill_month = ? AND hu.toll_amount_paise IS NOT NULL " +
+            "GROUP BY hu.billed_user_id " +
+            "ON DUPLICATE KEY UPDATE total_distance = VALUES(total_distance), " +
+            "total_amount_paise = VALUES(total_amount_paise), session_count = VALUES(session_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    // One bill per accrual of the month, skipping users that already have one;
+    // the unique key on bills (user_id, bill_month) backs the NOT EXISTS guard
+    // against overlapping runs (db/11_bills_unique_month.sql)
+    private static final String ROLLOVER_SQL =
+            "INSERT INTO bills (user_id, total_distance, total_amount_paise, bill_month, due_date, status, created_at) " +
+            "SELECT a.user_id, ROUND(a.total_distance, 2), a.total_amount_paise, a.bill_month, ?, 'PENDING', ? " +
+            "FROM billing_accruals a " +
+            "WHERE a.bill_month = ? AND a.session_count > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM bills b WHERE b.user_id = a.user_id AND b.bill_month = a.bill_month)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BillingAccrualRepository billingAccrualRepository;
+
+    @Autowired
+    public BillingAccrualService(JdbcTemplate jdbcTemplate,
+            BillingAccrualRepository billingAccrualRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.billingAccrualRepository = billingAccrualRepository;
+    }
+
+    /**
+     * Add a closed session to its owner's accrual for the month
+     *
+     * @param userId      owner of the session's vehicle
+     * @param month       bill month of the session (month it closed in)
+     * @param distanceKm  billed distance of the session
+     * @param amountPaise toll of the session, in paise
+     */
+    public void accrue(Long userId, YearMonth month, double distanceKm, long amountPaise) {
+        jdbcTemplate.update(ACCRUE_SQL, userId, month.toString(), distanceKm, amountPaise, LocalDateTime.now());
+    }
+
+    /**
+     * Get a user's accrual for a month (the running bill while the month is open)
+     */
+    public Optional<BillingAccrual> getAccrual(Long userId, YearMonth month) {
+        return billingAccrualRepository.findByUserIdAndBillMonth(userId, month.toString());
+    }
+
+    /**
+     * Get all accruals of a user, most recent month first
+     */
+    public List<BillingAccrual> getUserAccruals(Long userId) {
+        return billingAccrualRepository.findByUserIdOrderByBillMonthDesc(userId);
+    }
+
+    /**
+     * Recompute a month's accruals from the closed sessions
+     * For seeding accruals of sessions closed before the ledger existed, or
+     * reconciling after a failed increment.
+     *
+     * @return number of accrual rows inserted or updated
+     */
+    public int rebuildAccruals(YearMonth month) {
+        int rows = jdbcTemplate.update(REBUILD_SQL, LocalDateTime.now(), month.toString());
+        logger.info("Rebuilt billing accruals for {}: {} rows affected", month, rows);
+        return rows;
+    }
+
+    /**
+     * Turn a month's accruals into PENDING bills
+     * A single INSERT ... SELECT, independent of the number of sessions and
+     * users. Users that already have a bill for the month are skipped, so
+     * re-running a month is safe; a run overlapping another fails on the
+     * unique key instead of billing a user twice. Other errors (NOT NULL,
+     * truncation) fail the statement rather than being downgraded to
+     * warnings as INSERT IGNORE would.
+     *
+     * @return number of bills created (users already billed are not counted)
+     */
+    public int rolloverToBills(YearMonth month, LocalDate dueDate) {
+        return jdbcTemplate.update(ROLLOVER_SQL, dueDate, LocalDateTime.now(), month.toString());
+    }
+}
@@ -0,0 +1,21 @@
+package com.highway.tolling.service;
+
+import java.util.List;
+
+/**
+ * Bills Overdue Event
+ * Published by OverdueBillService after a chunk of PENDING bills has been
+ * marked OVERDUE, so the reminder pipeline can notify their owners.
+ */
+public class BillsOverdueEvent {
+
+    private final List<Long> billIds;
+
+    public BillsOverdueEvent(List<Long> billIds) {
+        this.billIds = billIds;
+    }
+
+    public List<Long> getBillIds() {
+        return billIds;
+    }
+}
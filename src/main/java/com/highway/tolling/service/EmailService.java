@@ -1,6 +1,7 @@
 package com.highway.tolling.service;
 
 import com.highway.tolling.model.Bill;
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,13 @@ public class EmailService {
         this.mailSender = mailSender;
     }
 
+    /**
+     * Check if sending email is enabled
+     */
+    public boolean isEnabled() {
+        return emailEnabled;
+    }
+
     /**
      * Send monthly bill notification email to user
      * 
@@ -83,7 +91,7 @@ public class EmailService {
         body.append("----------------------------------------\n");
         body.append("Bill Month: ").append(bill.getBillMonth()).append("\n");
         body.append("Total Distance: ").append(String.format("%.2f", bill.getTotalDistance())).append(" km\n");
-        body.append("Total Amount: ₹").append(String.format("%.2f", bill.getTotalAmount())).append("\n");
+        body.append("Total Amount: ").append(Money.format(bill.getTotalAmountPaise())).append("\n");
         body.append("Due Date: ").append(bill.getDueDate()).append("\n");
         body.append("Status: ").append(bill.getStatus()).append("\n");
         body.append("----------------------------------------\n\n");
@@ -188,7 +196,7 @@ public class EmailService {
                 "This is a reminder that your highway toll bill is overdue.\n\n" +
                 "Bill Details:\n" +
                 "Bill Month: " + bill.getBillMonth() + "\n" +
-                "Amount Due: ₹" + String.format("%.2f", bill.getTotalAmount()) + "\n" +
+                "Amount Due: " + Money.format(bill.getTotalAmountPaise()) + "\n" +
                 "Due Date: " + bill.getDueDate() + "\n\n" +
                 "Please make the payment at your earliest convenience to avoid additional charges.\n\n" +
                 "Best regards,\n" +
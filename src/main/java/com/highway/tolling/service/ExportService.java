@@ -0,0 +1,348 @@
+package com.highway.tolling.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export Service
+ * Streams location_tracking, highway_usage and bills rows straight from a
+ * forward-only JDBC cursor to an output stream as CSV or NDJSON. Rows are
+ * never collected into a list, so heap usage does not grow with the size of
+ * the export.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // MySQL Connector/J streams rows one at a time only for this fetch size;
+    // any other value buffers the complete result set in the driver
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream a dataset to an output stream
+     *
+     * @param dataset The table to export
+     * @param format  CSV or NDJSON
+     * @param filter  Vehicle, highway, user and time-range filter
+     * @param out     Target stream (not closed)
+     * @return Number of rows written
+     */
+    public long export(ExportDataset dataset, ExportFormat format, ExportFilter filter, OutputStream out) {
+        List<Object> params = new ArrayList<>();
+        String sql = buildQuery(dataset, filter, params);
+        long start = System.currentTimeMillis();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        RowWriter rowWriter = new RowWriter(writer, format);
+
+        jdbcTemplate.query(streamingStatement(sql, params), rowWriter::write);
+
+        try {
+            if (rowWriter.rows == 0 && format == ExportFormat.CSV) {
+                writer.write(String.join(",", dataset.columns));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.info("Exported {} {} rows as {} in {} ms", rowWriter.rows, dataset, format,
+                System.currentTimeMillis() - start);
+        return rowWriter.rows;
+    }
+
+    /**
+     * Validate a filter against a dataset before the response is committed
+     *
+     * @throws IllegalArgumentException if the dataset does not support a filter
+     */
+    public void validate(ExportDataset dataset, ExportFilter filter) {
+        if (filter.getHighwayId() != null && dataset.highwayColumn == null) {
+            throw new IllegalArgumentException(dataset + " cannot be filtered by highway");
+        }
+        if (filter.getUserId() != null && dataset.userColumn == null) {
+            throw new IllegalArgumentException(dataset + " cannot be filtered by user");
+        }
+        if (filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    private String buildQuery(ExportDataset dataset, ExportFilter filter, List<Object> params) {
+        validate(dataset, filter);
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", dataset.columns))
+                .append(" FROM ").append(dataset.table)
+                .append(" WHERE ").append(dataset.timeColumn).append(" BETWEEN ? AND ?");
+        params.add(filter.getFrom());
+        params.add(filter.getTo());
+
+        if (filter.getVehicleId() != null) {
+            if (dataset.vehicleColumn != null) {
+                sql.append(" AND ").append(dataset.vehicleColumn).append(" = ?");
+            } else {
+                // Bills are per user - select the owner of the vehicle
+                sql.append(" AND ").append(dataset.userColumn)
+                        .append(" = (SELECT user_id FROM vehicles WHERE vehicle_id = ?)");
+            }
+            params.add(filter.getVehicleId());
+        }
+        if (filter.getHighwayId() != null) {
+            sql.append(" AND ").append(dataset.highwayColumn).append(" = ?");
+            params.add(filter.getHighwayId());
+        }
+        if (filter.getUserId() != null) {
+            sql.append(" AND ").append(dataset.userColumn).append(" = ?");
+            params.add(filter.getUserId());
+        }
+
+        sql.append(" ORDER BY ").append(dataset.timeColumn).append(", ").append(dataset.columns[0]);
+        return sql.toString();
+    }
+
+    private static PreparedStatementCreator streamingStatement(String sql, List<Object> params) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        };
+    }
+
+    /**
+     * Writes one result set row at a time in the requested format
+     */
+    private static class RowWriter {
+        private final Writer writer;
+        private final ExportFormat format;
+        private String[] labels;
+        private long rows;
+
+        RowWriter(Writer writer, ExportFormat format) {
+            this.writer = writer;
+            this.format = format;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            try {
+                if (labels == null) {
+                    readLabels(rs.getMetaData());
+                    if (format == ExportFormat.CSV) {
+                        writer.write(String.join(",", labels));
+                        writer.write('\n');
+                    }
+                }
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(rs);
+                } else {
+                    writeJsonRow(rs);
+                }
+                rows++;
+            } catch (IOException e) {
+                // Client disconnected - abort the query instead of reading on
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readLabels(ResultSetMetaData metaData) throws SQLException {
+            labels = new String[metaData.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+        }
+
+        private void writeCsvRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i + 1);
+                if (value != null) {
+                    writeCsvValue(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void writeCsvValue(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void writeJsonRow(ResultSet rs) throws SQLException, IOException {
+            writer.write('{');
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write('"');
+                writer.write(labels[i]);
+                writer.write("\":");
+
+                Object value = rs.getObject(i + 1);
+                if (value == null) {
+                    writer.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    writer.write(value.toString());
+                } else {
+                    writeJsonString(value.toString());
+                }
+            }
+            writer.write("}\n");
+        }
+
+        private void writeJsonString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Exportable tables with their columns and filterable columns
+     */
+    public enum ExportDataset {
+        LOCATIONS("location_tracking", "timestamp", "vehicle_id", "highway_id", null,
+                "id", "vehicle_id", "latitude", "longitude", "timestamp", "highway_id",
+                "distance_from_previous", "is_on_highway"),
+        HIGHWAY_USAGE("highway_usage", "entry_timestamp", "vehicle_id", "highway_id", null,
+                "id", "vehicle_id", "highway_id", "distance_traveled", "entry_timestamp", "exit_timestamp",
+                "entry_latitude", "entry_longitude", "exit_latitude", "exit_longitude"),
+        BILLS("bills", "created_at", null, null, "user_id",
+                "bill_id", "user_id", "total_distance", "total_amount_paise", "bill_month", "due_date", "status",
+                "created_at");
+
+        private final String table;
+        private final String timeColumn;
+        private final String vehicleColumn;
+        private final String highwayColumn;
+        private final String userColumn;
+        private final String[] columns;
+
+        ExportDataset(String table, String timeColumn, String vehicleColumn, String highwayColumn,
+                String userColumn, String... columns) {
+            this.table = table;
+            this.timeColumn = timeColumn;
+            this.vehicleColumn = vehicleColumn;
+            this.highwayColumn = highwayColumn;
+            this.userColumn = userColumn;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Output formats
+     */
+    public enum ExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Inner class holding the export filter (null = not filtered)
+     */
+    public static class ExportFilter {
+        private final Long vehicleId;
+        private final Long highwayId;
+        private final Long userId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        public ExportFilter(Long vehicleId, Long highwayId, Long userId, LocalDateTime from, LocalDateTime to) {
+            this.vehicleId = vehicleId;
+            this.highwayId = highwayId;
+            this.userId = userId;
+            this.from = from;
+            this.to = to;
+        }
+
+        // Getters
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        public Long getHighwayId() {
+            return highwayId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public LocalDateTime getFrom() {
+            return from;
+        }
+
+        public LocalDateTime getTo() {
+            return to;
+        }
+
+        @Override
+        public String toString() {
+            return "ExportFilter{" +
+                    "vehicleId=" + vehicleId +
+                    ", highwayId=" + highwayId +
+                    ", userId=" + userId +
+                    ", from=" + from +
+                    ", to=" + to +
+                    '}';
+        }
+    }
+}
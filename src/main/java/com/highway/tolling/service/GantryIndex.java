@@ -0,0 +1,161 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Gantry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gantry Index
+ * Immutable spatial index over gantry line segments.
+ *
+ * Every gantry is registered in the grid cells its bounding box touches. A
+ * point pair only tests the gantries of the cells its own bounding box
+ * touches - for pings tens of metres apart that is one cell and a handful
+ * of gantries, independent of the total number of gantries.
+ * Rebuilt as a whole when gantries change (see GantryService).
+ */
+public final class GantryIndex {
+
+    // Grid cell size in degrees (≈ 1.1 km of latitude)
+    private static final double CELL_DEGREES = 0.01;
+    // Point pairs spanning more cells than this (long gaps) scan all gantries
+    private static final int MAX_SCANNED_CELLS = 64;
+    private static final int[] NO_GANTRIES = new int[0];
+
+    public static final GantryIndex EMPTY = new GantryIndex(new Gantry[0], new double[0], new double[0],
+            new double[0], new double[0], new HashMap<>());
+
+    private final Gantry[] gantries;
+    private final double[] startLat;
+    private final double[] startLon;
+    private final double[] endLat;
+    private final double[] endLon;
+    private final Map<Long, int[]> cells;
+
+    private GantryIndex(Gantry[] gantries, double[] startLat, double[] startLon, double[] endLat,
+            double[] endLon, Map<Long, int[]> cells) {
+        this.gantries = gantries;
+        this.startLat = startLat;
+        this.startLon = startLon;
+        this.endLat = endLat;
+        this.endLon = endLon;
+        this.cells = cells;
+    }
+
+    /**
+     * Build an index over the given gantries
+     */
+    public static GantryIndex build(List<Gantry> gantryList) {
+        int n = gantryList.size();
+        Gantry[] gantries = gantryList.toArray(new Gantry[0]);
+        double[] startLat = new double[n];
+        double[] startLon = new double[n];
+        double[] endLat = new double[n];
+        double[] endLon = new double[n];
+        Map<Long, List<Integer>> building = new HashMap<>();
+
+        for (int g = 0; g < n; g++) {
+            startLat[g] = gantries[g].getStartLatitude();
+            startLon[g] = gantries[g].getStartLongitude();
+            endLat[g] = gantries[g].getEndLatitude();
+            endLon[g] = gantries[g].getEndLongitude();
+            for (int row = cellOf(Math.min(startLat[g], endLat[g])); row <= cellOf(Math.max(startLat[g], endLat[g])); row++) {
+                for (int col = cellOf(Math.min(startLon[g], endLon[g])); col <= cellOf(Math.max(startLon[g], endLon[g])); col++) {
+                    building.computeIfAbsent(cellKey(row, col), key -> new ArrayList<>(2)).add(g);
+                }
+            }
+        }
+
+        Map<Long, int[]> cells = new HashMap<>(building.size() * 2);
+        building.forEach((key, list) -> cells.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new GantryIndex(gantries, startLat, startLon, endLat, endLon, cells);
+    }
+
+    /**
+     * Find the gantries crossed by the straight path between two points
+     * A point exactly on a gantry line counts as the far side, so a vehicle
+     * stopping on the line is charged once, not twice.
+     *
+     * @return crossed gantries in the order they were built (usually none)
+     */
+    public List<Gantry> findCrossings(double fromLat, double fromLon, double toLat, double toLon) {
+        if (gantries.length == 0) {
+            return Collections.emptyList();
+        }
+
+        int minRow = cellOf(Math.min(fromLat, toLat));
+        int maxRow = cellOf(Math.max(fromLat, toLat));
+        int minCol = cellOf(Math.min(fromLon, toLon));
+        int maxCol = cellOf(Math.max(fromLon, toLon));
+
+        List<Gantry> crossed = null;
+        if ((long) (maxRow - minRow + 1) * (maxCol - minCol + 1) > MAX_SCANNED_CELLS) {
+            for (int g = 0; g < gantries.length; g++) {
+                crossed = addIfCrossed(crossed, g, fromLat, fromLon, toLat, toLon);
+            }
+        } else {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    for (int g : cells.getOrDefault(cellKey(row, col), NO_GANTRIES)) {
+                        crossed = addIfCrossed(crossed, g, fromLat, fromLon, toLat, toLon);
+                    }
+                }
+            }
+        }
+        return crossed != null ? crossed : Collections.emptyList();
+    }
+
+    /**
+     * Get the number of indexed gantries
+     */
+    public int getGantryCount() {
+        return gantries.length;
+    }
+
+    private List<Gantry> addIfCrossed(List<Gantry> crossed, int g, double fromLat, double fromLon,
+            double toLat, double toLon) {
+        if (!crosses(g, fromLat, fromLon, toLat, toLon)) {
+            return crossed;
+        }
+        if (crossed == null) {
+            crossed = new ArrayList<>(1);
+        } else if (crossed.contains(gantries[g])) {
+            return crossed; // Registered in several of the scanned cells
+        }
+        crossed.add(gantries[g]);
+        return crossed;
+    }
+
+    /**
+     * Segment intersection by orientation tests. Intersection is preserved by
+     * the lat/lon projection, so no conversion to metres is needed.
+     */
+    private boolean crosses(int g, double fromLat, double fromLon, double toLat, double toLon) {
+        double side1 = orientation(startLat[g], startLon[g], endLat[g], endLon[g], fromLat, fromLon);
+        double side2 = orientation(startLat[g], startLon[g], endLat[g], endLon[g], toLat, toLon);
+        // Half-open: "on the line" belongs to the non-positive side
+        if ((side1 > 0) == (side2 > 0)) {
+            return false;
+        }
+        double end1 = orientation(fromLat, fromLon, toLat, toLon, startLat[g], startLon[g]);
+        double end2 = orientation(fromLat, fromLon, toLat, toLon, endLat[g], endLon[g]);
+        return (end1 <= 0 && end2 >= 0) || (end1 >= 0 && end2 <= 0);
+    }
+
+    private static double orientation(double aLat, double aLon, double bLat, double bLon,
+            double pLat, double pLon) {
+        return (bLon - aLon) * (pLat - aLat) - (bLat - aLat) * (pLon - aLon);
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,253 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
+import com.highway.tolling.model.Gantry;
+import com.highway.tolling.model.GantryCrossing;
+import com.highway.tolling.model.HighwayUsage;
+import com.highway.tolling.model.LocationTracking;
+import com.highway.tolling.model.VehicleType;
+import com.highway.tolling.repository.GantryCrossingRepository;
+import com.highway.tolling.repository.GantryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Gantry Service
+ * Manages virtual toll gantries and charges vehicles for crossing them.
+ * Crossing detection runs on the ingest path against an in-memory index;
+ * only an actual crossing touches the database.
+ */
+@Service
+public class GantryService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(GantryService.class);
+
+    private final GantryRepository gantryRepository;
+    private final GantryCrossingRepository gantryCrossingRepository;
+    private final HighwayService highwayService;
+    private final HighwayUsageService highwayUsageService;
+
+    // Replaced as a whole on rebuild; lookups never see a partial index
+    private volatile GantryIndex gantryIndex = GantryIndex.EMPTY;
+
+    @Autowired
+    public GantryService(GantryRepository gantryRepository,
+            GantryCrossingRepository gantryCrossingRepository,
+            HighwayService highwayService,
+            HighwayUsageService highwayUsageService) {
+        this.gantryRepository = gantryRepository;
+        this.gantryCrossingRepository = gantryCrossingRepository;
+        this.highwayService = highwayService;
+        this.highwayUsageService = highwayUsageService;
+    }
+
+    /**
+     * Build the gantry index once all beans exist, before the web server starts
+     * accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildIndex();
+    }
+
+    /**
+     * Rebuild the gantry index
+     * Runs at startup and after every gantry change; call it after editing
+     * the gantries table directly.
+     */
+    public void rebuildIndex() {
+        GantryIndex index = GantryIndex.build(gantryRepository.findAll());
+        gantryIndex = index;
+        logger.info("Gantry index rebuilt: {} gantries", index.getGantryCount());
+    }
+
+    /**
+     * Rebuild the gantry index after a highway change (deleting a highway
+     * deletes its gantries)
+     */
+    @EventListener(HighwayCatalogChangedEvent.class)
+    public void onHighwayCatalogChanged() {
+        rebuildIndex();
+    }
+
+    /**
+     * Charge a vehicle for every gantry crossed between two consecutive points
+     * The charge is recorded as a crossing and added to the open session on
+     * the gantry's highway, if any. A crossing made while an entry is still
+     * pending is charged once the session opens (attachPendingCrossings).
+     *
+     * @return the recorded crossings (usually none)
+     */
+    public List<GantryCrossing> recordCrossings(VehicleType vehicleType, LocationTracking previousLocation,
+            LocationTracking currentLocation) {
+        List<Gantry> crossed = gantryIndex.findCrossings(
+                previousLocation.getLatitude(), previousLocation.getLongitude(),
+                currentLocation.getLatitude(), currentLocation.getLongitude());
+        if (crossed.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Long vehicleId = currentLocation.getVehicleId();
+        HighwayUsage session = highwayUsageService.getActiveSession(vehicleId).orElse(null);
+        List<GantryCrossing> crossings = new ArrayList<>(crossed.size());
+        for (Gantry gantry : crossed) {
+            long charge = gantry.getChargePaiseFor(vehicleType);
+            boolean inSession = session != null && session.getHighwayId().equals(gantry.getHighwayId());
+            if (inSession) {
+                session = highwayUsageService.addGantryCharge(session, charge);
+            }
+            crossings.add(gantryCrossingRepository.save(new GantryCrossing(
+                    gantry.getGantryId(),
+                    vehicleId,
+                    inSession ? session.getId() : null,
+                    currentLocation.getTimestamp(),
+                    charge)));
+        }
+        return crossings;
+    }
+
+    /**
+     * Charge a newly opened session with the crossings made while its entry
+     * was pending
+     * Hysteresis opens a session only once the entry is confirmed and dates
+     * it back to the first ping on the highway, so gantries crossed in
+     * between were recorded without a session. Those on the session's
+     * highway from its entry onward are attached to it and their charges
+     * added.
+     *
+     * @return the session, with the attached charges
+     */
+    @Transactional
+    public HighwayUsage attachPendingCrossings(HighwayUsage session) {
+        List<GantryCrossing> pending = gantryCrossingRepository.findUnsessionedSince(
+                session.getVehicleId(), session.getHighwayId(), session.getEntryTimestamp());
+        if (pending.isEmpty()) {
+            return session;
+        }
+
+        long charge = 0;
+        for (GantryCrossing crossing : pending) {
+            crossing.setHighwayUsageId(session.getId());
+            charge += crossing.getChargePaise();
+        }
+        gantryCrossingRepository.saveAll(pending);
+        return highwayUsageService.addGantryCharge(session, charge);
+    }
+
+    /**
+     * Create a new gantry
+     */
+    public Gantry createGantry(Gantry gantry) {
+        validateGantry(gantry);
+        Gantry savedGantry = gantryRepository.save(gantry);
+        rebuildIndex();
+        return savedGantry;
+    }
+
+    /**
+     * Get one page of gantries, or of one highway's gantries, ordered by ID
+     */
+    public PageResponse<Gantry> getGantriesPage(Long highwayId, String cursor, int limit) {
+        long afterGantryId = PageCursor.decodeId(cursor);
+        List<Gantry> gantries = highwayId != null
+                ? gantryRepository.findByHighwayIdAndGantryIdGreaterThanOrderByGantryIdAsc(highwayId,
+                        afterGantryId, PageRequest.ofSize(limit + 1))
+                : gantryRepository.findByGantryIdGreaterThanOrderByGantryIdAsc(afterGantryId,
+                        PageRequest.ofSize(limit + 1));
+        return PageResponse.of(gantries, limit, gantry -> PageCursor.encode(gantry.getGantryId()));
+    }
+
+    /**
+     * Get a gantry by ID
+     */
+    public Optional<Gantry> getGantryById(Long gantryId) {
+        return gantryRepository.findById(gantryId);
+    }
+
+    /**
+     * Update gantry information
+     */
+    public Gantry updateGantry(Long gantryId, Gantry updatedGantry) {
+        Gantry gantry = gantryRepository.findById(gantryId)
+                .orElseThrow(() -> new RuntimeException("Gantry not found with id: " + gantryId));
+
+        gantry.setHighwayId(updatedGantry.getHighwayId());
+        gantry.setGantryName(updatedGantry.getGantryName());
+        gantry.setStartLatitude(updatedGantry.getStartLatitude());
+        gantry.setStartLongitude(updatedGantry.getStartLongitude());
+        gantry.setEndLatitude(updatedGantry.getEndLatitude());
+        gantry.setEndLongitude(updatedGantry.getEndLongitude());
+        gantry.setChargeForCarPaise(updatedGantry.getChargeForCarPaise());
+        gantry.setChargeForBikePaise(updatedGantry.getChargeForBikePaise());
+        gantry.setChargeForTruckPaise(updatedGantry.getChargeForTruckPaise());
+        validateGantry(gantry);
+
+        Gantry savedGantry = gantryRepository.save(gantry);
+        rebuildIndex();
+        return savedGantry;
+    }
+
+    /**
+     * Delete a gantry
+     */
+    public void deleteGantry(Long gantryId) {
+        if (!gantryRepository.existsById(gantryId)) {
+            throw new RuntimeException("Gantry not found with id: " + gantryId);
+        }
+        gantryRepository.deleteById(gantryId);
+        rebuildIndex();
+    }
+
+    /**
+     * Get one page of a vehicle's gantry crossings within a range, newest first
+     */
+    public PageResponse<GantryCrossing> getVehicleCrossings(Long vehicleId, LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        PageCursor position = PageCursor.decodeTimestamped(cursor, to);
+        List<GantryCrossing> crossings = gantryCrossingRepository.findPageByVehicleId(vehicleId, from, to,
+                position.getTimestamp(), position.getId(), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(crossings, limit,
+                crossing -> PageCursor.encode(crossing.getCrossingTimestamp(), crossing.getId()));
+    }
+
+    /**
+     * Get the crossings charged to a highway session
+     */
+    public List<GantryCrossing> getSessionCrossings(Long highwayUsageId) {
+        return gantryCrossingRepository.findByHighwayUsageIdOrderByCrossingTimestampAsc(highwayUsageId);
+    }
+
+    /**
+     * Reject gantries on unknown highways, degenerate lines and negative charges
+     */
+    private void validateGantry(Gantry gantry) {
+        if (gantry.getHighwayId() == null || highwayService.getHighwayById(gantry.getHighwayId()).isEmpty()) {
+            throw new RuntimeException("Highway not found with id: " + gantry.getHighwayId());
+        }
+        if (gantry.getStartLatitude().equals(gantry.getEndLatitude())
+                && gantry.getStartLongitude().equals(gantry.getEndLongitude())) {
+            throw new RuntimeException("Gantry start and end must differ");
+        }
+        if (gantry.getChargeForCarPaise() == null || gantry.getChargeForBikePaise() == null
+                || gantry.getChargeForTruckPaise() == null) {
+            throw new RuntimeException("Gantry charges are required");
+        }
+        if (gantry.getChargeForCarPaise() < 0 || gantry.getChargeForBikePaise() < 0
+                || gantry.getChargeForTruckPaise() < 0) {
+            throw new RuntimeException("Gantry charges must not be negative");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.highway.tolling.service;
+
+/**
+ * Gap Bridge
+ * Decides whether a jump between two consecutive points on the same highway
+ * (tunnel, cellular dead zone) is plausible travel along the highway.
+ *
+ * Pure function of the two chainages, the straight-line distance and the
+ * elapsed time: no database or index access, so it can be benchmarked and
+ * replayed in isolation.
+ */
+public final class GapBridge {
+
+    private GapBridge() {
+    }
+
+    /**
+     * Bridge a gap between two points projected onto the same highway
+     *
+     * @param fromChainageKm Chainage of the earlier point
+     * @param toChainageKm   Chainage of the later point
+     * @param straightLineKm Great-circle distance between the points
+     * @param elapsedSeconds Time between the points
+     * @param maxSpeedKmh    Highest plausible average speed
+     * @param toleranceKm    Allowed shortfall of the along-highway distance
+     *                       against the straight line (projection/GPS error)
+     * @return the along-highway distance and whether it is plausible
+     */
+    public static BridgeResult bridge(double fromChainageKm, double toChainageKm, double straightLineKm,
+            double elapsedSeconds, double maxSpeedKmh, double toleranceKm) {
+        double alongKm = Math.abs(toChainageKm - fromChainageKm);
+
+        if (elapsedSeconds <= 0) {
+            return new BridgeResult(alongKm, Double.POSITIVE_INFINITY, false);
+        }
+        double impliedSpeedKmh = alongKm / elapsedSeconds * 3600.0;
+
+        // Travel along a highway can never be shorter than the straight line;
+        // if it is, the jump left the highway and is not bridgeable
+        boolean followsHighway = alongKm + toleranceKm >= straightLineKm;
+        boolean plausible = followsHighway && impliedSpeedKmh <= maxSpeedKmh;
+        return new BridgeResult(alongKm, impliedSpeedKmh, plausible);
+    }
+
+    /**
+     * Inner class for the result of bridging a gap
+     */
+    public static class BridgeResult {
+        private final double alongHighwayKm;
+        private final double impliedSpeedKmh;
+        private final boolean plausible;
+
+        public BridgeResult(double alongHighwayKm, double impliedSpeedKmh, boolean plausible) {
+            this.alongHighwayKm = alongHighwayKm;
+            this.impliedSpeedKmh = impliedSpeedKmh;
+            this.plausible = plausible;
+        }
+
+        // Getters
+        public double getAlongHighwayKm() {
+            return alongHighwayKm;
+        }
+
+        public double getImpliedSpeedKmh() {
+            return impliedSpeedKmh;
+        }
+
+        public boolean isPlausible() {
+            return plausible;
+        }
+
+        @Override
+        public String toString() {
+            return "BridgeResult{" +
+                    "alongHighwayKm=" + alongHighwayKm +
+                    ", impliedSpeedKmh=" + impliedSpeedKmh +
+                    ", plausible=" + plausible +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.LocationTracking;
+import com.highway.tolling.repository.LocationTrackingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * GPS Archive Service
+ * Writes closed months of location_tracking to compact columnar files and
+ * reads them back for disputes and audits.
+ *
+ * Layout: {archive-dir}/{yyyy-MM}/vehicle-{vehicleId}.gpsc plus an index.csv
+ * per month listing every vehicle file with its point count and min/max.
+ *
+ * File format (one vehicle-month):
+ * - Header (uncompressed): magic "GPSC", version, vehicleId, month (yyyyMM),
+ * point count, min/max timestamp (epoch millis), min/max latitude and
+ * longitude (microdegrees). Readers can skip a file from the header alone.
+ * - Body (deflated), one column after another, all as zigzag varints:
+ * ids (delta), timestamps (delta millis), latitude and longitude (delta
+ * microdegrees), distance from previous (millimetres, -1 = null) and the
+ * highway state (run-length encoded).
+ */
+@Service
+public class GpsArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpsArchiveService.class);
+
+    private static final int MAGIC = 0x47505343; // "GPSC"
+    private static final byte FORMAT_VERSION = 1;
+    private static final double MICRODEGREES = 1_000_000.0;
+    private static final String INDEX_FILE = "index.csv";
+
+    private final LocationTrackingRepository locationTrackingRepository;
+
+    @Value("${app.archive.gps.directory:./archive/gps}")
+    private String archiveDirectory;
+
+    @Autowired
+    public GpsArchiveService(LocationTrackingRepository locationTrackingRepository) {
+        this.locationTrackingRepository = locationTrackingRepository;
+    }
+
+    /**
+     * Export every vehicle's GPS points of a month to archive files
+     *
+     * @param month The (closed) month to export
+     * @return Export statistics
+     */
+    public ArchiveResult exportMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay().minusNanos(1);
+        Path monthDir = monthDirectory(month);
+
+        long started = System.currentTimeMillis();
+        int vehicles = 0;
+        long points = 0;
+        long bytes = 0;
+
+        try {
+            Files.createDirectories(monthDir);
+            try (BufferedWriter index = Files.newBufferedWriter(monthDir.resolve(INDEX_FILE))) {
+                index.write("vehicleId,points,minTimestamp,maxTimestamp,minLatitude,maxLatitude,"
+                        + "minLongitude,maxLongitude,bytes\n");
+
+                for (Long vehicleId : locationTrackingRepository.findDistinctVehicleIdsBetween(from, to)) {
+                    List<LocationTracking> vehiclePoints = locationTrackingRepository
+                            .findByVehicleIdAndTimestampBetweenOrderByTimestampAsc(vehicleId, from, to);
+                    if (vehiclePoints.isEmpty()) {
+                        continue;
+                    }
+
+                    Path file = writeVehicleMonth(vehicleId, month, vehiclePoints);
+                    FileHeader header = readHeader(file);
+                    long size = Files.size(file);
+                    index.write(vehicleId + "," + header.count + "," + header.minTimestamp + ","
+                            + header.maxTimestamp + "," + header.minLatitude + "," + header.maxLatitude + ","
+                            + header.minLongitude + "," + header.maxLongitude + "," + size + "\n");
+
+                    vehicles++;
+                    points += vehiclePoints.size();
+                    bytes += size;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export GPS archive for " + month, e);
+        }
+
+        ArchiveResult result = new ArchiveResult(month.toString(), vehicles, points, bytes,
+                System.currentTimeMillis() - started);
+        logger.info("Exported GPS archive: {}", result);
+        return result;
+    }
+
+    /**
+     * Write one vehicle-month file (atomically replaces an existing file)
+     *
+     * @param vehicleId The vehicle ID
+     * @param month     The month of the points
+     * @param points    The vehicle's points of the month, oldest first
+     * @return Path of the written file
+     */
+    public Path writeVehicleMonth(Long vehicleId, YearMonth month, List<LocationTracking> points)
+            throws IOException {
+        Path target = vehicleFile(vehicleId, month);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "vehicle-" + vehicleId, ".tmp");
+
+        int n = points.size();
+        long minTs = Long.MAX_VALUE, maxTs = Long.MIN_VALUE;
+        int minLat = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE;
+        int minLon = Integer.MAX_VALUE, maxLon = Integer.MIN_VALUE;
+        long[] timestamps = new long[n];
+        int[] latitudes = new int[n];
+        int[] longitudes = new int[n];
+        for (int i = 0; i < n; i++) {
+            LocationTracking point = points.get(i);
+            timestamps[i] = point.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            latitudes[i] = (int) Math.round(point.getLatitude() * MICRODEGREES);
+            longitudes[i] = (int) Math.round(point.getLongitude() * MICRODEGREES);
+            minTs = Math.min(minTs, timestamps[i]);
+            maxTs = Math.max(maxTs, timestamps[i]);
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(vehicleId);
+            out.writeInt(month.getYear() * 100 + month.getMonthValue());
+            out.writeInt(n);
+            out.writeLong(minTs);
+            out.writeLong(maxTs);
+            out.writeInt(minLat);
+            out.writeInt(maxLat);
+            out.writeInt(minLon);
+            out.writeInt(maxLon);
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            DeflaterOutputStream compressed = new DeflaterOutputStream(out, deflater);
+            OutputStream body = new BufferedOutputStream(compressed);
+            try {
+                long previous = 0;
+                for (LocationTracking point : points) {
+                    long id = point.getId() != null ? point.getId() : 0L;
+                    writeVarLong(body, id - previous);
+                    previous = id;
+                }
+
+                previous = 0;
+                for (long timestamp : timestamps) {
+                    writeVarLong(body, timestamp - previous);
+                    previous = timestamp;
+                }
+
+                writeDeltaColumn(body, latitudes);
+                writeDeltaColumn(body, longitudes);
+
+                for (LocationTracking point : points) {
+                    Double distance = point.getDistanceFromPrevious();
+                    writeVarLong(body, distance != null ? Math.round(distance * 1_000_000.0) : -1L); // km -> mm
+                }
+
+                // Highway state as (state, run length) pairs
+                int i = 0;
+                while (i < n) {
+                    long state = highwayState(points.get(i));
+                    int run = 1;
+                    while (i + run < n && highwayState(points.get(i + run)) == state) {
+                        run++;
+                    }
+                    writeVarLong(body, state);
+                    writeVarLong(body, run);
+                    i += run;
+                }
+
+                body.flush();
+                compressed.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    /**
+     * Check whether a vehicle-month has been archived
+     */
+    public boolean isArchived(Long vehicleId, YearMonth month) {
+        return Files.exists(vehicleFile(vehicleId, month));
+    }
+
+    /**
+     * Get the months present in the archive, oldest first
+     */
+    public List<YearMonth> getArchivedMonths() {
+        Path root = Paths.get(archiveDirectory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+
+        List<YearMonth> months = new ArrayList<>();
+        try (Stream<Path> directories = Files.list(root)) {
+            directories.filter(Files::isDirectory).forEach(directory -> {
+                try {
+                    months.add(YearMonth.parse(directory.getFileName().toString()));
+                } catch (DateTimeParseException e) {
+                    // Not a month directory
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list GPS archive " + root, e);
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    /**
+     * Read the newest archived points of a vehicle before a page cursor
+     * Months are read newest first, and reading stops once a month brings the
+     * total to the limit, so a page near the cursor never decodes the older
+     * history. Only files whose header range overlaps the query are decoded.
+     *
+     * @param vehicleId The vehicle ID
+     * @param from      range start (inclusive)
+     * @param before    cursor timestamp; points at it count only below beforeId
+     * @param beforeId  cursor ID
+     * @param limit     number of points wanted
+     * @return up to limit archived points, newest first (not attached to JPA)
+     */
+    public List<LocationTracking> readVehicleBefore(Long vehicleId, LocalDateTime from, LocalDateTime before,
+            long beforeId, int limit) {
+        List<LocationTracking> result = new ArrayList<>();
+        long fromMillis = from.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long beforeMillis = before.toInstant(ZoneOffset.UTC).toEpochMilli();
+        Comparator<LocationTracking> newestFirst = Comparator.comparing(LocationTracking::getTimestamp)
+                .thenComparing(LocationTracking::getId)
+                .reversed();
+
+        List<YearMonth> months = getArchivedMonths();
+        for (int i = months.size() - 1; i >= 0 && result.size() < limit; i--) {
+            YearMonth month = months.get(i);
+            if (month.isBefore(YearMonth.from(from)) || month.isAfter(YearMonth.from(before))) {
+                continue;
+            }
+            Path file = vehicleFile(vehicleId, month);
+            if (!Files.exists(file)) {
+                continue;
+            }
+
+            try {
+                FileHeader header = readHeader(file);
+                if (header.maxTimestamp < fromMillis || header.minTimestamp > beforeMillis) {
+                    continue;
+                }
+                List<LocationTracking> monthPoints = new ArrayList<>();
+                for (LocationTracking point : readFile(file)) {
+                    long ts = point.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+                    if (ts >= fromMillis && (ts < beforeMillis || (ts == beforeMillis && point.getId() < beforeId))) {
+                        monthPoints.add(point);
+                    }
+                }
+                monthPoints.sort(newestFirst);
+                result.addAll(monthPoints.subList(0, Math.min(monthPoints.size(), limit - result.size())));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read GPS archive " + file, e);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Decode a complete vehicle-month file
+     */
+    public List<LocationTracking> readFile(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            FileHeader header = readHeader(in);
+            return readBody(header, new BufferedInputStream(new InflaterInputStream(in)));
+        }
+    }
+
+    private List<LocationTracking> readBody(FileHeader header, InputStream body) throws IOException {
+        try (body) {
+            int n = header.count;
+
+            long[] ids = new long[n];
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                previous += readVarLong(body);
+                ids[i] = previous;
+            }
+
+            long[] timestamps = new long[n];
+            previous = 0;
+            for (int i = 0; i < n; i++) {
+                previous += readVarLong(body);
+                timestamps[i] = previous;
+            }
+
+            int[] latitudes = readDeltaColumn(body, n);
+            int[] longitudes = readDeltaColumn(body, n);
+
+            long[] distances = new long[n];
+            for (int i = 0; i < n; i++) {
+                distances[i] = readVarLong(body);
+            }
+
+            List<LocationTracking> points = new ArrayList<>(n);
+            int i = 0;
+            while (i < n) {
+                long state = readVarLong(body);
+                int run = (int) readVarLong(body);
+                for (int r = 0; r < run && i < n; r++, i++) {
+                    LocationTracking point = new LocationTracking(
+                            header.vehicleId,
+                            latitudes[i] / MICRODEGREES,
+                            longitudes[i] / MICRODEGREES,
+                            LocalDateTime.ofEpochSecond(Math.floorDiv(timestamps[i], 1000L),
+                                    (int) Math.floorMod(timestamps[i], 1000L) * 1_000_000, ZoneOffset.UTC));
+                    point.setId(ids[i] != 0 ? ids[i] : null);
+                    point.setDistanceFromPrevious(distances[i] >= 0 ? distances[i] / 1_000_000.0 : null);
+                    point.setIsOnHighway((state & 1L) == 1L);
+                    long highwayId = state >> 1;
+                    point.setHighwayId(highwayId > 0 ? highwayId : null);
+                    points.add(point);
+                }
+            }
+            return points;
+        }
+    }
+
+    private FileHeader readHeader(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return readHeader(in);
+        }
+    }
+
+    private FileHeader readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a GPS archive file");
+        }
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported GPS archive version: " + version);
+        }
+
+        FileHeader header = new FileHeader();
+        header.vehicleId = in.readLong();
+        header.month = in.readInt();
+        header.count = in.readInt();
+        header.minTimestamp = in.readLong();
+        header.maxTimestamp = in.readLong();
+        header.minLatitude = in.readInt();
+        header.maxLatitude = in.readInt();
+        header.minLongitude = in.readInt();
+        header.maxLongitude = in.readInt();
+        return header;
+    }
+
+    private Path monthDirectory(YearMonth month) {
+        return Paths.get(archiveDirectory, month.toString());
+    }
+
+    private Path vehicleFile(Long vehicleId, YearMonth month) {
+        return monthDirectory(month).resolve("vehicle-" + vehicleId + ".gpsc");
+    }
+
+    /**
+     * Highway state of a point: highwayId (0 if none) shifted left, on-highway
+     * flag in bit 0
+     */
+    private static long highwayState(LocationTracking point) {
+        long highwayId = point.getHighwayId() != null ? point.getHighwayId() : 0L;
+        boolean onHighway = Boolean.TRUE.equals(point.getIsOnHighway());
+        return (highwayId << 1) | (onHighway ? 1L : 0L);
+    }
+
+    private static void writeDeltaColumn(OutputStream out, int[] values) throws IOException {
+        long previous = 0;
+        for (int value : values) {
+            writeVarLong(out, value - previous);
+            previous = value;
+        }
+    }
+
+    private static int[] readDeltaColumn(InputStream in, int n) throws IOException {
+        int[] values = new int[n];
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += readVarLong(in);
+            values[i] = (int) previous;
+        }
+        return values;
+    }
+
+    /**
+     * Write a signed value as a zigzag-encoded base-128 varint
+     */
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated GPS archive file");
+            }
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Header fields of a vehicle-month file
+     */
+    private static class FileHeader {
+        private long vehicleId;
+        private int month;
+        private int count;
+        private long minTimestamp;
+        private long maxTimestamp;
+        private int minLatitude;
+        private int maxLatitude;
+        private int minLongitude;
+        private int maxLongitude;
+    }
+
+    /**
+     * Inner class to hold archive export results
+     */
+    public static class ArchiveResult {
+        private String month;
+        private int vehicles;
+        private long points;
+        private long bytes;
+        private long durationMillis;
+
+        public ArchiveResult(String month, int vehicles, long points, long bytes, long durationMillis) {
+            this.month = month;
+            this.vehicles = vehicles;
+            this.points = points;
+            this.bytes = bytes;
+            this.durationMillis = durationMillis;
+        }
+
+        // Getters
+        public String getMonth() {
+            return month;
+        }
+
+        public int getVehicles() {
+            return vehicles;
+        }
+
+        public long getPoints() {
+            return points;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public double getBytesPerPoint() {
+            return points > 0 ? (double) bytes / points : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return "ArchiveResult{" +
+                    "month='" + month + '\'' +
+                    ", vehicles=" + vehicles +
+                    ", points=" + points +
+                    ", bytes=" + bytes +
+                    ", bytesPerPoint=" + String.format("%.2f", getBytesPerPoint()) +
+                    ", durationMillis=" + durationMillis +
+                    '}';
+        }
+    }
+}
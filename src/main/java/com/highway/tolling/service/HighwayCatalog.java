@@ -0,0 +1,160 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.VehicleType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Highway Catalog
+ * Immutable snapshot of all highways, with precomputed bounding boxes and
+ * per-km rates indexed by VehicleType.
+ *
+ * HighwayService builds a new catalog after every change and swaps it in
+ * with a single volatile write, so readers never lock, never query the
+ * database and never see a half-applied change. Highways handed out are
+ * detached copies owned by the snapshot and must not be modified.
+ */
+public final class HighwayCatalog {
+
+    public static final HighwayCatalog EMPTY = new HighwayCatalog(0L, Collections.emptyList());
+
+    private final long version;
+    private final List<Highway> highways;
+    private final Map<Long, Highway> byId;
+    private final Map<String, Highway> byName;
+    private final Map<Long, long[]> ratesById; // highwayId -> paise per km by VehicleType.ordinal()
+    private final Map<Long, double[]> boundsById; // highwayId -> {minLat, maxLat, minLon, maxLon}
+
+    private HighwayCatalog(long version, List<Highway> highways) {
+        this.version = version;
+        this.highways = Collections.unmodifiableList(highways);
+        this.byId = new HashMap<>(highways.size() * 2);
+        this.byName = new HashMap<>(highways.size() * 2);
+        this.ratesById = new HashMap<>(highways.size() * 2);
+        this.boundsById = new HashMap<>(highways.size() * 2);
+        for (Highway highway : highways) {
+            byId.put(highway.getHighwayId(), highway);
+            byName.put(highway.getHighwayName(), highway);
+            ratesById.put(highway.getHighwayId(), buildRates(highway));
+            boundsById.put(highway.getHighwayId(), buildBounds(highway));
+        }
+    }
+
+    /**
+     * Build a catalog from highways loaded from the database
+     *
+     * @param version  version of the snapshot (increases with every change,
+     *                 also across restarts)
+     * @param highways highways to include; copied, so the entities stay free
+     *                 to be modified by their owner
+     */
+    public static HighwayCatalog build(long version, List<Highway> highways) {
+        List<Highway> copies = new ArrayList<>(highways.size());
+        for (Highway highway : highways) {
+            copies.add(copyOf(highway));
+        }
+        copies.sort(Comparator.comparing(Highway::getHighwayId));
+        return new HighwayCatalog(version, copies);
+    }
+
+    /**
+     * Get all highways, ordered by ID
+     */
+    public List<Highway> getAll() {
+        return highways;
+    }
+
+    /**
+     * Get a highway by ID
+     */
+    public Optional<Highway> getById(Long highwayId) {
+        return Optional.ofNullable(byId.get(highwayId));
+    }
+
+    /**
+     * Get a highway by name
+     */
+    public Optional<Highway> getByName(String highwayName) {
+        return Optional.ofNullable(byName.get(highwayName));
+    }
+
+    /**
+     * Get the rate per km of a highway for a vehicle type, in paise
+     *
+     * @throws RuntimeException if the highway is not in the catalog
+     */
+    public long getRatePerKmPaise(Long highwayId, VehicleType vehicleType) {
+        long[] rates = ratesById.get(highwayId);
+        if (rates == null) {
+            throw new RuntimeException("Highway not found with id: " + highwayId);
+        }
+        return rates[vehicleType.ordinal()];
+    }
+
+    /**
+     * Get the bounding box of a highway's geometry
+     *
+     * @return {minLat, maxLat, minLon, maxLon}, or null if the highway is not
+     *         in the catalog (the array must not be modified)
+     */
+    public double[] getBoundingBox(Long highwayId) {
+        return boundsById.get(highwayId);
+    }
+
+    /**
+     * Get the version of this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of highways
+     */
+    public int size() {
+        return highways.size();
+    }
+
+    private static long[] buildRates(Highway highway) {
+        long[] rates = new long[VehicleType.values().length];
+        rates[VehicleType.CAR.ordinal()] = highway.getRatePerKmForCarPaise();
+        rates[VehicleType.BIKE.ordinal()] = highway.getRatePerKmForBikePaise();
+        rates[VehicleType.BUS.ordinal()] = highway.getRatePerKmForTruckPaise(); // Buses pay the truck rate
+        rates[VehicleType.TRUCK.ordinal()] = highway.getRatePerKmForTruckPaise();
+        return rates;
+    }
+
+    private static double[] buildBounds(Highway highway) {
+        double[][] vertices = HighwaySegmentIndex.parseGeometry(highway);
+        double[] bounds = { Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE };
+        for (int i = 0; i < vertices[0].length; i++) {
+            bounds[0] = Math.min(bounds[0], vertices[0][i]);
+            bounds[1] = Math.max(bounds[1], vertices[0][i]);
+            bounds[2] = Math.min(bounds[2], vertices[1][i]);
+            bounds[3] = Math.max(bounds[3], vertices[1][i]);
+        }
+        return bounds;
+    }
+
+    private static Highway copyOf(Highway highway) {
+        Highway copy = new Highway(
+                highway.getHighwayName(),
+                highway.getStartLatitude(),
+                highway.getStartLongitude(),
+                highway.getEndLatitude(),
+                highway.getEndLongitude(),
+                highway.getRatePerKmForCarPaise(),
+                highway.getRatePerKmForBikePaise(),
+                highway.getRatePerKmForTruckPaise());
+        copy.setHighwayId(highway.getHighwayId());
+        copy.setGeometry(highway.getGeometry());
+        return copy;
+    }
+}
@@ -0,0 +1,19 @@
+package com.highway.tolling.service;
+
+/**
+ * Highway Catalog Changed Event
+ * Published by HighwayService after a new highway catalog has been swapped
+ * in, so components holding data derived from highways can refresh it.
+ */
+public class HighwayCatalogChangedEvent {
+
+    private final HighwayCatalog catalog;
+
+    public HighwayCatalogChangedEvent(HighwayCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public HighwayCatalog getCatalog() {
+        return catalog;
+    }
+}
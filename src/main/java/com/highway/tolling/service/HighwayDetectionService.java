@@ -1,64 +1,112 @@
 package com.highway.tolling.service;
 
 import com.highway.tolling.model.Highway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Highway Detection Service
- * Checks whether a vehicle's GPS location lies within a highway's range
- * Uses simple bounding box logic for academic simulation
+ * Checks whether a vehicle's GPS location lies on a highway
+ * Highways are polylines; a location is on a highway when its perpendicular
+ * distance to the nearest segment is within the corridor half-width.
  */
 @Service
 public class HighwayDetectionService {
 
-    // Tolerance in degrees (approximately 5-10 km buffer zone)
-    // 0.05 degrees ≈ 5.5 km at the equator
-    private static final double TOLERANCE_DEGREES = 0.05;
+    private static final Logger logger = LoggerFactory.getLogger(HighwayDetectionService.class);
 
     private final DistanceCalculatorService distanceCalculator;
 
+    // Maximum distance from the highway centreline (highway width plus GPS error)
+    @Value("${app.highway.corridor-half-width-meters:100}")
+    private double corridorHalfWidthMeters;
+
+    // Replaced as a whole on rebuild; lookups never see a partial index
+    private volatile HighwaySegmentIndex segmentIndex = HighwaySegmentIndex.EMPTY;
+
     @Autowired
     public HighwayDetectionService(DistanceCalculatorService distanceCalculator) {
         this.distanceCalculator = distanceCalculator;
     }
 
     /**
-     * Check if a GPS location is within a highway's geographical range
+     * Rebuild the segment index from the current highways
+     * Called by HighwayService at startup and whenever a highway changes.
+     */
+    public void rebuildIndex(List<Highway> highways) {
+        HighwaySegmentIndex index = HighwaySegmentIndex.build(highways, getCorridorKm(), distanceCalculator);
+        segmentIndex = index;
+        logger.info("Highway segment index rebuilt: {} highways, {} segments, {} cells",
+                highways.size(), index.getSegmentCount(), index.getCellCount());
+    }
+
+    /**
+     * Find the highway a GPS location is on
+     * Uses the segment index, so the cost does not grow with the number of
+     * highways.
+     * 
+     * @param vehicleLat Vehicle's current latitude
+     * @param vehicleLon Vehicle's current longitude
+     * @return the nearest segment within the corridor, or null if off-highway
+     */
+    public HighwaySegmentIndex.SegmentMatch matchHighway(double vehicleLat, double vehicleLon) {
+        return segmentIndex.findNearest(vehicleLat, vehicleLon, getCorridorKm(), distanceCalculator);
+    }
+
+    /**
+     * Match a batch of GPS locations to highways (replays, reconciliation)
+     * Works on primitive coordinate arrays instead of one entity at a time.
+     *
+     * @param latitudes  point latitudes
+     * @param longitudes point longitudes
+     * @param count      number of points
+     * @param highwayIds output: highway ID per point, 0 if off-highway
+     * @return number of points on a highway
+     */
+    public int matchHighways(double[] latitudes, double[] longitudes, int count, long[] highwayIds) {
+        return segmentIndex.matchAll(latitudes, longitudes, count, getCorridorKm(), distanceCalculator, highwayIds);
+    }
+
+    /**
+     * Find every highway with a segment within the corridor of a GPS location
+     * (nearest segment per highway)
+     */
+    public List<HighwaySegmentIndex.SegmentMatch> findCandidateHighways(double vehicleLat, double vehicleLon) {
+        return segmentIndex.findCandidates(vehicleLat, vehicleLon, getCorridorKm(), distanceCalculator);
+    }
+
+    /**
+     * Get the chainage (km along the centreline) of the point of a highway
+     * nearest to a GPS location
      * 
-     * This method uses a simple bounding box approach:
-     * 1. Creates a rectangular boundary around the highway (start to end
-     * coordinates)
-     * 2. Adds a tolerance buffer to account for highway width and GPS inaccuracy
-     * 3. Checks if the vehicle's location falls within this expanded boundary
+     * @param highwayId  The highway to project onto
+     * @param vehicleLat Vehicle's latitude
+     * @param vehicleLon Vehicle's longitude
+     * @return chainage in km, or null if the highway is unknown
+     */
+    public Double projectChainage(Long highwayId, double vehicleLat, double vehicleLon) {
+        return segmentIndex.projectChainage(highwayId, vehicleLat, vehicleLon, distanceCalculator);
+    }
+
+    /**
+     * Check if a GPS location is within a highway's corridor
      * 
-     * Note: This is a simplified approach suitable for academic purposes.
-     * Real-world systems would use more complex algorithms (e.g., point-to-line
-     * distance).
+     * Measures the perpendicular distance from the location to every segment of
+     * the highway's centreline and compares the nearest one with the corridor
+     * half-width.
      * 
      * @param vehicleLat Vehicle's current latitude
      * @param vehicleLon Vehicle's current longitude
      * @param highway    The highway to check against
-     * @return true if the vehicle is within the highway range, false otherwise
+     * @return true if the vehicle is within the highway corridor, false otherwise
      */
     public boolean isWithinHighwayRange(double vehicleLat, double vehicleLon, Highway highway) {
-        // Get highway start and end coordinates
-        double startLat = highway.getStartLatitude();
-        double startLon = highway.getStartLongitude();
-        double endLat = highway.getEndLatitude();
-        double endLon = highway.getEndLongitude();
-
-        // Calculate bounding box (min and max coordinates)
-        double minLat = Math.min(startLat, endLat) - TOLERANCE_DEGREES;
-        double maxLat = Math.max(startLat, endLat) + TOLERANCE_DEGREES;
-        double minLon = Math.min(startLon, endLon) - TOLERANCE_DEGREES;
-        double maxLon = Math.max(startLon, endLon) + TOLERANCE_DEGREES;
-
-        // Check if vehicle location is within the bounding box
-        boolean withinBox = (vehicleLat >= minLat && vehicleLat <= maxLat)
-                && (vehicleLon >= minLon && vehicleLon <= maxLon);
-
-        return withinBox;
+        return getDistanceToNearestHighwayPoint(vehicleLat, vehicleLon, highway) <= getCorridorKm();
     }
 
     /**
@@ -87,27 +135,30 @@ public class HighwayDetectionService {
     }
 
     /**
-     * Get the distance of vehicle from the nearest highway point (start or end)
-     * This can be used to verify highway proximity
+     * Get the distance of vehicle from the nearest point of the highway
+     * centreline
      * 
      * @param vehicleLat Vehicle's current latitude
      * @param vehicleLon Vehicle's current longitude
      * @param highway    The highway to check against
-     * @return Distance in kilometers to the nearest highway endpoint
+     * @return Distance in kilometers to the nearest centreline point
      */
     public double getDistanceToNearestHighwayPoint(double vehicleLat, double vehicleLon, Highway highway) {
-        // Calculate distance to start point
-        double distanceToStart = distanceCalculator.calculateDistance(
-                vehicleLat, vehicleLon,
-                highway.getStartLatitude(), highway.getStartLongitude());
-
-        // Calculate distance to end point
-        double distanceToEnd = distanceCalculator.calculateDistance(
-                vehicleLat, vehicleLon,
-                highway.getEndLatitude(), highway.getEndLongitude());
-
-        // Return the shorter distance
-        return Math.min(distanceToStart, distanceToEnd);
+        double[][] vertices = HighwaySegmentIndex.parseGeometry(highway);
+        double nearest = Double.MAX_VALUE;
+        for (int i = 1; i < vertices[0].length; i++) {
+            double distance = distanceCalculator.calculateDistanceToSegment(vehicleLat, vehicleLon,
+                    vertices[0][i - 1], vertices[1][i - 1], vertices[0][i], vertices[1][i]);
+            nearest = Math.min(nearest, distance);
+        }
+        return nearest;
+    }
+
+    /**
+     * Get the corridor half-width in kilometers
+     */
+    public double getCorridorKm() {
+        return corridorHalfWidthMeters / 1000.0;
     }
 
     /**
@@ -0,0 +1,315 @@
+package com.highway.tolling.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Highway Map Matching Service
+ * Decides which highway a vehicle is on when several highway corridors
+ * overlap (interchanges, parallel carriageways) with an online Viterbi over
+ * the hidden states "off-highway" and "on highway h".
+ *
+ * Per ping, for the k highways whose corridor contains the point:
+ * - Emission: Gaussian in the perpendicular distance to the highway, plus a
+ * heading penalty when the direction of travel crosses the segment direction.
+ * Off-highway has a fixed emission equal to a point the configured distance
+ * away from any centreline.
+ * - Transition: staying costs nothing; entering/leaving a highway and
+ * switching highways cost fixed penalties.
+ *
+ * Scores are log probabilities; the decision is the best-scoring state after
+ * the current ping (fixed lag of zero pings). Because every score carries the
+ * transition penalties, a brief nearest-highway flip at an interchange does
+ * not flip the decision. Per-vehicle state is the score of at most k + 1
+ * states, and each ping costs O(k).
+ */
+@Service
+public class HighwayMapMatchingService {
+
+    private static final long OFF_HIGHWAY = 0L;
+
+    private final HighwayDetectionService highwayDetectionService;
+
+    private final ConcurrentHashMap<Long, MatchState> states = new ConcurrentHashMap<>();
+    private final AtomicLong decisions = new AtomicLong();
+    private final AtomicLong decidedSwitches = new AtomicLong();
+    private final AtomicLong overriddenNearest = new AtomicLong();
+
+    @Value("${app.highway.matching.enabled:true}")
+    private boolean matchingEnabled;
+
+    // Standard deviation of GPS position error
+    @Value("${app.highway.matching.gps-sigma-meters:20}")
+    private double gpsSigmaMeters;
+
+    // Off-highway is as likely as being on a highway this far from its centreline
+    @Value("${app.highway.matching.off-highway-meters:100}")
+    private double offHighwayMeters;
+
+    // Log-probability penalties of the transitions
+    @Value("${app.highway.matching.switch-penalty:6.0}")
+    private double switchPenalty;
+
+    @Value("${app.highway.matching.entry-exit-penalty:2.0}")
+    private double entryExitPenalty;
+
+    // Log-probability penalty for travelling perpendicular to a segment
+    @Value("${app.highway.matching.heading-weight:3.0}")
+    private double headingWeight;
+
+    // Heading is only trusted when the vehicle moved at least this far
+    @Value("${app.highway.matching.min-heading-meters:20}")
+    private double minHeadingMeters;
+
+    // Longer gaps start the vehicle's matching afresh
+    @Value("${app.highway.matching.reset-after-seconds:600}")
+    private long resetAfterSeconds;
+
+    @Autowired
+    public HighwayMapMatchingService(HighwayDetectionService highwayDetectionService) {
+        this.highwayDetectionService = highwayDetectionService;
+    }
+
+    /**
+     * Match a GPS ping to a highway
+     *
+     * @param vehicleId The vehicle ID
+     * @param latitude  Ping latitude
+     * @param longitude Ping longitude
+     * @param timestamp Ping timestamp
+     * @return the segment of the decided highway, or null if off-highway
+     */
+    public HighwaySegmentIndex.SegmentMatch match(Long vehicleId, double latitude, double longitude,
+            LocalDateTime timestamp) {
+        List<HighwaySegmentIndex.SegmentMatch> candidates = highwayDetectionService
+                .findCandidateHighways(latitude, longitude);
+        if (!matchingEnabled) {
+            return nearest(candidates);
+        }
+
+        HighwaySegmentIndex.SegmentMatch[] decided = new HighwaySegmentIndex.SegmentMatch[1];
+        states.compute(vehicleId, (id, state) -> {
+            if (state == null || state.isStale(timestamp, resetAfterSeconds)) {
+                state = new MatchState();
+            }
+            decided[0] = step(state, candidates, latitude, longitude, timestamp);
+            return state;
+        });
+
+        HighwaySegmentIndex.SegmentMatch nearest = nearest(candidates);
+        if (nearest != decided[0]) {
+            overriddenNearest.incrementAndGet();
+        }
+        decisions.incrementAndGet();
+        return decided[0];
+    }
+
+    /**
+     * Forget a vehicle's matching state (e.g. after its session was closed
+     * externally)
+     */
+    public void reset(Long vehicleId) {
+        states.remove(vehicleId);
+    }
+
+    /**
+     * Get map-matching statistics since startup
+     */
+    public MatchingStats getStats() {
+        return new MatchingStats(states.size(), decisions.get(), decidedSwitches.get(), overriddenNearest.get());
+    }
+
+    /**
+     * One Viterbi step: score every candidate state from the previous scores,
+     * then decide on the best one
+     */
+    private HighwaySegmentIndex.SegmentMatch step(MatchState state, List<HighwaySegmentIndex.SegmentMatch> candidates,
+            double latitude, double longitude, LocalDateTime timestamp) {
+        double motionBearing = state.motionBearing(latitude, longitude, minHeadingMeters);
+
+        // Best and second-best previous on-highway states, so the best
+        // predecessor of each candidate is found in O(1)
+        int best = -1;
+        int second = -1;
+        for (int i = 0; i < state.size; i++) {
+            if (best < 0 || state.scores[i] > state.scores[best]) {
+                second = best;
+                best = i;
+            } else if (second < 0 || state.scores[i] > state.scores[second]) {
+                second = i;
+            }
+        }
+
+        int k = candidates.size();
+        long[] nextIds = new long[k];
+        double[] nextScores = new double[k];
+        double sigmaKm = gpsSigmaMeters / 1000.0;
+
+        for (int j = 0; j < k; j++) {
+            HighwaySegmentIndex.SegmentMatch candidate = candidates.get(j);
+            long highwayId = candidate.getHighway().getHighwayId();
+
+            double z = candidate.getDistanceKm() / sigmaKm;
+            double emission = -0.5 * z * z;
+            if (!Double.isNaN(motionBearing)) {
+                double delta = Math.toRadians(motionBearing - candidate.getBearingDegrees());
+                emission -= headingWeight * (1.0 - Math.abs(Math.cos(delta))); // Either direction of travel
+            }
+
+            double predecessor = state.offScore - entryExitPenalty;
+            int self = state.indexOf(highwayId);
+            if (self >= 0) {
+                predecessor = Math.max(predecessor, state.scores[self]);
+            }
+            int other = best != self ? best : second;
+            if (other >= 0) {
+                predecessor = Math.max(predecessor, state.scores[other] - switchPenalty);
+            }
+
+            nextIds[j] = highwayId;
+            nextScores[j] = predecessor + emission;
+        }
+
+        double offZ = offHighwayMeters / gpsSigmaMeters;
+        double offPredecessor = best >= 0 ? Math.max(state.offScore, state.scores[best] - entryExitPenalty)
+                : state.offScore;
+        double nextOffScore = offPredecessor - 0.5 * offZ * offZ;
+
+        // Decide, then normalise so the scores stay bounded
+        int decided = -1;
+        double top = nextOffScore;
+        for (int j = 0; j < k; j++) {
+            if (nextScores[j] > top) {
+                top = nextScores[j];
+                decided = j;
+            }
+        }
+        for (int j = 0; j < k; j++) {
+            nextScores[j] -= top;
+        }
+
+        long decidedId = decided >= 0 ? nextIds[decided] : OFF_HIGHWAY;
+        if (state.decidedId != OFF_HIGHWAY && decidedId != OFF_HIGHWAY && decidedId != state.decidedId) {
+            decidedSwitches.incrementAndGet();
+        }
+
+        state.ids = nextIds;
+        state.scores = nextScores;
+        state.size = k;
+        state.offScore = nextOffScore - top;
+        state.decidedId = decidedId;
+        state.lastLatitude = latitude;
+        state.lastLongitude = longitude;
+        state.lastTimestamp = timestamp;
+
+        return decided >= 0 ? candidates.get(decided) : null;
+    }
+
+    private static HighwaySegmentIndex.SegmentMatch nearest(List<HighwaySegmentIndex.SegmentMatch> candidates) {
+        HighwaySegmentIndex.SegmentMatch nearest = null;
+        for (HighwaySegmentIndex.SegmentMatch candidate : candidates) {
+            if (nearest == null || candidate.getDistanceKm() < nearest.getDistanceKm()) {
+                nearest = candidate;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Viterbi scores of one vehicle (log probabilities relative to the best
+     * state)
+     */
+    private static class MatchState {
+        private long[] ids = new long[0];
+        private double[] scores = new double[0];
+        private int size;
+        private double offScore;
+        private long decidedId = OFF_HIGHWAY;
+        private double lastLatitude = Double.NaN;
+        private double lastLongitude = Double.NaN;
+        private LocalDateTime lastTimestamp;
+
+        int indexOf(long highwayId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == highwayId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean isStale(LocalDateTime timestamp, long resetAfterSeconds) {
+            return lastTimestamp != null
+                    && Math.abs(Duration.between(lastTimestamp, timestamp).getSeconds()) > resetAfterSeconds;
+        }
+
+        /**
+         * Direction of travel since the previous ping in degrees, NaN if unknown
+         * or the vehicle barely moved
+         */
+        double motionBearing(double latitude, double longitude, double minMeters) {
+            if (Double.isNaN(lastLatitude)) {
+                return Double.NaN;
+            }
+            double cosLat = Math.cos(Math.toRadians((lastLatitude + latitude) / 2));
+            double dx = (longitude - lastLongitude) * cosLat;
+            double dy = latitude - lastLatitude;
+            double meters = Math.sqrt(dx * dx + dy * dy) * 111_320.0;
+            if (meters < minMeters) {
+                return Double.NaN;
+            }
+            return (Math.toDegrees(Math.atan2(dx, dy)) + 360.0) % 360.0;
+        }
+    }
+
+    /**
+     * Inner class for map-matching statistics
+     */
+    public static class MatchingStats {
+        private final int trackedVehicles;
+        private final long decisions;
+        private final long highwaySwitches;
+        private final long overriddenNearest;
+
+        public MatchingStats(int trackedVehicles, long decisions, long highwaySwitches, long overriddenNearest) {
+            this.trackedVehicles = trackedVehicles;
+            this.decisions = decisions;
+            this.highwaySwitches = highwaySwitches;
+            this.overriddenNearest = overriddenNearest;
+        }
+
+        // Getters
+        public int getTrackedVehicles() {
+            return trackedVehicles;
+        }
+
+        public long getDecisions() {
+            return decisions;
+        }
+
+        public long getHighwaySwitches() {
+            return highwaySwitches;
+        }
+
+        public long getOverriddenNearest() {
+            return overriddenNearest;
+        }
+
+        @Override
+        public String toString() {
+            return "MatchingStats{" +
+                    "trackedVehicles=" + trackedVehicles +
+                    ", decisions=" + decisions +
+                    ", highwaySwitches=" + highwaySwitches +
+                    ", overriddenNearest=" + overriddenNearest +
+                    '}';
+        }
+    }
+}
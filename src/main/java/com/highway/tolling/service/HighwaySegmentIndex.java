@@ -0,0 +1,423 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Highway;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Highway Segment Index
+ * Immutable spatial index over the polyline segments of all highways.
+ *
+ * Every segment is registered in the cells of a uniform lat/lon grid that its
+ * corridor touches, so a lookup only measures the few segments registered in
+ * the ping's cell - constant work per ping regardless of network size.
+ * Rebuilt as a whole when highways change (see HighwayDetectionService).
+ *
+ * Each segment also carries its chainage: the distance along the highway
+ * centreline from the first vertex to the segment start, in km.
+ */
+public final class HighwaySegmentIndex {
+
+    // Grid cell size in degrees (≈ 2.2 km of latitude)
+    private static final double CELL_DEGREES = 0.02;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int[] NO_SEGMENTS = new int[0];
+
+    public static final HighwaySegmentIndex EMPTY = new HighwaySegmentIndex(new Highway[0], new double[0],
+            new double[0], new double[0], new double[0], new double[0], new double[0], new HashMap<>(),
+            new HashMap<>());
+
+    private final Highway[] segmentHighway;
+    private final double[] startLat;
+    private final double[] startLon;
+    private final double[] endLat;
+    private final double[] endLon;
+    private final double[] chainageStart; // km along the highway at the segment start
+    private final double[] segmentLength; // km
+    private final Map<Long, int[]> cells;
+    private final Map<Long, int[]> highwaySegments; // highwayId -> {first, last + 1}
+    private final double[] extent; // minLat, maxLat, minLon, maxLon of all segments
+
+    private HighwaySegmentIndex(Highway[] segmentHighway, double[] startLat, double[] startLon,
+            double[] endLat, double[] endLon, double[] chainageStart, double[] segmentLength,
+            Map<Long, int[]> cells, Map<Long, int[]> highwaySegments) {
+        this.segmentHighway = segmentHighway;
+        this.startLat = startLat;
+        this.startLon = startLon;
+        this.endLat = endLat;
+        this.endLon = endLon;
+        this.chainageStart = chainageStart;
+        this.segmentLength = segmentLength;
+        this.cells = cells;
+        this.highwaySegments = highwaySegments;
+        this.extent = computeExtent(startLat, startLon, endLat, endLon);
+    }
+
+    /**
+     * Build an index over the geometry of the given highways
+     *
+     * @param highways   highways to index
+     * @param corridorKm maximum distance from the centreline that lookups will
+     *                   use
+     * @param calculator distance kernel for segment lengths
+     */
+    public static HighwaySegmentIndex build(List<Highway> highways, double corridorKm,
+            DistanceCalculatorService calculator) {
+        List<Highway> owners = new ArrayList<>();
+        List<double[]> segments = new ArrayList<>();
+        Map<Long, int[]> highwaySegments = new HashMap<>();
+        for (Highway highway : highways) {
+            double[][] vertices = parseGeometry(highway);
+            int first = segments.size();
+            for (int i = 1; i < vertices[0].length; i++) {
+                owners.add(highway);
+                segments.add(new double[] { vertices[0][i - 1], vertices[1][i - 1], vertices[0][i], vertices[1][i] });
+            }
+            highwaySegments.put(highway.getHighwayId(), new int[] { first, segments.size() });
+        }
+
+        int n = segments.size();
+        double[] startLat = new double[n];
+        double[] startLon = new double[n];
+        double[] endLat = new double[n];
+        double[] endLon = new double[n];
+        double[] chainageStart = new double[n];
+        double[] segmentLength = new double[n];
+        Map<Long, List<Integer>> building = new HashMap<>();
+
+        for (int s = 0; s < n; s++) {
+            double[] segment = segments.get(s);
+            startLat[s] = segment[0];
+            startLon[s] = segment[1];
+            endLat[s] = segment[2];
+            endLon[s] = segment[3];
+            segmentLength[s] = calculator.calculateDistance(segment[0], segment[1], segment[2], segment[3]);
+            boolean continuesHighway = s > 0 && owners.get(s - 1) == owners.get(s);
+            chainageStart[s] = continuesHighway ? chainageStart[s - 1] + segmentLength[s - 1] : 0.0;
+            registerSegment(building, s, segment, corridorKm);
+        }
+
+        Map<Long, int[]> cells = new HashMap<>(building.size() * 2);
+        building.forEach((key, list) -> cells.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new HighwaySegmentIndex(owners.toArray(new Highway[0]), startLat, startLon, endLat, endLon,
+                chainageStart, segmentLength, cells, highwaySegments);
+    }
+
+    /**
+     * Find the nearest segment within a maximum distance of a point
+     *
+     * @param latitude   point latitude
+     * @param longitude  point longitude
+     * @param maxKm      maximum perpendicular distance (at most the corridor
+     *                   the index was built with)
+     * @param calculator distance kernel
+     * @return the nearest segment, or null if none is within maxKm
+     */
+    public SegmentMatch findNearest(double latitude, double longitude, double maxKm,
+            DistanceCalculatorService calculator) {
+        SegmentMatch best = null;
+        for (int s : candidates(latitude, longitude)) {
+            double distance = calculator.calculateDistanceToSegment(latitude, longitude,
+                    startLat[s], startLon[s], endLat[s], endLon[s]);
+            if (distance <= maxKm && (best == null || distance < best.getDistanceKm())) {
+                best = new SegmentMatch(segmentHighway[s], s, distance,
+                        chainageAt(s, latitude, longitude, calculator), segmentBearing(s));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Match an array of points to highways in one pass
+     * Points outside the padded extent of the whole network are rejected by a
+     * plain bounding-box test over the coordinate arrays before any cell
+     * lookup.
+     *
+     * @param latitudes  point latitudes
+     * @param longitudes point longitudes
+     * @param count      number of points to match
+     * @param maxKm      maximum perpendicular distance
+     * @param calculator distance kernel
+     * @param highwayIds output: highway ID of the nearest segment, 0 if none
+     * @return number of points on a highway
+     */
+    public int matchAll(double[] latitudes, double[] longitudes, int count, double maxKm,
+            DistanceCalculatorService calculator, long[] highwayIds) {
+        double latPad = maxKm / KM_PER_DEGREE;
+        double maxAbsLat = Math.max(Math.abs(extent[0]), Math.abs(extent[1]));
+        double lonPad = maxKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(maxAbsLat)), 0.01));
+        double minLat = extent[0] - latPad;
+        double maxLat = extent[1] + latPad;
+        double minLon = extent[2] - lonPad;
+        double maxLon = extent[3] + lonPad;
+
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            double lat = latitudes[i];
+            double lon = longitudes[i];
+            highwayIds[i] = 0L;
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                continue;
+            }
+            int best = -1;
+            double bestDistance = maxKm;
+            for (int s : candidates(lat, lon)) {
+                double distance = calculator.calculateDistanceToSegment(lat, lon,
+                        startLat[s], startLon[s], endLat[s], endLon[s]);
+                // Ties keep the first segment, as findNearest does (shared stretches)
+                if (best < 0 ? distance <= maxKm : distance < bestDistance) {
+                    bestDistance = distance;
+                    best = s;
+                }
+            }
+            if (best >= 0) {
+                highwayIds[i] = segmentHighway[best].getHighwayId();
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Find the nearest segment of every highway within a maximum distance
+     * Used by map matching, which decides between overlapping highways.
+     *
+     * @return one match per highway (k = highways near the point)
+     */
+    public List<SegmentMatch> findCandidates(double latitude, double longitude, double maxKm,
+            DistanceCalculatorService calculator) {
+        List<SegmentMatch> matches = new ArrayList<>(2);
+        for (int s : candidates(latitude, longitude)) {
+            double distance = calculator.calculateDistanceToSegment(latitude, longitude,
+                    startLat[s], startLon[s], endLat[s], endLon[s]);
+            if (distance > maxKm) {
+                continue;
+            }
+
+            int existing = -1;
+            for (int i = 0; i < matches.size(); i++) {
+                if (matches.get(i).getHighway() == segmentHighway[s]) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing >= 0 && matches.get(existing).getDistanceKm() <= distance) {
+                continue;
+            }
+
+            SegmentMatch match = new SegmentMatch(segmentHighway[s], s, distance,
+                    chainageAt(s, latitude, longitude, calculator), segmentBearing(s));
+            if (existing >= 0) {
+                matches.set(existing, match);
+            } else {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Direction of a segment (start to end) in degrees clockwise from north
+     */
+    private double segmentBearing(int segment) {
+        double cosLat = Math.cos(Math.toRadians((startLat[segment] + endLat[segment]) / 2));
+        double dx = (endLon[segment] - startLon[segment]) * cosLat;
+        double dy = endLat[segment] - startLat[segment];
+        return (Math.toDegrees(Math.atan2(dx, dy)) + 360.0) % 360.0;
+    }
+
+    /**
+     * Project a point onto the centreline of one highway (no corridor limit)
+     * Used for the exit chainage, where the point may already be off the
+     * highway.
+     *
+     * @return chainage of the nearest centreline point in km, or null if the
+     *         highway is not indexed
+     */
+    public Double projectChainage(Long highwayId, double latitude, double longitude,
+            DistanceCalculatorService calculator) {
+        int[] range = highwaySegments.get(highwayId);
+        if (range == null || range[0] == range[1]) {
+            return null;
+        }
+
+        int nearest = range[0];
+        double nearestDistance = Double.MAX_VALUE;
+        for (int s = range[0]; s < range[1]; s++) {
+            double distance = calculator.calculateDistanceToSegment(latitude, longitude,
+                    startLat[s], startLon[s], endLat[s], endLon[s]);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = s;
+            }
+        }
+        return chainageAt(nearest, latitude, longitude, calculator);
+    }
+
+    private double chainageAt(int s, double latitude, double longitude, DistanceCalculatorService calculator) {
+        double fraction = calculator.calculateSegmentFraction(latitude, longitude,
+                startLat[s], startLon[s], endLat[s], endLon[s]);
+        return chainageStart[s] + fraction * segmentLength[s];
+    }
+
+    /**
+     * Segments registered in the grid cell of a point
+     */
+    public int[] candidates(double latitude, double longitude) {
+        return cells.getOrDefault(cellKey(cellOf(latitude), cellOf(longitude)), NO_SEGMENTS);
+    }
+
+    public int getSegmentCount() {
+        return segmentHighway.length;
+    }
+
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Parse the vertices of a highway
+     * Geometry is "lat,lon;lat,lon;..." in driving order. Highways without
+     * geometry are a straight line from start to end.
+     *
+     * @return {latitudes, longitudes}
+     * @throws IllegalArgumentException if the geometry is malformed
+     */
+    public static double[][] parseGeometry(Highway highway) {
+        String geometry = highway.getGeometry();
+        if (geometry == null || geometry.isBlank()) {
+            return new double[][] {
+                    { highway.getStartLatitude(), highway.getEndLatitude() },
+                    { highway.getStartLongitude(), highway.getEndLongitude() } };
+        }
+
+        String[] points = geometry.trim().split(";");
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Highway geometry needs at least two vertices");
+        }
+
+        double[][] vertices = new double[2][points.length];
+        for (int i = 0; i < points.length; i++) {
+            String[] coordinates = points[i].trim().split(",");
+            if (coordinates.length != 2) {
+                throw new IllegalArgumentException("Invalid highway geometry vertex: " + points[i]);
+            }
+            double lat = Double.parseDouble(coordinates[0].trim());
+            double lon = Double.parseDouble(coordinates[1].trim());
+            if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+                throw new IllegalArgumentException("Highway geometry vertex out of range: " + points[i]);
+            }
+            vertices[0][i] = lat;
+            vertices[1][i] = lon;
+        }
+        return vertices;
+    }
+
+    /**
+     * Register a segment in every cell its corridor overlaps
+     * The segment is sampled at most half a cell apart; each sample registers
+     * the cells within the corridor plus a quarter cell (the largest per-axis
+     * gap between samples).
+     */
+    private static void registerSegment(Map<Long, List<Integer>> building, int s, double[] segment,
+            double corridorKm) {
+        double maxAbsLat = Math.max(Math.abs(segment[0]), Math.abs(segment[2]));
+        double cosLat = Math.max(Math.cos(Math.toRadians(maxAbsLat)), 0.01);
+        double latPad = corridorKm / KM_PER_DEGREE + CELL_DEGREES / 4;
+        double lonPad = corridorKm / (KM_PER_DEGREE * cosLat) + CELL_DEGREES / 4;
+
+        double dLat = segment[2] - segment[0];
+        double dLon = segment[3] - segment[1];
+        int steps = Math.max(1, (int) Math.ceil(Math.max(Math.abs(dLat), Math.abs(dLon)) / (CELL_DEGREES / 2)));
+
+        for (int i = 0; i <= steps; i++) {
+            double lat = segment[0] + dLat * i / steps;
+            double lon = segment[1] + dLon * i / steps;
+            for (int row = cellOf(lat - latPad); row <= cellOf(lat + latPad); row++) {
+                for (int col = cellOf(lon - lonPad); col <= cellOf(lon + lonPad); col++) {
+                    List<Integer> list = building.computeIfAbsent(cellKey(row, col), key -> new ArrayList<>(2));
+                    // Segments are registered one after another, so a repeat is always last
+                    if (list.isEmpty() || list.get(list.size() - 1) != s) {
+                        list.add(s);
+                    }
+                }
+            }
+        }
+    }
+
+    private static double[] computeExtent(double[] startLat, double[] startLon, double[] endLat,
+            double[] endLon) {
+        // Empty index: an inverted box that contains nothing
+        double[] extent = { Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE };
+        for (int s = 0; s < startLat.length; s++) {
+            extent[0] = Math.min(extent[0], Math.min(startLat[s], endLat[s]));
+            extent[1] = Math.max(extent[1], Math.max(startLat[s], endLat[s]));
+            extent[2] = Math.min(extent[2], Math.min(startLon[s], endLon[s]));
+            extent[3] = Math.max(extent[3], Math.max(startLon[s], endLon[s]));
+        }
+        return extent;
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Inner class holding the nearest segment of a lookup
+     */
+    public static class SegmentMatch {
+        private final Highway highway;
+        private final int segment;
+        private final double distanceKm;
+        private final double chainageKm;
+        private final double bearingDegrees;
+
+        public SegmentMatch(Highway highway, int segment, double distanceKm, double chainageKm,
+                double bearingDegrees) {
+            this.highway = highway;
+            this.segment = segment;
+            this.distanceKm = distanceKm;
+            this.chainageKm = chainageKm;
+            this.bearingDegrees = bearingDegrees;
+        }
+
+        // Getters
+        public Highway getHighway() {
+            return highway;
+        }
+
+        public int getSegment() {
+            return segment;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public double getChainageKm() {
+            return chainageKm;
+        }
+
+        public double getBearingDegrees() {
+            return bearingDegrees;
+        }
+
+        @Override
+        public String toString() {
+            return "SegmentMatch{" +
+                    "highwayId=" + highway.getHighwayId() +
+                    ", segment=" + segment +
+                    ", distanceKm=" + distanceKm +
+                    ", chainageKm=" + chainageKm +
+                    '}';
+        }
+    }
+}
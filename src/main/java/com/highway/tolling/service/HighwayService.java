@@ -1,25 +1,90 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.TollRate;
+import com.highway.tolling.model.VehicleType;
 import com.highway.tolling.repository.HighwayRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Highway Service Class
  * Contains business logic for highway operations
+ * Reads are served from an immutable HighwayCatalog snapshot; writes go to
+ * the database and then swap in a new snapshot.
  */
 @Service
-public class HighwayService {
+public class HighwayService implements SmartInitializingSingleton {
 
     private final HighwayRepository highwayRepository;
+    private final HighwayDetectionService highwayDetectionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TollRateService tollRateService;
+
+    // Replaced as a whole on every change; readers never lock
+    private volatile HighwayCatalog catalog = HighwayCatalog.EMPTY;
 
     @Autowired
-    public HighwayService(HighwayRepository highwayRepository) {
+    public HighwayService(HighwayRepository highwayRepository,
+            HighwayDetectionService highwayDetectionService,
+            ApplicationEventPublisher eventPublisher,
+            TollRateService tollRateService) {
         this.highwayRepository = highwayRepository;
+        this.highwayDetectionService = highwayDetectionService;
+        this.eventPublisher = eventPublisher;
+        this.tollRateService = tollRateService;
+    }
+
+    /**
+     * Load the catalog once all beans exist, before the web server starts
+     * accepting requests; the change event loads the rate table, gantry
+     * index and pricing schedule along with it
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reloadCatalog();
+    }
+
+    /**
+     * Reload the highway catalog and rebuild the segment index used for GPS
+     * matching
+     * Runs at startup and after every highway change; call it after editing
+     * the highways table directly.
+     */
+    public synchronized void reloadCatalog() {
+        // Clock-based so versions keep increasing across restarts
+        long version = Math.max(catalog.getVersion() + 1, System.currentTimeMillis());
+        HighwayCatalog reloaded = HighwayCatalog.build(version, highwayRepository.findAll());
+        highwayDetectionService.rebuildIndex(reloaded.getAll());
+        catalog = reloaded;
+        eventPublisher.publishEvent(new HighwayCatalogChangedEvent(reloaded));
+    }
+
+    /**
+     * Get the current highway catalog snapshot
+     */
+    public HighwayCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Get the rate per km of a highway for a vehicle type as of the last edit,
+     * in paise (from the catalog; pricing uses the time-effective rates of
+     * TollRateService)
+     *
+     * @throws RuntimeException if the highway does not exist
+     */
+    public long getRatePerKmPaise(Long highwayId, VehicleType vehicleType) {
+        return catalog.getRatePerKmPaise(highwayId, vehicleType);
     }
 
     /**
@@ -33,40 +98,58 @@ public class HighwayService {
         if (highwayRepository.existsByHighwayName(highway.getHighwayName())) {
             throw new RuntimeException("Highway with name " + highway.getHighwayName() + " already exists");
         }
-        return highwayRepository.save(highway);
+        validateGeometry(highway);
+        Highway savedHighway = highwayRepository.save(highway);
+        reloadCatalog();
+        return savedHighway;
     }
 
     /**
      * Get all highways
      * 
-     * @return list of all highways
+     * @return list of all highways, ordered by ID (read-only)
      */
     public List<Highway> getAllHighways() {
-        return highwayRepository.findAll();
+        return catalog.getAll();
+    }
+
+    /**
+     * Get one page of highways, ordered by ID
+     * 
+     * @param cursor cursor from the previous page (null for the first page)
+     * @param limit  page size
+     * @return page of highways
+     */
+    public PageResponse<Highway> getHighwaysPage(String cursor, int limit) {
+        List<Highway> highways = highwayRepository.findByHighwayIdGreaterThanOrderByHighwayIdAsc(
+                PageCursor.decodeId(cursor), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(highways, limit, highway -> PageCursor.encode(highway.getHighwayId()));
     }
 
     /**
      * Get a highway by ID
      * 
      * @param highwayId the highway ID
-     * @return Optional containing the highway if found
+     * @return Optional containing the highway if found (read-only)
      */
     public Optional<Highway> getHighwayById(Long highwayId) {
-        return highwayRepository.findById(highwayId);
+        return catalog.getById(highwayId);
     }
 
     /**
      * Get a highway by name
      * 
      * @param highwayName the highway name
-     * @return Optional containing the highway if found
+     * @return Optional containing the highway if found (read-only)
      */
     public Optional<Highway> getHighwayByName(String highwayName) {
-        return highwayRepository.findByHighwayName(highwayName);
+        return catalog.getByName(highwayName);
     }
 
     /**
      * Update highway information
+     * Changed rates are appended to the rate history, effective immediately;
+     * sessions that entered before keep their rate.
      * 
      * @param highwayId      the highway ID
      * @param updatedHighway the updated highway data
@@ -75,17 +158,47 @@ public class HighwayService {
     public Highway updateHighway(Long highwayId, Highway updatedHighway) {
         Highway highway = highwayRepository.findById(highwayId)
                 .orElseThrow(() -> new RuntimeException("Highway not found with id: " + highwayId));
+        Highway before = catalog.getById(highwayId).orElse(null);
 
         highway.setHighwayName(updatedHighway.getHighwayName());
         highway.setStartLatitude(updatedHighway.getStartLatitude());
         highway.setStartLongitude(updatedHighway.getStartLongitude());
         highway.setEndLatitude(updatedHighway.getEndLatitude());
         highway.setEndLongitude(updatedHighway.getEndLongitude());
-        highway.setRatePerKmForCar(updatedHighway.getRatePerKmForCar());
-        highway.setRatePerKmForBike(updatedHighway.getRatePerKmForBike());
-        highway.setRatePerKmForTruck(updatedHighway.getRatePerKmForTruck());
+        highway.setRatePerKmForCarPaise(updatedHighway.getRatePerKmForCarPaise());
+        highway.setRatePerKmForBikePaise(updatedHighway.getRatePerKmForBikePaise());
+        highway.setRatePerKmForTruckPaise(updatedHighway.getRatePerKmForTruckPaise());
+        highway.setGeometry(updatedHighway.getGeometry());
+        validateGeometry(highway);
+
+        Highway savedHighway = highwayRepository.save(highway);
+        if (before != null) {
+            tollRateService.recordRateChanges(before, savedHighway, LocalDateTime.now());
+        }
+        reloadCatalog();
+        return savedHighway;
+    }
 
-        return highwayRepository.save(highway);
+    /**
+     * Get the rate history of a highway
+     */
+    public List<TollRate> getRateHistory(Long highwayId) {
+        return tollRateService.getRateHistory(highwayId);
+    }
+
+    /**
+     * Schedule a rate change for one vehicle type of a highway
+     * 
+     * @param highwayId the highway ID
+     * @param rate      vehicle type, rate per km and effective time
+     * @return the saved rate version
+     */
+    public TollRate scheduleRate(Long highwayId, TollRate rate) {
+        if (catalog.getById(highwayId).isEmpty()) {
+            throw new RuntimeException("Highway not found with id: " + highwayId);
+        }
+        rate.setHighwayId(highwayId);
+        return tollRateService.scheduleRate(rate);
     }
 
     /**
@@ -98,5 +211,17 @@ public class HighwayService {
             throw new RuntimeException("Highway not found with id: " + highwayId);
         }
         highwayRepository.deleteById(highwayId);
+        reloadCatalog();
+    }
+
+    /**
+     * Reject geometry that cannot be parsed into at least two vertices
+     */
+    private void validateGeometry(Highway highway) {
+        try {
+            HighwaySegmentIndex.parseGeometry(highway);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid highway geometry: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,243 @@
+package com.highway.tolling.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Highway Session Hysteresis Service
+ * Debounces highway entry, exit and switch decisions so a vehicle driving
+ * along the edge of a corridor does not open and close a session on every
+ * ping.
+ *
+ * A matched highway state that differs from the vehicle's committed state is
+ * held as pending. It is committed once it has been seen for the configured
+ * number of consecutive pings or the vehicle has travelled the configured
+ * distance in it; any ping that disagrees with the pending state abandons it.
+ * A committed transition is dated back to the first pending ping, so
+ * session entry and exit times are unaffected by the delay.
+ */
+@Service
+public class HighwaySessionHysteresisService {
+
+    private final ConcurrentHashMap<Long, HysteresisState> states = new ConcurrentHashMap<>();
+    private final AtomicLong committedTransitions = new AtomicLong();
+    private final AtomicLong suppressedTransitions = new AtomicLong();
+
+    @Value("${app.highway.hysteresis.enabled:true}")
+    private boolean hysteresisEnabled;
+
+    // Pings in the new state needed to commit a transition
+    @Value("${app.highway.hysteresis.pings:3}")
+    private int requiredPings;
+
+    // Distance travelled in the new state that also commits a transition
+    @Value("${app.highway.hysteresis.meters:150}")
+    private double requiredMeters;
+
+    /**
+     * Decide the effective highway state of a ping
+     *
+     * @param vehicleId         The vehicle ID
+     * @param previousHighwayId Highway of the vehicle's last accepted point
+     *                          (null if off-highway or no previous point)
+     * @param match             Map-matched highway of this ping (null if
+     *                          off-highway)
+     * @param latitude          Ping latitude
+     * @param longitude         Ping longitude
+     * @param timestamp         Ping timestamp
+     * @param distanceKm        Distance from the previous point
+     * @return the effective state, and the point a committed transition started at
+     */
+    public HysteresisDecision apply(Long vehicleId, Long previousHighwayId, HighwaySegmentIndex.SegmentMatch match,
+            double latitude, double longitude, LocalDateTime timestamp, double distanceKm) {
+        Long matchedId = match != null ? match.getHighway().getHighwayId() : null;
+        if (!hysteresisEnabled) {
+            states.remove(vehicleId);
+            return new HysteresisDecision(matchedId, match, latitude, longitude, timestamp);
+        }
+
+        HysteresisDecision[] decision = new HysteresisDecision[1];
+        states.compute(vehicleId, (id, state) -> {
+            // (Re)start from the stored state, e.g. after a restart
+            if (state == null || !Objects.equals(state.committedId, previousHighwayId)) {
+                state = new HysteresisState(previousHighwayId);
+            }
+            decision[0] = step(state, matchedId, match, latitude, longitude, timestamp, distanceKm);
+            return state;
+        });
+        return decision[0];
+    }
+
+    /**
+     * Forget a vehicle's pending transition
+     */
+    public void reset(Long vehicleId) {
+        states.remove(vehicleId);
+    }
+
+    /**
+     * Get hysteresis statistics since startup
+     */
+    public HysteresisStats getStats() {
+        int pending = 0;
+        for (HysteresisState state : states.values()) {
+            if (state.pendingPings > 0) {
+                pending++;
+            }
+        }
+        return new HysteresisStats(committedTransitions.get(), suppressedTransitions.get(), pending);
+    }
+
+    private HysteresisDecision step(HysteresisState state, Long matchedId, HighwaySegmentIndex.SegmentMatch match,
+            double latitude, double longitude, LocalDateTime timestamp, double distanceKm) {
+        if (Objects.equals(matchedId, state.committedId)) {
+            // Back in the committed state - a pending transition was a flap
+            if (state.pendingPings > 0) {
+                suppressedTransitions.incrementAndGet();
+                state.clearPending();
+            }
+            return new HysteresisDecision(matchedId, match, latitude, longitude, timestamp);
+        }
+
+        if (state.pendingPings == 0 || !Objects.equals(matchedId, state.pendingId)) {
+            if (state.pendingPings > 0) {
+                suppressedTransitions.incrementAndGet();
+            }
+            state.pendingId = matchedId;
+            state.pendingMatch = match;
+            state.pendingLatitude = latitude;
+            state.pendingLongitude = longitude;
+            state.pendingTimestamp = timestamp;
+            state.pendingPings = 0;
+            state.pendingKm = 0.0;
+        } else {
+            state.pendingKm += distanceKm;
+        }
+        state.pendingPings++;
+
+        if (state.pendingPings < requiredPings && state.pendingKm * 1000.0 < requiredMeters) {
+            // Not yet - keep reporting the committed state
+            return new HysteresisDecision(state.committedId, null, latitude, longitude, timestamp);
+        }
+
+        HysteresisDecision decision = new HysteresisDecision(matchedId, state.pendingMatch,
+                state.pendingLatitude, state.pendingLongitude, state.pendingTimestamp);
+        state.committedId = matchedId;
+        state.clearPending();
+        committedTransitions.incrementAndGet();
+        return decision;
+    }
+
+    /**
+     * Committed and pending highway state of one vehicle
+     */
+    private static class HysteresisState {
+        private Long committedId;
+
+        private Long pendingId;
+        private HighwaySegmentIndex.SegmentMatch pendingMatch;
+        private double pendingLatitude;
+        private double pendingLongitude;
+        private LocalDateTime pendingTimestamp;
+        private int pendingPings;
+        private double pendingKm;
+
+        HysteresisState(Long committedId) {
+            this.committedId = committedId;
+        }
+
+        void clearPending() {
+            pendingId = null;
+            pendingMatch = null;
+            pendingTimestamp = null;
+            pendingPings = 0;
+            pendingKm = 0.0;
+        }
+    }
+
+    /**
+     * Inner class for the effective highway state of a ping
+     * highwayId is the state to apply (null = off-highway). The transition
+     * fields locate the first ping of a committed transition, or the current
+     * ping otherwise; transitionMatch is null while a transition is pending.
+     */
+    public static class HysteresisDecision {
+        private final Long highwayId;
+        private final HighwaySegmentIndex.SegmentMatch transitionMatch;
+        private final double transitionLatitude;
+        private final double transitionLongitude;
+        private final LocalDateTime transitionTimestamp;
+
+        public HysteresisDecision(Long highwayId, HighwaySegmentIndex.SegmentMatch transitionMatch,
+                double transitionLatitude, double transitionLongitude, LocalDateTime transitionTimestamp) {
+            this.highwayId = highwayId;
+            this.transitionMatch = transitionMatch;
+            this.transitionLatitude = transitionLatitude;
+            this.transitionLongitude = transitionLongitude;
+            this.transitionTimestamp = transitionTimestamp;
+        }
+
+        // Getters
+        public Long getHighwayId() {
+            return highwayId;
+        }
+
+        public HighwaySegmentIndex.SegmentMatch getTransitionMatch() {
+            return transitionMatch;
+        }
+
+        public double getTransitionLatitude() {
+            return transitionLatitude;
+        }
+
+        public double getTransitionLongitude() {
+            return transitionLongitude;
+        }
+
+        public LocalDateTime getTransitionTimestamp() {
+            return transitionTimestamp;
+        }
+    }
+
+    /**
+     * Inner class for hysteresis statistics
+     */
+    public static class HysteresisStats {
+        private final long committedTransitions;
+        private final long suppressedTransitions;
+        private final int pendingVehicles;
+
+        public HysteresisStats(long committedTransitions, long suppressedTransitions, int pendingVehicles) {
+            this.committedTransitions = committedTransitions;
+            this.suppressedTransitions = suppressedTransitions;
+            this.pendingVehicles = pendingVehicles;
+        }
+
+        // Getters
+        public long getCommittedTransitions() {
+            return committedTransitions;
+        }
+
+        public long getSuppressedTransitions() {
+            return suppressedTransitions;
+        }
+
+        public int getPendingVehicles() {
+            return pendingVehicles;
+        }
+
+        @Override
+        public String toString() {
+            return "HysteresisStats{" +
+                    "committedTransitions=" + committedTransitions +
+                    ", suppressedTransitions=" + suppressedTransitions +
+                    ", pendingVehicles=" + pendingVehicles +
+                    '}';
+        }
+    }
+}
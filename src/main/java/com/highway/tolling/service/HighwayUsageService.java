@@ -2,38 +2,75 @@ package com.highway.tolling.service;
 
 import com.highway.tolling.model.HighwayUsage;
 import com.highway.tolling.repository.HighwayUsageRepository;
+import com.highway.tolling.service.VehicleRegistryService.RegisteredVehicle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * HighwayUsage Service
- * Manages highway usage sessions and distance accumulation
+ * Manages highway usage sessions
+ * Distance is linear-referenced: entry and exit are projected onto the highway
+ * centreline and the session is billed for the chainage difference, so no
+ * per-ping accumulation (and no per-ping session write) is needed.
+ * The toll is computed at close from the in-memory vehicle registry and
+ * toll rate table, stored on the session and added to the owner's billing
+ * accrual for the month.
  */
 @Service
 public class HighwayUsageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(HighwayUsageService.class);
+
     private final HighwayUsageRepository highwayUsageRepository;
+    private final HighwayDetectionService highwayDetectionService;
+    private final TollRateService tollRateService;
+    private final PricingWindowService pricingWindowService;
+    private final VehicleRegistryService vehicleRegistryService;
+    private final TollCalculationService tollCalculationService;
+    private final BillingAccrualService billingAccrualService;
 
     @Autowired
-    public HighwayUsageService(HighwayUsageRepository highwayUsageRepository) {
+    public HighwayUsageService(HighwayUsageRepository highwayUsageRepository,
+            HighwayDetectionService highwayDetectionService,
+            TollRateService tollRateService,
+            PricingWindowService pricingWindowService,
+            VehicleRegistryService vehicleRegistryService,
+            TollCalculationService tollCalculationService,
+            BillingAccrualService billingAccrualService) {
         this.highwayUsageRepository = highwayUsageRepository;
+        this.highwayDetectionService = highwayDetectionService;
+        this.tollRateService = tollRateService;
+        this.pricingWindowService = pricingWindowService;
+        this.vehicleRegistryService = vehicleRegistryService;
+        this.tollCalculationService = tollCalculationService;
+        this.billingAccrualService = billingAccrualService;
     }
 
     /**
      * Create a new highway usage session when vehicle enters a highway
+     *
+     * @param entryChainageKm chainage of the entry point (null = project it
+     *                        from the coordinates)
      */
     public HighwayUsage createHighwaySession(Long vehicleId, Long highwayId, LocalDateTime entryTimestamp,
-            Double entryLatitude, Double entryLongitude) {
+            Double entryLatitude, Double entryLongitude, Double entryChainageKm) {
         HighwayUsage session = new HighwayUsage(
                 vehicleId,
                 highwayId,
                 entryTimestamp,
                 entryLatitude,
                 entryLongitude);
+        session.setEntryChainageKm(entryChainageKm != null
+                ? entryChainageKm
+                : highwayDetectionService.projectChainage(highwayId, entryLatitude, entryLongitude));
         return highwayUsageRepository.save(session);
     }
 
@@ -44,22 +81,87 @@ public class HighwayUsageService {
         return highwayUsageRepository.findActiveSessionByVehicleId(vehicleId);
     }
 
-    /**
-     * Add distance to an existing highway session
-     */
-    public HighwayUsage addDistanceToSession(HighwayUsage session, Double distance) {
-        session.addDistance(distance);
-        return highwayUsageRepository.save(session);
-    }
-
     /**
      * Close highway session when vehicle exits the highway
+     * The exit point (usually the first fix off the highway) is projected onto
+     * the session's highway; the distance is the chainage difference. Sessions
+     * whose chainage cannot be determined keep their accumulated distance.
+     * The toll is fixed here with the rates in effect at entry, so later rate
+     * changes do not re-rate the session. It is accrued to the month the
+     * session closes in, not the month of its exit time: ingest accepts
+     * late pings and hysteresis back-dates exits, so a session can close
+     * after its exit month was already billed. The owner of the vehicle at
+     * close is recorded as the billed user, so an ownership change later in
+     * the month does not move the session to another bill. The session and
+     * its accrual are written in one transaction.
      */
+    @Transactional
     public HighwayUsage closeSession(HighwayUsage session, LocalDateTime exitTimestamp,
             Double exitLatitude, Double exitLongitude) {
         session.setExitTimestamp(exitTimestamp);
         session.setExitLatitude(exitLatitude);
         session.setExitLongitude(exitLongitude);
+
+        Long highwayId = session.getHighwayId();
+        if (session.getEntryChainageKm() == null) {
+            // Session opened before linear referencing
+            session.setEntryChainageKm(highwayDetectionService.projectChainage(
+                    highwayId, session.getEntryLatitude(), session.getEntryLongitude()));
+        }
+        session.setExitChainageKm(highwayDetectionService.projectChainage(highwayId, exitLatitude, exitLongitude));
+
+        if (session.getEntryChainageKm() != null && session.getExitChainageKm() != null) {
+            session.setDistanceTraveled(Math.abs(session.getExitChainageKm() - session.getEntryChainageKm()));
+        }
+        Optional<RegisteredVehicle> vehicle = vehicleRegistryService.find(session.getVehicleId());
+        applyToll(session, vehicle);
+        YearMonth billMonth = YearMonth.now();
+        if (session.getTollAmountPaise() != null) {
+            session.setBillMonth(billMonth.toString());
+            session.setBilledUserId(vehicle.get().getUserId());
+        }
+        HighwayUsage savedSession = highwayUsageRepository.save(session);
+
+        if (savedSession.getTollAmountPaise() != null) {
+            billingAccrualService.accrue(savedSession.getBilledUserId(), billMonth,
+                    savedSession.getDistanceTraveled(), savedSession.getTollAmountPaise());
+        }
+        return savedSession;
+    }
+
+    /**
+     * Price a closing session: distance toll at the rate in effect when the
+     * session entered the highway, scaled by the time-of-day multipliers
+     * averaged over the session (distance is assumed to be spread evenly
+     * between entry and exit), plus gantry charges. Uses only in-memory data,
+     * so closing costs no extra query.
+     * A session of an unregistered vehicle or a highway without rates stays
+     * unpriced (null toll) and is not billed.
+     */
+    private void applyToll(HighwayUsage session, Optional<RegisteredVehicle> vehicle) {
+        TollRateTable rateTable = tollRateService.getRateTable();
+        int rate = vehicle.isPresent()
+                ? rateTable.find(session.getHighwayId(), vehicle.get().getVehicleType(), session.getEntryTimestamp())
+                : -1;
+        if (rate < 0) {
+            logger.warn("Session {} left unpriced: vehicle {} or rates of highway {} no longer exist",
+                    session.getId(), session.getVehicleId(), session.getHighwayId());
+            return;
+        }
+
+        double multiplier = pricingWindowService.getSchedule().getAverageMultiplier(
+                session.getHighwayId(), session.getEntryTimestamp(), session.getExitTimestamp());
+        session.setTollAmountPaise(tollCalculationService.calculateSessionToll(
+                session.getDistanceTraveled(), rateTable.getRatePerKmPaise(rate), multiplier,
+                session.getGantryChargesPaise()));
+        session.setRateVersion(rateTable.getRateId(rate));
+    }
+
+    /**
+     * Add a gantry crossing charge, in paise, to a session
+     */
+    public HighwayUsage addGantryCharge(HighwayUsage session, long chargePaise) {
+        session.setGantryChargesPaise(session.getGantryChargesPaise() + chargePaise);
         return highwayUsageRepository.save(session);
     }
 
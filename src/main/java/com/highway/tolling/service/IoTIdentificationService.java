@@ -1,19 +1,21 @@
 package com.highway.tolling.service;
 
 import com.highway.tolling.dto.IoTDataRequest;
-import com.highway.tolling.model.Highway;
 import com.highway.tolling.model.HighwayUsage;
 import com.highway.tolling.model.LocationTracking;
-import com.highway.tolling.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -24,53 +26,79 @@ import java.util.Optional;
 @Service
 public class IoTIdentificationService {
 
-    private final VehicleRepository vehicleRepository;
-    private final LocationTrackingService locationTrackingService;
-    private final HighwayService highwayService;
+    private static final Logger logger = LoggerFactory.getLogger(IoTIdentificationService.class);
+
+    private final VehicleRegistryService vehicleRegistryService;
+    private final HighwayMapMatchingService highwayMapMatchingService;
     private final HighwayDetectionService highwayDetectionService;
     private final DistanceCalculatorService distanceCalculatorService;
     private final HighwayUsageService highwayUsageService;
     private final AnomalyDetectionService anomalyDetectionService;
+    private final VehicleLastSeenService vehicleLastSeenService;
+    private final TrajectoryCompressionService trajectoryCompressionService;
+    private final HighwaySessionHysteresisService highwaySessionHysteresisService;
+    private final GantryService gantryService;
 
     // Maximum allowed time difference (in hours) - reject timestamps too far in the
     // past
     private static final int MAX_PAST_HOURS = 24;
 
-    // Minimum distance to accumulate (meters) - avoid GPS noise
+    // Minimum movement (meters) - below this a ping is GPS noise
     private static final double MIN_DISTANCE_THRESHOLD_KM = 0.01; // 10 meters
 
-    // Maximum distance threshold (km) - detect gaps/errors
-    private static final double MAX_DISTANCE_THRESHOLD_KM = 5.0; // 5 km
+    // Stationary pings (closer than MIN_DISTANCE_THRESHOLD_KM) only update the
+    // in-memory last-seen state; a heartbeat row is still written periodically
+    @Value("${app.iot.stationary-suppression.enabled:true}")
+    private boolean stationarySuppressionEnabled;
+
+    @Value("${app.iot.stationary-suppression.heartbeat-seconds:300}")
+    private long heartbeatIntervalSeconds;
+
+    // Jumps between two points on the same highway at least this long are
+    // checked for plausibility before they are billed
+    @Value("${app.highway.gap-bridging.min-gap-meters:500}")
+    private double minGapMeters;
+
+    @Value("${app.highway.gap-bridging.max-speed-kmh:180}")
+    private double maxGapSpeedKmh;
 
     @Autowired
-    public IoTIdentificationService(VehicleRepository vehicleRepository,
-            LocationTrackingService locationTrackingService,
-            HighwayService highwayService,
+    public IoTIdentificationService(VehicleRegistryService vehicleRegistryService,
+            HighwayMapMatchingService highwayMapMatchingService,
             HighwayDetectionService highwayDetectionService,
             DistanceCalculatorService distanceCalculatorService,
             HighwayUsageService highwayUsageService,
-            AnomalyDetectionService anomalyDetectionService) {
-        this.vehicleRepository = vehicleRepository;
-        this.locationTrackingService = locationTrackingService;
-        this.highwayService = highwayService;
+            AnomalyDetectionService anomalyDetectionService,
+            VehicleLastSeenService vehicleLastSeenService,
+            TrajectoryCompressionService trajectoryCompressionService,
+            HighwaySessionHysteresisService highwaySessionHysteresisService,
+            GantryService gantryService) {
+        this.vehicleRegistryService = vehicleRegistryService;
+        this.highwayMapMatchingService = highwayMapMatchingService;
         this.highwayDetectionService = highwayDetectionService;
         this.distanceCalculatorService = distanceCalculatorService;
         this.highwayUsageService = highwayUsageService;
         this.anomalyDetectionService = anomalyDetectionService;
+        this.vehicleLastSeenService = vehicleLastSeenService;
+        this.trajectoryCompressionService = trajectoryCompressionService;
+        this.highwaySessionHysteresisService = highwaySessionHysteresisService;
+        this.gantryService = gantryService;
     }
 
     /**
      * Process IoT Data
      * Validates Vehicle, GPS coordinates, timestamp, detects highway usage, and
      * saves location.
+     * Stationary pings and points dropped by trajectory compression are not
+     * saved: the returned LocationTracking then has no ID.
      *
      * @param request The data received from the IoT device.
-     * @return Saved LocationTracking entity
+     * @return Saved LocationTracking entity (unsaved if not stored)
      * @throws RuntimeException if validation fails
      */
     public LocationTracking processIoTData(IoTDataRequest request) {
-        // 1. Check if Vehicle exists
-        vehicleRepository.findById(request.getVehicleId())
+        // 1. Check if Vehicle exists (in-memory registry, no query)
+        VehicleRegistryService.RegisteredVehicle vehicle = vehicleRegistryService.find(request.getVehicleId())
                 .orElseThrow(() -> new RuntimeException(
                         "Validation Failed: Vehicle with ID " + request.getVehicleId() + " does not exist."));
 
@@ -82,104 +110,186 @@ public class IoTIdentificationService {
         Double normalizedLatitude = normalizeCoordinate(request.getLatitude());
         Double normalizedLongitude = normalizeCoordinate(request.getLongitude());
 
-        // 4. Get previous location for this vehicle
-        List<LocationTracking> previousLocations = locationTrackingService
-                .getLocationsByVehicleId(request.getVehicleId());
+        // 4. Get previous location for this vehicle (last accepted point, stored or
+        // held back by trajectory compression)
+        LocationTracking previousLocation = trajectoryCompressionService
+                .getLastAcceptedPoint(request.getVehicleId())
+                .orElse(null);
+
+        // 5. Detect highway for current location (map-matched against the
+        // vehicle's recent pings where highway corridors overlap)
+        HighwaySegmentIndex.SegmentMatch highwayMatch = highwayMapMatchingService.match(
+                request.getVehicleId(), normalizedLatitude, normalizedLongitude, timestamp);
+        double distance = 0.0;
+        if (previousLocation != null) {
+            distance = distanceCalculatorService.calculateDistance(
+                    previousLocation.getLatitude(),
+                    previousLocation.getLongitude(),
+                    normalizedLatitude,
+                    normalizedLongitude);
+        }
 
-        // 5. Detect highway for current location
-        Highway currentHighway = detectHighway(normalizedLatitude, normalizedLongitude);
+        // 6. Debounce entry/exit/switch so corridor-edge pings do not flap sessions
+        HighwaySessionHysteresisService.HysteresisDecision highwayDecision = highwaySessionHysteresisService.apply(
+                request.getVehicleId(),
+                previousLocation != null ? previousLocation.getHighwayId() : null,
+                highwayMatch,
+                normalizedLatitude,
+                normalizedLongitude,
+                timestamp,
+                distance);
+        Long currentHighwayId = highwayDecision.getHighwayId();
 
-        // 6. Create location tracking object
+        // 7. Create location tracking object
         LocationTracking locationTracking = new LocationTracking(
                 request.getVehicleId(),
                 normalizedLatitude,
                 normalizedLongitude,
                 timestamp);
 
-        // 7. Process highway detection and distance accumulation
-        if (!previousLocations.isEmpty()) {
-            LocationTracking previousLocation = previousLocations.get(0);
+        // 8. Process highway detection and distance accumulation
+        if (previousLocation != null) {
+            // Stationary ping - update last-seen only, no row and no state machine
+            if (isSuppressible(previousLocation, currentHighwayId, distance, timestamp)) {
+                return handleStationaryPing(locationTracking, previousLocation, distance);
+            }
+
+            // Gantry charges - before the state machine, so a crossing on the
+            // exit ping is still charged to the session it belongs to
+            gantryService.recordCrossings(vehicle.getVehicleType(), previousLocation, locationTracking);
+
             processHighwayDetectionAndDistance(
                     locationTracking,
                     previousLocation,
-                    currentHighway,
-                    timestamp);
+                    highwayDecision,
+                    distance);
         } else {
             // First GPS point - just mark highway status
-            if (currentHighway != null) {
-                locationTracking.setIsOnHighway(true);
-                locationTracking.setHighwayId(currentHighway.getHighwayId());
-                // Create initial highway session
-                highwayUsageService.createHighwaySession(
-                        request.getVehicleId(),
-                        currentHighway.getHighwayId(),
-                        timestamp,
-                        normalizedLatitude,
-                        normalizedLongitude);
+            if (currentHighwayId != null) {
+                handleHighwayEntry(locationTracking, highwayDecision);
             }
         }
 
-        // 8. Save location tracking
-        LocationTracking savedLocation = locationTrackingService.saveLocation(locationTracking);
+        // 9. Save location tracking (held back if the path is still a straight line)
+        LocationTracking savedLocation = trajectoryCompressionService.offer(
+                locationTracking,
+                isHighwayStateChange(previousLocation, locationTracking));
+        vehicleLastSeenService.recordPing(
+                savedLocation.getVehicleId(),
+                normalizedLatitude,
+                normalizedLongitude,
+                timestamp,
+                previousLocation != null && distance < MIN_DISTANCE_THRESHOLD_KM,
+                previousLocation != null ? previousLocation.getTimestamp() : timestamp);
+
+        // 10. Run anomaly detection checks (non-blocking, no penalty)
+        if (previousLocation != null) {
+            try {
+                anomalyDetectionService.runAllChecks(savedLocation, previousLocation);
+            } catch (Exception e) {
+                // Log error but don't fail the request - anomaly detection is informational
+                logger.warn("Anomaly detection error (non-critical): {}", e.getMessage());
+            }
+        }
+
+        // 11. Return saved location
+        return savedLocation;
+    }
+
+    /**
+     * Check whether the highway state changed between two points
+     * Such points open or close sessions and are always stored.
+     */
+    private boolean isHighwayStateChange(LocationTracking previousLocation, LocationTracking currentLocation) {
+        return previousLocation == null
+                || !Objects.equals(previousLocation.getHighwayId(), currentLocation.getHighwayId())
+                || !Objects.equals(previousLocation.getIsOnHighway(), currentLocation.getIsOnHighway());
+    }
+
+    /**
+     * Check whether a ping can be absorbed without persisting a row
+     * Only pings that stay below the noise threshold, do not change the highway
+     * state and fall inside the heartbeat interval are suppressed.
+     */
+    private boolean isSuppressible(LocationTracking previousLocation, Long currentHighwayId,
+            double distance, LocalDateTime timestamp) {
+        if (!stationarySuppressionEnabled || distance >= MIN_DISTANCE_THRESHOLD_KM) {
+            return false;
+        }
+
+        if (!Objects.equals(currentHighwayId, previousLocation.getHighwayId())) {
+            return false;
+        }
+
+        // Heartbeat - persist a row once the interval since the last row has elapsed
+        Duration sinceLastRow = Duration.between(previousLocation.getTimestamp(), timestamp);
+        return sinceLastRow.getSeconds() < heartbeatIntervalSeconds;
+    }
+
+    /**
+     * Handle a suppressed stationary ping
+     * Updates the last-seen position and runs the stationary anomaly checks.
+     */
+    private LocationTracking handleStationaryPing(LocationTracking currentLocation,
+            LocationTracking previousLocation, double distance) {
+        currentLocation.setIsOnHighway(previousLocation.getIsOnHighway());
+        currentLocation.setHighwayId(previousLocation.getHighwayId());
+        currentLocation.setDistanceFromPrevious(distance);
+
+        Long vehicleId = currentLocation.getVehicleId();
+        vehicleLastSeenService.recordPing(
+                vehicleId,
+                currentLocation.getLatitude(),
+                currentLocation.getLongitude(),
+                currentLocation.getTimestamp(),
+                true,
+                previousLocation.getTimestamp());
+        vehicleLastSeenService.recordSuppressedPing(vehicleId);
 
-        // 9. Run anomaly detection checks (non-blocking, no penalty)
         try {
-            anomalyDetectionService.runAllChecks(savedLocation);
+            anomalyDetectionService.detectStationaryInactivity(vehicleId, currentLocation.getHighwayId());
         } catch (Exception e) {
-            // Log error but don't fail the request - anomaly detection is informational
-            System.err.println("Anomaly detection error (non-critical): " + e.getMessage());
+            logger.warn("Anomaly detection error (non-critical): {}", e.getMessage());
         }
 
-        // 10. Return saved location
-        return savedLocation;
+        return currentLocation;
     }
 
     /**
-     * Process highway detection logic and distance accumulation
+     * Process highway detection logic (session state machine)
+     * Transitions are applied at the point where the debounced state change
+     * started.
      */
     private void processHighwayDetectionAndDistance(
             LocationTracking currentLocation,
             LocationTracking previousLocation,
-            Highway currentHighway,
-            LocalDateTime timestamp) {
-
-        // Get previous highway (if any)
+            HighwaySessionHysteresisService.HysteresisDecision highwayDecision,
+            double distance) {
+        Long currentHighwayId = highwayDecision.getHighwayId();
         Long previousHighwayId = previousLocation.getHighwayId();
-        Highway previousHighway = null;
-        if (previousHighwayId != null) {
-            previousHighway = highwayService.getHighwayById(previousHighwayId).orElse(null);
-        }
-
-        // Calculate distance from previous point
-        double distance = distanceCalculatorService.calculateDistance(
-                previousLocation.getLatitude(),
-                previousLocation.getLongitude(),
-                currentLocation.getLatitude(),
-                currentLocation.getLongitude());
 
         currentLocation.setDistanceFromPrevious(distance);
 
-        // Apply distance thresholds
-        boolean isValidDistance = distance >= MIN_DISTANCE_THRESHOLD_KM && distance <= MAX_DISTANCE_THRESHOLD_KM;
-
         // Highway State Machine
-        if (currentHighway != null && previousHighway != null
-                && currentHighway.getHighwayId().equals(previousHighway.getHighwayId())) {
-            // CASE: Both on SAME highway - accumulate distance
-            handleSameHighway(currentLocation, currentHighway, distance, isValidDistance);
+        if (currentHighwayId != null && currentHighwayId.equals(previousHighwayId)) {
+            // CASE: Both on SAME highway - session distance comes from chainage at exit
+            handleSameHighway(currentLocation, currentHighwayId);
+            if (distance * 1000.0 >= minGapMeters) {
+                bridgeGap(currentLocation, previousLocation, distance);
+            }
 
-        } else if (currentHighway != null && previousHighway == null) {
+        } else if (currentHighwayId != null && previousHighwayId == null) {
             // CASE: Vehicle ENTERED highway
-            handleHighwayEntry(currentLocation, currentHighway, timestamp);
+            handleHighwayEntry(currentLocation, highwayDecision);
 
-        } else if (currentHighway == null && previousHighway != null) {
+        } else if (currentHighwayId == null && previousHighwayId != null) {
             // CASE: Vehicle EXITED highway
-            handleHighwayExit(currentLocation, previousHighway, timestamp);
+            handleHighwayExit(currentLocation, highwayDecision);
 
-        } else if (currentHighway != null && previousHighway != null
-                && !currentHighway.getHighwayId().equals(previousHighway.getHighwayId())) {
+        } else if (currentHighwayId != null) {
             // CASE: Switched highways
-            handleHighwaySwitch(currentLocation, previousHighway, currentHighway, timestamp);
+            handleHighwayExit(currentLocation, highwayDecision);
+            handleHighwayEntry(currentLocation, highwayDecision);
 
         } else {
             // CASE: Both OFF highway - do nothing
@@ -190,91 +300,96 @@ public class IoTIdentificationService {
     /**
      * Handle case: Vehicle traveling on same highway
      */
-    private void handleSameHighway(LocationTracking currentLocation, Highway highway,
-            double distance, boolean isValidDistance) {
+    private void handleSameHighway(LocationTracking currentLocation, Long highwayId) {
         currentLocation.setIsOnHighway(true);
-        currentLocation.setHighwayId(highway.getHighwayId());
-
-        // Add distance to active session if valid
-        if (isValidDistance) {
-            Optional<HighwayUsage> activeSession = highwayUsageService
-                    .getActiveSession(currentLocation.getVehicleId());
-            activeSession.ifPresent(session -> highwayUsageService.addDistanceToSession(session, distance));
-        }
+        currentLocation.setHighwayId(highwayId);
     }
 
     /**
-     * Handle case: Vehicle entered highway
+     * Handle a jump between two points on the same highway (dropped pings)
+     * A plausible jump needs nothing: the session is billed by chainage at
+     * exit, which already covers the stretch between the two points. An
+     * implausible one is flagged and the session is split at the gap, so the
+     * jump is not billed.
      */
-    private void handleHighwayEntry(LocationTracking currentLocation, Highway highway,
-            LocalDateTime timestamp) {
-        currentLocation.setIsOnHighway(true);
-        currentLocation.setHighwayId(highway.getHighwayId());
+    private void bridgeGap(LocationTracking currentLocation, LocationTracking previousLocation,
+            double straightLineKm) {
+        Long highwayId = currentLocation.getHighwayId();
+        Double fromChainage = highwayDetectionService.projectChainage(highwayId,
+                previousLocation.getLatitude(), previousLocation.getLongitude());
+        Double toChainage = highwayDetectionService.projectChainage(highwayId,
+                currentLocation.getLatitude(), currentLocation.getLongitude());
+        if (fromChainage == null || toChainage == null) {
+            return; // Highway removed from the index meanwhile
+        }
 
-        // Create new highway session
-        highwayUsageService.createHighwaySession(
-                currentLocation.getVehicleId(),
-                highway.getHighwayId(),
-                timestamp,
-                currentLocation.getLatitude(),
-                currentLocation.getLongitude());
-    }
+        double elapsedSeconds = Duration.between(previousLocation.getTimestamp(),
+                currentLocation.getTimestamp()).toMillis() / 1000.0;
+        GapBridge.BridgeResult bridge = GapBridge.bridge(fromChainage, toChainage, straightLineKm,
+                elapsedSeconds, maxGapSpeedKmh, highwayDetectionService.getCorridorKm() * 2);
 
-    /**
-     * Handle case: Vehicle exited highway
-     */
-    private void handleHighwayExit(LocationTracking currentLocation, Highway previousHighway,
-            LocalDateTime timestamp) {
-        currentLocation.setIsOnHighway(false);
+        if (bridge.isPlausible()) {
+            return;
+        }
 
-        // Close active highway session
-        Optional<HighwayUsage> activeSession = highwayUsageService
-                .getActiveSession(currentLocation.getVehicleId());
-        activeSession.ifPresent(session -> highwayUsageService.closeSession(
+        try {
+            anomalyDetectionService.detectImplausibleGap(currentLocation, previousLocation, bridge);
+        } catch (Exception e) {
+            logger.warn("Anomaly detection error (non-critical): {}", e.getMessage());
+        }
+
+        // Close at the last point before the gap and reopen here
+        Long vehicleId = currentLocation.getVehicleId();
+        highwayUsageService.getActiveSession(vehicleId).ifPresent(session -> highwayUsageService.closeSession(
                 session,
-                timestamp,
+                previousLocation.getTimestamp(),
+                previousLocation.getLatitude(),
+                previousLocation.getLongitude()));
+        highwayUsageService.createHighwaySession(
+                vehicleId,
+                highwayId,
+                currentLocation.getTimestamp(),
                 currentLocation.getLatitude(),
-                currentLocation.getLongitude()));
+                currentLocation.getLongitude(),
+                toChainage);
     }
 
     /**
-     * Handle case: Vehicle switched from one highway to another
+     * Handle case: Vehicle entered highway (also the second half of a switch)
      */
-    private void handleHighwaySwitch(LocationTracking currentLocation, Highway previousHighway,
-            Highway currentHighway, LocalDateTime timestamp) {
-        // Close session for previous highway
-        Optional<HighwayUsage> activeSession = highwayUsageService
-                .getActiveSession(currentLocation.getVehicleId());
-        activeSession.ifPresent(session -> highwayUsageService.closeSession(
-                session,
-                timestamp,
-                currentLocation.getLatitude(),
-                currentLocation.getLongitude()));
-
-        // Create session for new highway
+    private void handleHighwayEntry(LocationTracking currentLocation,
+            HighwaySessionHysteresisService.HysteresisDecision highwayDecision) {
+        HighwaySegmentIndex.SegmentMatch entryMatch = highwayDecision.getTransitionMatch();
         currentLocation.setIsOnHighway(true);
-        currentLocation.setHighwayId(currentHighway.getHighwayId());
-        highwayUsageService.createHighwaySession(
+        currentLocation.setHighwayId(highwayDecision.getHighwayId());
+
+        // Create new highway session, charging gantries crossed while the
+        // entry was pending
+        HighwayUsage session = highwayUsageService.createHighwaySession(
                 currentLocation.getVehicleId(),
-                currentHighway.getHighwayId(),
-                timestamp,
-                currentLocation.getLatitude(),
-                currentLocation.getLongitude());
+                highwayDecision.getHighwayId(),
+                highwayDecision.getTransitionTimestamp(),
+                highwayDecision.getTransitionLatitude(),
+                highwayDecision.getTransitionLongitude(),
+                entryMatch != null ? entryMatch.getChainageKm() : null);
+        gantryService.attachPendingCrossings(session);
     }
 
     /**
-     * Detect which highway the vehicle is on (if any)
+     * Handle case: Vehicle exited highway (also the first half of a switch)
      */
-    private Highway detectHighway(double latitude, double longitude) {
-        List<Highway> allHighways = highwayService.getAllHighways();
-
-        for (Highway highway : allHighways) {
-            if (highwayDetectionService.isWithinHighwayRange(latitude, longitude, highway)) {
-                return highway;
-            }
-        }
+    private void handleHighwayExit(LocationTracking currentLocation,
+            HighwaySessionHysteresisService.HysteresisDecision highwayDecision) {
+        currentLocation.setIsOnHighway(false);
 
-        return null; // Not on any highway
+        // Close active highway session
+        Optional<HighwayUsage> activeSession = highwayUsageService
+                .getActiveSession(currentLocation.getVehicleId());
+        activeSession.ifPresent(session -> highwayUsageService.closeSession(
+                session,
+                highwayDecision.getTransitionTimestamp(),
+                highwayDecision.getTransitionLatitude(),
+                highwayDecision.getTransitionLongitude()));
     }
 
     /**
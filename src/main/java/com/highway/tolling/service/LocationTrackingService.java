@@ -1,11 +1,20 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.LocationTracking;
 import com.highway.tolling.repository.LocationTrackingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,10 +25,13 @@ import java.util.Optional;
 public class LocationTrackingService {
 
     private final LocationTrackingRepository locationTrackingRepository;
+    private final GpsArchiveService gpsArchiveService;
 
     @Autowired
-    public LocationTrackingService(LocationTrackingRepository locationTrackingRepository) {
+    public LocationTrackingService(LocationTrackingRepository locationTrackingRepository,
+            GpsArchiveService gpsArchiveService) {
         this.locationTrackingRepository = locationTrackingRepository;
+        this.gpsArchiveService = gpsArchiveService;
     }
 
     /**
@@ -33,13 +45,13 @@ public class LocationTrackingService {
     }
 
     /**
-     * Get all location records for a specific vehicle
+     * Get the most recent location record for a vehicle
      * 
      * @param vehicleId the vehicle ID
-     * @return list of location tracking records
+     * @return Optional containing the latest location if any
      */
-    public List<LocationTracking> getLocationsByVehicleId(Long vehicleId) {
-        return locationTrackingRepository.findByVehicleIdOrderByTimestampDesc(vehicleId);
+    public Optional<LocationTracking> getLatestLocation(Long vehicleId) {
+        return locationTrackingRepository.findFirstByVehicleIdOrderByTimestampDesc(vehicleId);
     }
 
     /**
@@ -53,11 +65,93 @@ public class LocationTrackingService {
     }
 
     /**
-     * Get all location records
+     * Get the two most recent location records for a vehicle
      * 
-     * @return list of all location tracking records
+     * @param vehicleId the vehicle ID
+     * @return up to two records, newest first
      */
-    public List<LocationTracking> getAllLocations() {
-        return locationTrackingRepository.findAll();
+    public List<LocationTracking> getRecentLocations(Long vehicleId) {
+        return locationTrackingRepository.findTop2ByVehicleIdOrderByTimestampDesc(vehicleId);
+    }
+
+    /**
+     * Get one page of a vehicle's location records within a time range, newest
+     * first. Months that were moved to the GPS archive are read from the
+     * archive files.
+     * 
+     * @param vehicleId the vehicle ID
+     * @param from      range start (inclusive)
+     * @param to        range end (inclusive)
+     * @param cursor    cursor from the previous page (null for the first page)
+     * @param limit     page size
+     * @return page of location tracking records
+     */
+    public PageResponse<LocationTracking> getVehicleLocationsPage(Long vehicleId, LocalDateTime from,
+            LocalDateTime to, String cursor, int limit) {
+        PageCursor position = PageCursor.decodeTimestamped(cursor, to);
+        List<LocationTracking> locations = locationTrackingRepository.findVehiclePageBetween(vehicleId, from, to,
+                position.getTimestamp(), position.getId(), PageRequest.ofSize(limit + 1));
+
+        if (hasArchivedMonth(vehicleId, from, position.getTimestamp())) {
+            locations = mergeArchived(locations, vehicleId, from, position, limit + 1);
+        }
+
+        return PageResponse.of(locations, limit,
+                location -> PageCursor.encode(location.getTimestamp(), location.getId()));
+    }
+
+    /**
+     * Get one page of all location records within a time range, newest first
+     * The range keeps the query on the matching month partitions instead of
+     * scanning the whole table.
+     * 
+     * @param from   range start (inclusive)
+     * @param to     range end (inclusive)
+     * @param cursor cursor from the previous page (null for the first page)
+     * @param limit  page size
+     * @return page of location tracking records
+     */
+    public PageResponse<LocationTracking> getLocationsPage(LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        PageCursor position = PageCursor.decodeTimestamped(cursor, to);
+        List<LocationTracking> locations = locationTrackingRepository.findPageBetween(from, to,
+                position.getTimestamp(), position.getId(), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(locations, limit,
+                location -> PageCursor.encode(location.getTimestamp(), location.getId()));
+    }
+
+    /**
+     * Merge archived points into a page read from the table
+     * Only the fetchSize newest archived points before the cursor are read.
+     * An exported month may still be in the table until its partition is
+     * dropped, so points are de-duplicated by ID.
+     */
+    private List<LocationTracking> mergeArchived(List<LocationTracking> locations, Long vehicleId,
+            LocalDateTime from, PageCursor position, int fetchSize) {
+        Map<Long, LocationTracking> merged = new LinkedHashMap<>();
+        for (LocationTracking location : locations) {
+            merged.put(location.getId(), location);
+        }
+        for (LocationTracking archived : gpsArchiveService.readVehicleBefore(vehicleId, from,
+                position.getTimestamp(), position.getId(), fetchSize)) {
+            merged.putIfAbsent(archived.getId(), archived);
+        }
+
+        List<LocationTracking> result = new ArrayList<>(merged.values());
+        result.sort(Comparator.comparing(LocationTracking::getTimestamp)
+                .thenComparing(LocationTracking::getId)
+                .reversed());
+        return result.size() > fetchSize ? result.subList(0, fetchSize) : result;
+    }
+
+    private boolean hasArchivedMonth(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month : gpsArchiveService.getArchivedMonths()) {
+            if (!month.isBefore(first) && !month.isAfter(last) && gpsArchiveService.isArchived(vehicleId, month)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,135 @@
+package com.highway.tolling.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Overdue Bill Service
+ * Moves PENDING bills past their due date to OVERDUE in bounded chunks.
+ *
+ * Each chunk is one short transaction: lock the next chunk of due bills in
+ * bill_id order (keyset over idx_bills_status, db/12_bills_status.sql), then
+ * flip them with one UPDATE over the same ID range. A million due bills take
+ * a hundred statement pairs, and no lock is held across chunks, so payments
+ * are never blocked for long. After each chunk commits a BillsOverdueEvent
+ * carries its bill IDs to the reminder pipeline.
+ */
+@Service
+public class OverdueBillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueBillService.class);
+
+    private static final String LOCK_CHUNK_SQL =
+            "SELECT bill_id FROM bills " +
+            "WHERE status = 'PENDING' AND bill_id > ? AND due_date < ? " +
+            "ORDER BY bill_id LIMIT ? FOR UPDATE";
+
+    private static final String MARK_CHUNK_SQL =
+            "UPDATE bills SET status = 'OVERDUE' " +
+            "WHERE status = 'PENDING' AND bill_id > ? AND bill_id <= ? AND due_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.billing.overdue.chunk-size:10000}")
+    private int chunkSize;
+
+    @Autowired
+    public OverdueBillService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Mark every PENDING bill due before a date as OVERDUE
+     *
+     * @param today bills with a due date before this date are overdue
+     * @return counts and duration of the sweep
+     */
+    public synchronized SweepResult sweepOverdueBills(LocalDate today) {
+        long start = System.currentTimeMillis();
+        long billsMarked = 0;
+        int chunks = 0;
+        long afterBillId = 0;
+
+        while (true) {
+            long from = afterBillId;
+            List<Long> billIds = transactionTemplate.execute(status -> markChunk(from, today));
+            if (billIds == null || billIds.isEmpty()) {
+                break;
+            }
+            billsMarked += billIds.size();
+            chunks++;
+            afterBillId = billIds.get(billIds.size() - 1);
+            eventPublisher.publishEvent(new BillsOverdueEvent(billIds));
+        }
+
+        SweepResult result = new SweepResult(billsMarked, chunks, System.currentTimeMillis() - start);
+        logger.info("Overdue sweep for bills due before {}: {}", today, result);
+        return result;
+    }
+
+    /**
+     * Lock and mark the next chunk of due bills (runs in a transaction)
+     *
+     * @return IDs of the bills marked, ascending
+     */
+    private List<Long> markChunk(long afterBillId, LocalDate today) {
+        List<Long> billIds = jdbcTemplate.queryForList(LOCK_CHUNK_SQL, Long.class, afterBillId, today, chunkSize);
+        if (!billIds.isEmpty()) {
+            // The range holds exactly the locked rows: every due PENDING bill
+            // in it was selected (ascending, up to the limit) and is locked
+            jdbcTemplate.update(MARK_CHUNK_SQL, afterBillId, billIds.get(billIds.size() - 1), today);
+        }
+        return billIds;
+    }
+
+    /**
+     * Inner class to hold sweep results
+     */
+    public static class SweepResult {
+        private long billsMarked;
+        private int chunks;
+        private long durationMs;
+
+        public SweepResult(long billsMarked, int chunks, long durationMs) {
+            this.billsMarked = billsMarked;
+            this.chunks = chunks;
+            this.durationMs = durationMs;
+        }
+
+        // Getters
+        public long getBillsMarked() {
+            return billsMarked;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        @Override
+        public String toString() {
+            return "SweepResult{" +
+                    "billsMarked=" + billsMarked +
+                    ", chunks=" + chunks +
+                    ", durationMs=" + durationMs +
+                    '}';
+        }
+    }
+}
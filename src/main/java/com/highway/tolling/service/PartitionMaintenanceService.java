@@ -0,0 +1,235 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.BillStatus;
+import com.highway.tolling.model.ReviewStatus;
+import com.highway.tolling.repository.BillRepository;
+import com.highway.tolling.repository.DataAnomalyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition Maintenance Service
+ * Manages the monthly RANGE partitions of location_tracking and
+ * data_anomalies (see db/01_partition_location_tracking.sql).
+ *
+ * - Splits upcoming months out of the p_future catch-all partition
+ * - Applies the retention policy: partitions older than the retention period
+ * whose billing month is closed are dropped, exchanged into a standalone
+ * archive table, or (location_tracking) exported to GPS archive files and
+ * dropped. Removing the partition is a metadata operation, not a row-by-row
+ * DELETE.
+ *
+ * Tables that are not partitioned are left untouched.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    public static final String LOCATION_TABLE = "location_tracking";
+    public static final String ANOMALY_TABLE = "data_anomalies";
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BillRepository billRepository;
+    private final DataAnomalyRepository anomalyRepository;
+    private final GpsArchiveService gpsArchiveService;
+
+    // Number of months ahead of the current one that must already have a partition
+    @Value("${app.partitioning.months-ahead:2}")
+    private int monthsAhead;
+
+    // Months of history kept in the hot tables
+    @Value("${app.retention.months:12}")
+    private int retentionMonths;
+
+    // DROP - discard expired partitions, ARCHIVE - move them to <table>_archive_yyyyMM,
+    // EXPORT - write location_tracking months to GPS archive files, then drop
+    @Value("${app.retention.mode:EXPORT}")
+    private RetentionMode retentionMode;
+
+    @Autowired
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+            BillRepository billRepository,
+            DataAnomalyRepository anomalyRepository,
+            GpsArchiveService gpsArchiveService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.billRepository = billRepository;
+        this.anomalyRepository = anomalyRepository;
+        this.gpsArchiveService = gpsArchiveService;
+    }
+
+    /**
+     * Ensure partitions exist for the current month and the configured months
+     * ahead, for both partitioned tables
+     */
+    public void ensureUpcomingPartitions() {
+        for (String table : new String[] { LOCATION_TABLE, ANOMALY_TABLE }) {
+            List<String> partitions = getPartitionNames(table);
+            if (partitions.isEmpty()) {
+                logger.debug("Table {} is not partitioned, skipping partition maintenance", table);
+                continue;
+            }
+
+            YearMonth month = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+                String partition = partitionName(month);
+                if (!partitions.contains(partition) && isAfterNewestPartition(partitions, month)) {
+                    splitFuturePartition(table, month);
+                    partitions.add(partition);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply the retention policy to both partitioned tables
+     *
+     * @return number of partitions dropped or archived
+     */
+    public int applyRetention() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        int removed = 0;
+
+        for (String table : new String[] { LOCATION_TABLE, ANOMALY_TABLE }) {
+            for (String partition : getPartitionNames(table)) {
+                YearMonth month = parsePartitionMonth(partition);
+                if (month == null || !month.isBefore(cutoff)) {
+                    continue;
+                }
+                if (!isRetentionAllowed(table, month)) {
+                    logger.info("Keeping partition {}.{} - billing period or review still open", table, partition);
+                    continue;
+                }
+
+                try {
+                    if (retentionMode == RetentionMode.EXPORT && LOCATION_TABLE.equals(table)) {
+                        gpsArchiveService.exportMonth(month);
+                        dropPartition(table, month);
+                    } else if (retentionMode != RetentionMode.DROP) {
+                        archivePartition(table, month);
+                    } else {
+                        dropPartition(table, month);
+                    }
+                    removed++;
+                } catch (Exception e) {
+                    logger.error("Error applying retention to {}.{}: {}", table, partition, e.getMessage());
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Check whether a month may leave the hot table
+     * location_tracking: no PENDING or OVERDUE bill may remain for the month.
+     * data_anomalies: no anomaly of the month may still await review.
+     */
+    public boolean isRetentionAllowed(String table, YearMonth month) {
+        if (!month.isBefore(YearMonth.now().minusMonths(1))) {
+            return false; // Current and just-billed month are always kept
+        }
+
+        if (LOCATION_TABLE.equals(table)) {
+            return !billRepository.existsByBillMonthAndStatusIn(month.toString(),
+                    List.of(BillStatus.PENDING, BillStatus.OVERDUE));
+        }
+        return !anomalyRepository.existsByReviewStatusAndDetectedAtBetween(ReviewStatus.PENDING,
+                month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay().minusNanos(1));
+    }
+
+    /**
+     * Drop a month partition (metadata operation)
+     */
+    public void dropPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partitionName(month));
+        logger.info("Dropped partition {}.{}", table, partitionName(month));
+    }
+
+    /**
+     * Move a month partition into a standalone archive table, then drop the
+     * emptied partition. EXCHANGE PARTITION swaps tablespace files without
+     * copying rows.
+     */
+    public void archivePartition(String table, YearMonth month) {
+        String partition = partitionName(month);
+        String archiveTable = table + "_archive_" + month.format(PARTITION_MONTH);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE " + table);
+        if (!getPartitionNames(archiveTable).isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " EXCHANGE PARTITION " + partition
+                + " WITH TABLE " + archiveTable);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partition);
+
+        logger.info("Archived partition {}.{} to {}", table, partition, archiveTable);
+    }
+
+    /**
+     * Get the month partitions of a table, oldest first (excludes p_future)
+     * Returns an empty list for tables that are not partitioned.
+     */
+    public List<String> getPartitionNames(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, table);
+
+        List<String> monthPartitions = new ArrayList<>();
+        for (String name : names) {
+            if (!FUTURE_PARTITION.equals(name)) {
+                monthPartitions.add(name);
+            }
+        }
+        return monthPartitions;
+    }
+
+    private void splitFuturePartition(String table, YearMonth month) {
+        String boundary = month.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                + "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + boundary + "'), "
+                + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        logger.info("Created partition {}.{}", table, partitionName(month));
+    }
+
+    private boolean isAfterNewestPartition(List<String> partitions, YearMonth month) {
+        YearMonth newest = parsePartitionMonth(partitions.get(partitions.size() - 1));
+        return newest == null || month.isAfter(newest);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_MONTH);
+    }
+
+    private static YearMonth parsePartitionMonth(String partition) {
+        try {
+            return YearMonth.parse(partition.substring(1), PARTITION_MONTH);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * What happens to partitions past the retention period
+     */
+    public enum RetentionMode {
+        DROP,
+        ARCHIVE,
+        EXPORT
+    }
+}
@@ -0,0 +1,74 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Bill;
+import com.highway.tolling.model.User;
+import com.highway.tolling.repository.BillRepository;
+import com.highway.tolling.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Payment Reminder Service
+ * Sends a payment reminder for every bill that became overdue. Runs off the
+ * sweeper's thread, one chunk at a time, with two queries per chunk (bills,
+ * then their users).
+ */
+@Service
+public class PaymentReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReminderService.class);
+
+    private final BillRepository billRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    @Autowired
+    public PaymentReminderService(BillRepository billRepository, UserRepository userRepository,
+            EmailService emailService) {
+        this.billRepository = billRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+    }
+
+    /**
+     * Remind the owners of a chunk of bills that just became overdue
+     */
+    @Async
+    @EventListener(BillsOverdueEvent.class)
+    public void onBillsOverdue(BillsOverdueEvent event) {
+        if (!emailService.isEnabled()) {
+            logger.info("Email is disabled. Skipping payment reminders for {} overdue bills",
+                    event.getBillIds().size());
+            return;
+        }
+
+        List<Bill> bills = billRepository.findAllById(event.getBillIds());
+        Set<Long> userIds = new HashSet<>();
+        for (Bill bill : bills) {
+            userIds.add(bill.getUserId());
+        }
+        Map<Long, User> users = new HashMap<>(userIds.size() * 2);
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getUserId(), user);
+        }
+
+        int sent = 0;
+        for (Bill bill : bills) {
+            User user = users.get(bill.getUserId());
+            if (user != null && emailService.sendPaymentReminder(user, bill)) {
+                sent++;
+            }
+        }
+        logger.info("Sent {} of {} payment reminders", sent, bills.size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.PricingWindow;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing Schedule
+ * Immutable, precompiled time-of-day multipliers of all highways.
+ *
+ * Every highway with pricing windows gets a week of 15-minute slots
+ * (7 x 96) holding the multiplier, plus the running integral of the
+ * multiplier over the week. The time-weighted average multiplier between
+ * any two instants is then the difference of two integral lookups - O(1)
+ * and allocation-free however long the session.
+ * Rebuilt as a whole when windows change (see PricingWindowService).
+ */
+public final class PricingSchedule {
+
+    private static final int SLOT_SECONDS = 15 * 60;
+    private static final int SLOTS_PER_DAY = 24 * 60 * 60 / SLOT_SECONDS;
+    private static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+    private static final long SECONDS_PER_WEEK = 7L * 24 * 60 * 60;
+    // 1970-01-01 was a Thursday: shift epoch seconds so weeks start on Monday
+    private static final long MONDAY_OFFSET_SECONDS = 3L * 24 * 60 * 60;
+
+    public static final PricingSchedule EMPTY = build(new ArrayList<>());
+
+    // highwayId -> multiplier per slot of the week (Monday 00:00 first)
+    private final Map<Long, double[]> slotMultipliers;
+    // highwayId -> integral of the multiplier (multiplier x seconds) up to the
+    // start of each slot, plus one entry for the whole week
+    private final Map<Long, double[]> slotIntegrals;
+
+    private PricingSchedule(Map<Long, double[]> slotMultipliers, Map<Long, double[]> slotIntegrals) {
+        this.slotMultipliers = slotMultipliers;
+        this.slotIntegrals = slotIntegrals;
+    }
+
+    /**
+     * Whether a time of day starts a slot, e.g. 07:15 but not 07:10
+     */
+    public static boolean isSlotBoundary(LocalTime time) {
+        return time.getNano() == 0 && time.toSecondOfDay() % SLOT_SECONDS == 0;
+    }
+
+    /**
+     * Compile pricing windows into a schedule
+     * Window edges lie on slot boundaries (see isSlotBoundary), so a window
+     * covers exactly its slots; where windows overlap, the one with the
+     * highest ID wins.
+     */
+    public static PricingSchedule build(List<PricingWindow> windows) {
+        List<PricingWindow> sorted = new ArrayList<>(windows);
+        sorted.sort(Comparator.comparing(PricingWindow::getWindowId));
+
+        Map<Long, double[]> slotMultipliers = new HashMap<>();
+        for (PricingWindow window : sorted) {
+            double[] slots = slotMultipliers.computeIfAbsent(window.getHighwayId(), id -> {
+                double[] week = new double[SLOTS_PER_WEEK];
+                Arrays.fill(week, 1.0);
+                return week;
+            });
+            int dayStart = (window.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY;
+            int from = window.getStartTime().toSecondOfDay() / SLOT_SECONDS;
+            int to = window.getEndTime().equals(LocalTime.MIDNIGHT)
+                    ? SLOTS_PER_DAY
+                    : window.getEndTime().toSecondOfDay() / SLOT_SECONDS;
+            for (int slot = from; slot < to; slot++) {
+                slots[dayStart + slot] = window.getMultiplier();
+            }
+        }
+
+        Map<Long, double[]> slotIntegrals = new HashMap<>(slotMultipliers.size() * 2);
+        slotMultipliers.forEach((highwayId, slots) -> {
+            double[] integral = new double[SLOTS_PER_WEEK + 1];
+            for (int slot = 0; slot < SLOTS_PER_WEEK; slot++) {
+                integral[slot + 1] = integral[slot] + slots[slot] * SLOT_SECONDS;
+            }
+            slotIntegrals.put(highwayId, integral);
+        });
+        return new PricingSchedule(slotMultipliers, slotIntegrals);
+    }
+
+    /**
+     * Get the time-weighted average multiplier of a highway between two
+     * instants (local time, as recorded by the vehicles)
+     *
+     * @return 1.0 for highways without pricing windows; the multiplier at
+     *         entry when exit is not after entry
+     */
+    public double getAverageMultiplier(Long highwayId, LocalDateTime entry, LocalDateTime exit) {
+        double[] integral = slotIntegrals.get(highwayId);
+        if (integral == null) {
+            return 1.0;
+        }
+        long from = entry.toEpochSecond(ZoneOffset.UTC) + MONDAY_OFFSET_SECONDS;
+        long to = exit.toEpochSecond(ZoneOffset.UTC) + MONDAY_OFFSET_SECONDS;
+        double[] slots = slotMultipliers.get(highwayId);
+        if (to <= from) {
+            return slots[(int) (Math.floorMod(from, SECONDS_PER_WEEK) / SLOT_SECONDS)];
+        }
+        return (integralAt(integral, slots, to) - integralAt(integral, slots, from)) / (to - from);
+    }
+
+    /**
+     * Get the multiplier of a highway at an instant
+     */
+    public double getMultiplier(Long highwayId, LocalDateTime at) {
+        double[] slots = slotMultipliers.get(highwayId);
+        if (slots == null) {
+            return 1.0;
+        }
+        long seconds = at.toEpochSecond(ZoneOffset.UTC) + MONDAY_OFFSET_SECONDS;
+        return slots[(int) (Math.floorMod(seconds, SECONDS_PER_WEEK) / SLOT_SECONDS)];
+    }
+
+    /**
+     * Get the number of highways with pricing windows
+     */
+    public int getHighwayCount() {
+        return slotMultipliers.size();
+    }
+
+    /**
+     * Integral of the multiplier from the Monday of week 0 up to an instant
+     */
+    private static double integralAt(double[] integral, double[] slots, long seconds) {
+        long week = Math.floorDiv(seconds, SECONDS_PER_WEEK);
+        long inWeek = seconds - week * SECONDS_PER_WEEK;
+        int slot = (int) (inWeek / SLOT_SECONDS);
+        return week * integral[SLOTS_PER_WEEK] + integral[slot] + slots[slot] * (inWeek - (long) slot * SLOT_SECONDS);
+    }
+}
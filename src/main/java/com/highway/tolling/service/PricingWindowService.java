@@ -0,0 +1,133 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.PricingWindow;
+import com.highway.tolling.repository.PricingWindowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pricing Window Service
+ * Manages time-of-day pricing windows (db/09_pricing_windows.sql) and serves
+ * them as a precompiled PricingSchedule, so pricing a session never queries
+ * the database.
+ */
+@Service
+public class PricingWindowService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingWindowService.class);
+
+    private final PricingWindowRepository pricingWindowRepository;
+    private final HighwayService highwayService;
+
+    // Replaced as a whole on rebuild; lookups never see a partial schedule
+    private volatile PricingSchedule schedule = PricingSchedule.EMPTY;
+
+    @Autowired
+    public PricingWindowService(PricingWindowRepository pricingWindowRepository,
+            HighwayService highwayService) {
+        this.pricingWindowRepository = pricingWindowRepository;
+        this.highwayService = highwayService;
+    }
+
+    /**
+     * Build the pricing schedule once all beans exist, before the web server starts
+     * accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildSchedule();
+    }
+
+    /**
+     * Rebuild the pricing schedule
+     * Runs at startup and after every window change; call it after editing
+     * the pricing_windows table directly.
+     */
+    public void rebuildSchedule() {
+        PricingSchedule rebuilt = PricingSchedule.build(pricingWindowRepository.findAll());
+        schedule = rebuilt;
+        logger.info("Pricing schedule rebuilt: {} highways with pricing windows", rebuilt.getHighwayCount());
+    }
+
+    /**
+     * Rebuild the pricing schedule after a highway change (deleting a
+     * highway deletes its windows)
+     */
+    @EventListener(HighwayCatalogChangedEvent.class)
+    public void onHighwayCatalogChanged() {
+        rebuildSchedule();
+    }
+
+    /**
+     * Get the current pricing schedule
+     */
+    public PricingSchedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Create a new pricing window
+     */
+    public PricingWindow createWindow(PricingWindow window) {
+        validateWindow(window);
+        window.setWindowId(null);
+        PricingWindow savedWindow = pricingWindowRepository.save(window);
+        rebuildSchedule();
+        return savedWindow;
+    }
+
+    /**
+     * Get the pricing windows of a highway
+     */
+    public List<PricingWindow> getWindowsByHighway(Long highwayId) {
+        return pricingWindowRepository.findByHighwayIdOrderByWindowIdAsc(highwayId);
+    }
+
+    /**
+     * Get a pricing window by ID
+     */
+    public Optional<PricingWindow> getWindowById(Long windowId) {
+        return pricingWindowRepository.findById(windowId);
+    }
+
+    /**
+     * Delete a pricing window
+     */
+    public void deleteWindow(Long windowId) {
+        if (!pricingWindowRepository.existsById(windowId)) {
+            throw new RuntimeException("Pricing window not found with id: " + windowId);
+        }
+        pricingWindowRepository.deleteById(windowId);
+        rebuildSchedule();
+    }
+
+    /**
+     * Reject windows on unknown highways, empty time ranges, edges off the
+     * 15-minute slot grid of PricingSchedule and negative multipliers
+     */
+    private void validateWindow(PricingWindow window) {
+        if (window.getHighwayId() == null || highwayService.getHighwayById(window.getHighwayId()).isEmpty()) {
+            throw new RuntimeException("Highway not found with id: " + window.getHighwayId());
+        }
+        if (window.getDayOfWeek() == null || window.getStartTime() == null || window.getEndTime() == null) {
+            throw new RuntimeException("Day of week, start time and end time are required");
+        }
+        if (!PricingSchedule.isSlotBoundary(window.getStartTime()) || !PricingSchedule.isSlotBoundary(window.getEndTime())) {
+            throw new RuntimeException("Start and end time must be multiples of 15 minutes");
+        }
+        if (!window.getEndTime().equals(LocalTime.MIDNIGHT) && !window.getStartTime().isBefore(window.getEndTime())) {
+            throw new RuntimeException("Pricing window must end after it starts");
+        }
+        if (window.getMultiplier() == null || window.getMultiplier() < 0) {
+            throw new RuntimeException("Multiplier must not be negative");
+        }
+    }
+}
@@ -1,31 +1,48 @@
 package com.highway.tolling.service;
 
 import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.VehicleType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 /**
  * Toll Calculation Service
  * Calculates toll amount based on vehicle type and distance traveled
+ * Highway rates are the time-effective rates of TollRateService, scaled by
+ * the time-of-day multipliers of PricingWindowService for timed trips.
+ * Rates and tolls are in paise; each toll is rounded once, half up (Money).
  */
 @Service
 public class TollCalculationService {
 
+    private final TollRateService tollRateService;
+    private final PricingWindowService pricingWindowService;
+
+    @Autowired
+    public TollCalculationService(TollRateService tollRateService,
+            PricingWindowService pricingWindowService) {
+        this.tollRateService = tollRateService;
+        this.pricingWindowService = pricingWindowService;
+    }
+
     /**
      * Calculate toll amount based on vehicle type and distance
      * 
      * @param vehicleType       The type of vehicle (CAR, BIKE, BUS, TRUCK)
      * @param distanceKm        The distance traveled in kilometers
-     * @param ratePerKmForCar   Rate per km for cars
-     * @param ratePerKmForBike  Rate per km for bikes
-     * @param ratePerKmForTruck Rate per km for trucks/buses
-     * @return Total toll amount
+     * @param ratePerKmForCar   Rate per km for cars, in paise
+     * @param ratePerKmForBike  Rate per km for bikes, in paise
+     * @param ratePerKmForTruck Rate per km for trucks/buses, in paise
+     * @return Total toll amount in paise
      */
-    public double calculateToll(VehicleType vehicleType, double distanceKm,
-            double ratePerKmForCar, double ratePerKmForBike,
-            double ratePerKmForTruck) {
+    public long calculateToll(VehicleType vehicleType, double distanceKm,
+            long ratePerKmForCar, long ratePerKmForBike,
+            long ratePerKmForTruck) {
 
-        double ratePerKm;
+        long ratePerKm;
 
         // Determine rate based on vehicle type using switch-case
         switch (vehicleType) {
@@ -44,39 +61,64 @@ public class TollCalculationService {
         }
 
         // Calculate total toll: distance × rate per km
-        double totalToll = distanceKm * ratePerKm;
-
-        return totalToll;
+        return Money.round(distanceKm * ratePerKm);
     }
 
     /**
-     * Calculate toll amount using highway's toll rates
+     * Calculate toll amount using highway's toll rates currently in effect
      * 
      * @param vehicleType The type of vehicle
      * @param distanceKm  The distance traveled in kilometers
      * @param highway     The highway with toll rate information
-     * @return Total toll amount
+     * @return Total toll amount in paise
      */
-    public double calculateToll(VehicleType vehicleType, double distanceKm, Highway highway) {
-        return calculateToll(
-                vehicleType,
-                distanceKm,
-                highway.getRatePerKmForCar(),
-                highway.getRatePerKmForBike(),
-                highway.getRatePerKmForTruck());
+    public long calculateToll(VehicleType vehicleType, double distanceKm, Highway highway) {
+        return Money.round(distanceKm * getRateForVehicleType(vehicleType, highway));
     }
 
     /**
-     * Calculate toll amount and round to 2 decimal places
+     * Calculate toll amount using the highway rate in effect at a given time
      * 
      * @param vehicleType The type of vehicle
      * @param distanceKm  The distance traveled in kilometers
-     * @param highway     The highway with toll rate information
-     * @return Total toll amount rounded to 2 decimal places
+     * @param highwayId   The highway ID
+     * @param at          Time of travel (sessions are priced at their entry)
+     * @return Total toll amount in paise
+     */
+    public long calculateToll(VehicleType vehicleType, double distanceKm, Long highwayId, LocalDateTime at) {
+        return Money.round(distanceKm * tollRateService.getRatePerKmPaise(highwayId, vehicleType, at));
+    }
+
+    /**
+     * Calculate toll amount for a timed trip: the rate in effect at entry,
+     * times the average time-of-day multiplier between entry and exit
+     * 
+     * @param vehicleType The type of vehicle
+     * @param distanceKm  The distance traveled in kilometers
+     * @param highwayId   The highway ID
+     * @param entry       Time the trip entered the highway
+     * @param exit        Time the trip left the highway
+     * @return Total toll amount in paise
      */
-    public double calculateTollRounded(VehicleType vehicleType, double distanceKm, Highway highway) {
-        double toll = calculateToll(vehicleType, distanceKm, highway);
-        return Math.round(toll * 100.0) / 100.0;
+    public long calculateToll(VehicleType vehicleType, double distanceKm, Long highwayId,
+            LocalDateTime entry, LocalDateTime exit) {
+        double multiplier = pricingWindowService.getSchedule().getAverageMultiplier(highwayId, entry, exit);
+        return Money.round(distanceKm * tollRateService.getRatePerKmPaise(highwayId, vehicleType, entry) * multiplier);
+    }
+
+    /**
+     * Calculate the toll of a closed highway session
+     * Only the distance toll is rounded; gantry charges are whole paise.
+     * 
+     * @param distanceKm         The billed distance of the session
+     * @param ratePerKmPaise     Rate per km for the session's vehicle type, in paise
+     * @param multiplier         Average time-of-day multiplier of the session
+     * @param gantryChargesPaise Gantry charges collected during the session, in paise
+     * @return Session toll in paise
+     */
+    public long calculateSessionToll(double distanceKm, long ratePerKmPaise, double multiplier,
+            long gantryChargesPaise) {
+        return Money.round(distanceKm * ratePerKmPaise * multiplier) + gantryChargesPaise;
     }
 
     /**
@@ -89,8 +131,8 @@ public class TollCalculationService {
      */
     public TollCalculationResult calculateTollWithDetails(VehicleType vehicleType,
             double distanceKm, Highway highway) {
-        double ratePerKm = getRateForVehicleType(vehicleType, highway);
-        double totalToll = distanceKm * ratePerKm;
+        long ratePerKm = getRateForVehicleType(vehicleType, highway);
+        long totalToll = Money.round(distanceKm * ratePerKm);
 
         return new TollCalculationResult(
                 vehicleType,
@@ -102,19 +144,29 @@ public class TollCalculationService {
 
     /**
      * Get the rate per km for a specific vehicle type
+     * The rate currently in effect; the highway's own rate columns are used
+     * for highways without rate history (not saved yet).
      * 
      * @param vehicleType The type of vehicle
      * @param highway     The highway with toll rate information
-     * @return Rate per km for the vehicle type
+     * @return Rate per km for the vehicle type, in paise
      */
-    private double getRateForVehicleType(VehicleType vehicleType, Highway highway) {
+    private long getRateForVehicleType(VehicleType vehicleType, Highway highway) {
+        TollRateTable rateTable = tollRateService.getRateTable();
+        int position = highway.getHighwayId() != null
+                ? rateTable.find(highway.getHighwayId(), vehicleType, LocalDateTime.now())
+                : -1;
+        if (position >= 0) {
+            return rateTable.getRatePerKmPaise(position);
+        }
+
         // Using if-else logic as an alternative to switch-case
         if (vehicleType == VehicleType.CAR) {
-            return highway.getRatePerKmForCar();
+            return highway.getRatePerKmForCarPaise();
         } else if (vehicleType == VehicleType.BIKE) {
-            return highway.getRatePerKmForBike();
+            return highway.getRatePerKmForBikePaise();
         } else if (vehicleType == VehicleType.BUS || vehicleType == VehicleType.TRUCK) {
-            return highway.getRatePerKmForTruck();
+            return highway.getRatePerKmForTruckPaise();
         } else {
             throw new IllegalArgumentException("Invalid vehicle type: " + vehicleType);
         }
@@ -126,16 +178,16 @@ public class TollCalculationService {
     public static class TollCalculationResult {
         private VehicleType vehicleType;
         private double distanceKm;
-        private double ratePerKm;
-        private double totalToll;
+        private long ratePerKmPaise;
+        private long totalTollPaise;
         private String highwayName;
 
         public TollCalculationResult(VehicleType vehicleType, double distanceKm,
-                double ratePerKm, double totalToll, String highwayName) {
+                long ratePerKmPaise, long totalTollPaise, String highwayName) {
             this.vehicleType = vehicleType;
             this.distanceKm = distanceKm;
-            this.ratePerKm = ratePerKm;
-            this.totalToll = totalToll;
+            this.ratePerKmPaise = ratePerKmPaise;
+            this.totalTollPaise = totalTollPaise;
             this.highwayName = highwayName;
         }
 
@@ -148,12 +200,13 @@ public class TollCalculationService {
             return distanceKm;
         }
 
+        // Rupees, for the API
         public double getRatePerKm() {
-            return ratePerKm;
+            return Money.toRupees(ratePerKmPaise);
         }
 
         public double getTotalToll() {
-            return totalToll;
+            return Money.toRupees(totalTollPaise);
         }
 
         public String getHighwayName() {
@@ -165,8 +218,8 @@ public class TollCalculationService {
             return "TollCalculationResult{" +
                     "vehicleType=" + vehicleType +
                     ", distanceKm=" + distanceKm + " km" +
-                    ", ratePerKm=₹" + ratePerKm + "/km" +
-                    ", totalToll=₹" + totalToll +
+                    ", ratePerKm=" + Money.format(ratePerKmPaise) + "/km" +
+                    ", totalToll=" + Money.format(totalTollPaise) +
                     ", highwayName='" + highwayName + '\'' +
                     '}';
         }
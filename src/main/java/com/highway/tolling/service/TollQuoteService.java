@@ -0,0 +1,190 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.dto.TollQuoteRequest;
+import com.highway.tolling.model.Money;
+import com.highway.tolling.model.VehicleType;
+import com.highway.tolling.service.VehicleRegistryService.RegisteredVehicle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Toll Quote Service
+ * Prices batches of routes for fleet planners and streams one NDJSON line
+ * per route.
+ *
+ * Vehicles, rates and time-of-day multipliers come from the in-memory
+ * VehicleRegistryService, TollRateTable and PricingSchedule; the table and
+ * schedule are taken once per batch, so a batch is priced against one
+ * consistent set of rates and the loop never touches the database.
+ * A route that cannot be priced yields an error line; the batch goes on.
+ */
+@Service
+public class TollQuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TollQuoteService.class);
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final VehicleRegistryService vehicleRegistryService;
+    private final TollRateService tollRateService;
+    private final PricingWindowService pricingWindowService;
+    private final TollCalculationService tollCalculationService;
+
+    @Value("${app.toll.quotes.max-batch-size:100000}")
+    private int maxBatchSize;
+
+    @Autowired
+    public TollQuoteService(VehicleRegistryService vehicleRegistryService, TollRateService tollRateService,
+            PricingWindowService pricingWindowService, TollCalculationService tollCalculationService) {
+        this.vehicleRegistryService = vehicleRegistryService;
+        this.tollRateService = tollRateService;
+        this.pricingWindowService = pricingWindowService;
+        this.tollCalculationService = tollCalculationService;
+    }
+
+    /**
+     * Validate a batch before the response is committed
+     *
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    public void validate(List<TollQuoteRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one route is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " routes per batch");
+        }
+    }
+
+    /**
+     * Price a batch of routes and stream the quotes
+     * Line i answers route i: index, vehicleId, vehicleType, highwayId,
+     * distanceKm, time, ratePerKm, multiplier, totalToll and rateVersion, or
+     * index and error.
+     *
+     * @param requests    The routes
+     * @param defaultTime Time of routes without a time
+     * @param out         Target stream (not closed)
+     * @return Number of routes priced
+     */
+    public long writeQuotes(List<TollQuoteRequest> requests, LocalDateTime defaultTime, OutputStream out) {
+        validate(requests);
+        long start = System.currentTimeMillis();
+        TollRateTable rateTable = tollRateService.getRateTable();
+        PricingSchedule schedule = pricingWindowService.getSchedule();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        long priced = 0;
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                TollQuoteRequest request = requests.get(i);
+                String error = quote(i, request, defaultTime, rateTable, schedule, writer);
+                if (error == null) {
+                    priced++;
+                } else {
+                    writer.write("{\"index\":");
+                    writer.write(Integer.toString(i));
+                    writer.write(",\"error\":\"");
+                    writer.write(error); // Fixed messages, nothing to escape
+                    writer.write("\"}\n");
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.info("Quoted {} of {} routes in {} ms", priced, requests.size(), System.currentTimeMillis() - start);
+        return priced;
+    }
+
+    /**
+     * Price one route and write its quote line
+     *
+     * @return null if the quote was written, otherwise the error
+     */
+    private String quote(int index, TollQuoteRequest request, LocalDateTime defaultTime, TollRateTable rateTable,
+            PricingSchedule schedule, Writer writer) throws IOException {
+        if (request == null || request.getHighwayId() == null) {
+            return "Highway ID is required";
+        }
+        Double distanceKm = request.getDistanceKm();
+        if (distanceKm == null || !(distanceKm > 0) || distanceKm.isInfinite()) {
+            return "Distance must be greater than 0";
+        }
+
+        VehicleType vehicleType = request.getVehicleType();
+        if (request.getVehicleId() != null) {
+            RegisteredVehicle vehicle = vehicleRegistryService.find(request.getVehicleId()).orElse(null);
+            if (vehicle == null) {
+                return "Vehicle not found";
+            }
+            vehicleType = vehicle.getVehicleType();
+        }
+        if (vehicleType == null) {
+            return "Vehicle ID or vehicle type is required";
+        }
+
+        LocalDateTime time = request.getTime() != null ? request.getTime() : defaultTime;
+        int rate = rateTable.find(request.getHighwayId(), vehicleType, time);
+        if (rate < 0) {
+            return "No toll rate for highway";
+        }
+        long ratePerKmPaise = rateTable.getRatePerKmPaise(rate);
+        double multiplier = schedule.getMultiplier(request.getHighwayId(), time);
+        long tollPaise = tollCalculationService.calculateSessionToll(distanceKm, ratePerKmPaise, multiplier, 0);
+
+        writer.write("{\"index\":");
+        writer.write(Integer.toString(index));
+        writer.write(",\"vehicleId\":");
+        writer.write(String.valueOf(request.getVehicleId()));
+        writer.write(",\"vehicleType\":\"");
+        writer.write(vehicleType.name());
+        writer.write("\",\"highwayId\":");
+        writer.write(request.getHighwayId().toString());
+        writer.write(",\"distanceKm\":");
+        writer.write(distanceKm.toString());
+        writer.write(",\"time\":\"");
+        writer.write(time.toString());
+        writer.write("\",\"ratePerKm\":");
+        writeRupees(writer, ratePerKmPaise);
+        writer.write(",\"multiplier\":");
+        writer.write(Double.toString(multiplier));
+        writer.write(",\"totalToll\":");
+        writeRupees(writer, tollPaise);
+        writer.write(",\"rateVersion\":");
+        writer.write(Long.toString(rateTable.getRateId(rate)));
+        writer.write("}\n");
+        return null;
+    }
+
+    /**
+     * Write paise as an exact rupee number, e.g. 11375 as 113.75
+     */
+    private static void writeRupees(Writer writer, long paise) throws IOException {
+        if (paise < 0) {
+            writer.write('-');
+            paise = -paise;
+        }
+        writer.write(Long.toString(paise / Money.PAISE_PER_RUPEE));
+        writer.write('.');
+        long fraction = paise % Money.PAISE_PER_RUPEE;
+        if (fraction < 10) {
+            writer.write('0');
+        }
+        writer.write(Long.toString(fraction));
+    }
+}
@@ -0,0 +1,148 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Highway;
+import com.highway.tolling.model.TollRate;
+import com.highway.tolling.model.VehicleType;
+import com.highway.tolling.repository.TollRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Toll Rate Service
+ * Keeps the versioned toll rates (db/08_toll_rates.sql) and serves them from
+ * an in-memory TollRateTable, so pricing never queries the database.
+ * Versions are appended, never updated: a rate change takes effect from its
+ * effective time and leaves the pricing of earlier trips unchanged.
+ */
+@Service
+public class TollRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TollRateService.class);
+
+    // Effective time of the versions seeded from a highway's rate columns
+    private static final LocalDateTime ORIGINAL_RATES_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TollRateRepository tollRateRepository;
+
+    // Replaced as a whole on reload; lookups never see a partial table
+    private volatile TollRateTable rateTable = TollRateTable.EMPTY;
+
+    @Autowired
+    public TollRateService(TollRateRepository tollRateRepository) {
+        this.tollRateRepository = tollRateRepository;
+    }
+
+    /**
+     * Reload the rate table after a highway change
+     * Also runs at startup (HighwayService loads the catalog before the web
+     * server starts); highways without rate versions are seeded from their
+     * rate columns first.
+     */
+    @EventListener(HighwayCatalogChangedEvent.class)
+    public void onHighwayCatalogChanged(HighwayCatalogChangedEvent event) {
+        Set<Long> ratedHighways = new HashSet<>(tollRateRepository.findRatedHighwayIds());
+        List<TollRate> seeds = new ArrayList<>();
+        for (Highway highway : event.getCatalog().getAll()) {
+            if (!ratedHighways.contains(highway.getHighwayId())) {
+                for (VehicleType vehicleType : VehicleType.values()) {
+                    seeds.add(new TollRate(highway.getHighwayId(), vehicleType,
+                            event.getCatalog().getRatePerKmPaise(highway.getHighwayId(), vehicleType),
+                            ORIGINAL_RATES_FROM));
+                }
+            }
+        }
+        if (!seeds.isEmpty()) {
+            tollRateRepository.saveAll(seeds);
+        }
+        reload();
+    }
+
+    /**
+     * Reload the rate table from the database
+     */
+    public synchronized void reload() {
+        TollRateTable table = TollRateTable.build(tollRateRepository.findAll());
+        rateTable = table;
+        logger.info("Toll rate table rebuilt: {} rate versions", table.getVersionCount());
+    }
+
+    /**
+     * Get the current rate table
+     */
+    public TollRateTable getRateTable() {
+        return rateTable;
+    }
+
+    /**
+     * Get the rate in effect for a highway and vehicle type at an instant,
+     * in paise per km
+     *
+     * @throws RuntimeException if the highway has no rates
+     */
+    public long getRatePerKmPaise(Long highwayId, VehicleType vehicleType, LocalDateTime at) {
+        return rateTable.getRatePerKmPaise(highwayId, vehicleType, at);
+    }
+
+    /**
+     * Get the rate history of a highway, per vehicle type, oldest first
+     */
+    public List<TollRate> getRateHistory(Long highwayId) {
+        return tollRateRepository.findByHighwayIdOrderByVehicleTypeAscEffectiveFromAsc(highwayId);
+    }
+
+    /**
+     * Append a version for every vehicle type whose rate differs between two
+     * states of a highway (buses follow the truck rate)
+     * The caller reloads the table (through the catalog change event).
+     *
+     * @return the appended versions
+     */
+    public List<TollRate> recordRateChanges(Highway before, Highway after, LocalDateTime effectiveFrom) {
+        List<TollRate> changes = new ArrayList<>();
+        for (VehicleType vehicleType : VehicleType.values()) {
+            long newRate = rateColumnFor(after, vehicleType);
+            if (rateColumnFor(before, vehicleType) != newRate) {
+                changes.add(new TollRate(after.getHighwayId(), vehicleType, newRate, effectiveFrom));
+            }
+        }
+        return changes.isEmpty() ? changes : tollRateRepository.saveAll(changes);
+    }
+
+    /**
+     * Schedule a rate version
+     * The caller must check that the highway exists.
+     */
+    public TollRate scheduleRate(TollRate rate) {
+        if (rate.getVehicleType() == null || rate.getEffectiveFrom() == null) {
+            throw new RuntimeException("Vehicle type and effective time are required");
+        }
+        if (rate.getRatePerKmPaise() == null || rate.getRatePerKmPaise() < 0) {
+            throw new RuntimeException("Rate per km must not be negative");
+        }
+        rate.setRateId(null);
+        rate.setCreatedAt(LocalDateTime.now());
+        TollRate savedRate = tollRateRepository.save(rate);
+        reload();
+        return savedRate;
+    }
+
+    private static long rateColumnFor(Highway highway, VehicleType vehicleType) {
+        switch (vehicleType) {
+            case CAR:
+                return highway.getRatePerKmForCarPaise();
+            case BIKE:
+                return highway.getRatePerKmForBikePaise();
+            default:
+                return highway.getRatePerKmForTruckPaise(); // Buses pay the truck rate
+        }
+    }
+}
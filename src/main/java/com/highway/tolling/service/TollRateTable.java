@@ -0,0 +1,155 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.TollRate;
+import com.highway.tolling.model.VehicleType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toll Rate Table
+ * Immutable lookup of the rate in effect for a (highway, vehicle type,
+ * instant).
+ *
+ * All versions live in flat arrays, grouped by highway and vehicle type and
+ * sorted by effective time; each group is a contiguous range found with one
+ * map lookup, and the version in effect is found by binary search over the
+ * range - O(log versions), no allocation.
+ * Rebuilt as a whole when rates change (see TollRateService).
+ */
+public final class TollRateTable {
+
+    private static final int TYPES = VehicleType.values().length;
+
+    public static final TollRateTable EMPTY = build(new ArrayList<>());
+
+    private final long[] effectiveFrom; // epoch seconds (UTC, as LocalDateTime carries no zone)
+    private final long[] ratePerKmPaise;
+    private final long[] rateId;
+    // highwayId -> {start of CAR, end of CAR, start of BIKE, ...} indexed by VehicleType.ordinal()
+    private final Map<Long, int[]> ranges;
+
+    private TollRateTable(long[] effectiveFrom, long[] ratePerKmPaise, long[] rateId, Map<Long, int[]> ranges) {
+        this.effectiveFrom = effectiveFrom;
+        this.ratePerKmPaise = ratePerKmPaise;
+        this.rateId = rateId;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Compile rate versions into a table
+     */
+    public static TollRateTable build(List<TollRate> rates) {
+        List<TollRate> sorted = new ArrayList<>(rates);
+        sorted.sort(Comparator.comparing(TollRate::getHighwayId)
+                .thenComparing(TollRate::getVehicleType)
+                .thenComparing(TollRate::getEffectiveFrom)
+                .thenComparing(TollRate::getRateId));
+
+        int n = sorted.size();
+        long[] effectiveFrom = new long[n];
+        long[] ratePerKmPaise = new long[n];
+        long[] rateId = new long[n];
+        Map<Long, int[]> ranges = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            TollRate rate = sorted.get(i);
+            effectiveFrom[i] = toEpochSecond(rate.getEffectiveFrom());
+            ratePerKmPaise[i] = rate.getRatePerKmPaise();
+            rateId[i] = rate.getRateId();
+
+            int[] range = ranges.computeIfAbsent(rate.getHighwayId(), id -> new int[TYPES * 2]);
+            int slot = rate.getVehicleType().ordinal() * 2;
+            if (range[slot + 1] == 0) {
+                range[slot] = i; // First version of this highway and type
+            }
+            range[slot + 1] = i + 1;
+        }
+        return new TollRateTable(effectiveFrom, ratePerKmPaise, rateId, ranges);
+    }
+
+    /**
+     * Find the rate version in effect
+     * An instant before the first version resolves to the first version (the
+     * highway's original rate).
+     *
+     * @return position of the version, to be passed to getRatePerKmPaise(int) and
+     *         getRateId(int); -1 if the highway and type have no rates
+     */
+    public int find(Long highwayId, VehicleType vehicleType, LocalDateTime at) {
+        int[] range = ranges.get(highwayId);
+        if (range == null) {
+            return -1;
+        }
+        int lo = range[vehicleType.ordinal() * 2];
+        int hi = range[vehicleType.ordinal() * 2 + 1] - 1;
+        if (hi < lo) {
+            return -1;
+        }
+
+        // Last version with effectiveFrom <= at
+        long instant = toEpochSecond(at);
+        int found = lo;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (effectiveFrom[mid] <= instant) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get the rate in effect for a highway and vehicle type at an instant,
+     * in paise per km
+     *
+     * @throws RuntimeException if the highway has no rates for the type
+     */
+    public long getRatePerKmPaise(Long highwayId, VehicleType vehicleType, LocalDateTime at) {
+        int position = find(highwayId, vehicleType, at);
+        if (position < 0) {
+            throw new RuntimeException("No toll rate for highway " + highwayId + " and " + vehicleType);
+        }
+        return ratePerKmPaise[position];
+    }
+
+    /**
+     * Get the rate per km, in paise, of a version found with find()
+     */
+    public long getRatePerKmPaise(int position) {
+        return ratePerKmPaise[position];
+    }
+
+    /**
+     * Get the ID of a version found with find()
+     */
+    public long getRateId(int position) {
+        return rateId[position];
+    }
+
+    /**
+     * Check if a highway has any rate versions
+     */
+    public boolean hasRates(Long highwayId) {
+        return ranges.containsKey(highwayId);
+    }
+
+    /**
+     * Get the total number of rate versions
+     */
+    public int getVersionCount() {
+        return rateId.length;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
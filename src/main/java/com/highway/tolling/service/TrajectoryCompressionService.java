@@ -0,0 +1,498 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.LocationTracking;
+import com.highway.tolling.repository.DataAnomalyRepository;
+import com.highway.tolling.repository.LocationTrackingRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trajectory Compression Service
+ * Stores only the GPS points needed to reproduce a vehicle's path within a
+ * configured tolerance.
+ *
+ * Online (ingest): opening-window simplification per vehicle. Points are held
+ * back while every point since the last stored one (the anchor) stays within
+ * the tolerance of the segment anchor -> newest point. When that fails, the
+ * last held point is stored and becomes the new anchor.
+ *
+ * Offline (history): Douglas-Peucker over runs of points with the same highway
+ * state.
+ *
+ * The offline pass re-simplifies points the online pass already kept, so the
+ * errors of the two stages add up. When both are enabled each gets half of
+ * the tolerance, keeping every dropped point within the tolerance of the
+ * final path.
+ *
+ * Every point still goes through the highway state machine, so session entry
+ * and exit are detected at full GPS resolution. Stored points carry the summed
+ * distance of the points they replace in distanceFromPrevious.
+ *
+ * Held-back points live only in memory. A periodic sweep stores the tail of
+ * vehicles that went silent (see TrajectoryWindowSweepScheduler), so the
+ * stored last position is at most max-interval-seconds plus one sweep behind.
+ */
+@Service
+public class TrajectoryCompressionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrajectoryCompressionService.class);
+
+    private final LocationTrackingService locationTrackingService;
+    private final LocationTrackingRepository locationTrackingRepository;
+    private final DataAnomalyRepository anomalyRepository;
+    private final DistanceCalculatorService distanceCalculatorService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tracking.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${app.tracking.compaction.enabled:true}")
+    private boolean compactionEnabled;
+
+    // End-to-end tolerance of online compression plus offline compaction
+    @Value("${app.tracking.compression.tolerance-meters:10}")
+    private double toleranceMeters;
+
+    // Upper bound on held-back points per vehicle (bounds memory and per-ping work)
+    @Value("${app.tracking.compression.max-buffered-points:50}")
+    private int maxBufferedPoints;
+
+    // Maximum time between two stored points
+    @Value("${app.tracking.compression.max-interval-seconds:300}")
+    private long maxIntervalSeconds;
+
+    private final ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+
+    private final AtomicLong pointsReceived = new AtomicLong();
+    private final AtomicLong pointsStored = new AtomicLong();
+
+    @Autowired
+    public TrajectoryCompressionService(LocationTrackingService locationTrackingService,
+            LocationTrackingRepository locationTrackingRepository,
+            DataAnomalyRepository anomalyRepository,
+            DistanceCalculatorService distanceCalculatorService,
+            TransactionTemplate transactionTemplate) {
+        this.locationTrackingService = locationTrackingService;
+        this.locationTrackingRepository = locationTrackingRepository;
+        this.anomalyRepository = anomalyRepository;
+        this.distanceCalculatorService = distanceCalculatorService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Get the last point accepted for a vehicle, stored or held back
+     * This is the point the next ping must be compared against.
+     *
+     * @param vehicleId The vehicle ID
+     * @return Optional containing the last accepted point
+     */
+    public Optional<LocationTracking> getLastAcceptedPoint(Long vehicleId) {
+        Window window = windows.get(vehicleId);
+        if (window != null) {
+            synchronized (window) {
+                return Optional.ofNullable(window.lastAccepted());
+            }
+        }
+
+        // Cold start - seed the window from the latest stored point
+        Optional<LocationTracking> latest = locationTrackingService.getLatestLocation(vehicleId);
+        latest.ifPresent(location -> windows.putIfAbsent(vehicleId, new Window(location)));
+        return latest;
+    }
+
+    /**
+     * Offer a processed GPS point for storage
+     *
+     * @param location The point, after highway detection and distance processing
+     * @param forceKeep true if the point must be stored (highway state change)
+     * @return The saved point, or the unsaved point (null ID) if it was held back
+     */
+    public LocationTracking offer(LocationTracking location, boolean forceKeep) {
+        pointsReceived.incrementAndGet();
+
+        if (!compressionEnabled) {
+            return store(location);
+        }
+
+        while (true) {
+            Window window = windows.computeIfAbsent(location.getVehicleId(), id -> new Window(null));
+            synchronized (window) {
+                if (window.evicted) {
+                    continue; // Swept while waiting for the lock - use a fresh window
+                }
+
+                if (window.anchor == null || forceKeep) {
+                    flush(window);
+                    window.anchor = store(location);
+                    return window.anchor;
+                }
+
+                boolean anchorTooOld = Duration.between(window.anchor.getTimestamp(), location.getTimestamp())
+                        .getSeconds() >= maxIntervalSeconds;
+                if (anchorTooOld) {
+                    // The held-back points are already within tolerance of anchor -> last held
+                    flush(window);
+                    window.anchor = store(location);
+                    return window.anchor;
+                }
+
+                if (window.buffer.size() >= maxBufferedPoints || !fitsWindow(window, location)) {
+                    flush(window);
+                }
+
+                window.buffer.addLast(location);
+                return location;
+            }
+        }
+    }
+
+    /**
+     * Store a point that is still held back
+     * Used before an anomaly is recorded against a point, so the anomaly
+     * references a stored row and the point cannot be dropped later. Only
+     * the newest held-back point (the last accepted one) can be kept this
+     * way; it becomes the new anchor.
+     *
+     * @param location a point returned by offer, or the last accepted point
+     * @return the same point, stored if it was held back
+     */
+    public LocationTracking keep(LocationTracking location) {
+        if (location.getId() != null) {
+            return location;
+        }
+
+        Window window = windows.get(location.getVehicleId());
+        if (window == null) {
+            return location;
+        }
+        synchronized (window) {
+            if (!window.buffer.isEmpty() && window.buffer.getLast() == location) {
+                flush(window);
+            }
+        }
+        return location;
+    }
+
+    /**
+     * Store the tails of silent vehicles and drop their windows
+     * A window whose newest point is older than max-interval-seconds has its
+     * held-back points stored (the newest one becomes the stored last
+     * position) and is removed; the vehicle's next ping seeds a new window
+     * from the database.
+     *
+     * @param now current time
+     * @return number of windows dropped
+     */
+    public int sweepIdleWindows(LocalDateTime now) {
+        LocalDateTime idleBefore = now.minusSeconds(maxIntervalSeconds);
+        int dropped = 0;
+        for (Map.Entry<Long, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            synchronized (window) {
+                LocationTracking newest = window.lastAccepted();
+                if (newest != null && !newest.getTimestamp().isBefore(idleBefore)) {
+                    continue;
+                }
+                try {
+                    flush(window);
+                } catch (Exception e) {
+                    logger.error("Error storing held-back points of vehicle {}: {}", entry.getKey(), e.getMessage());
+                    continue;
+                }
+                window.evicted = true;
+                windows.remove(entry.getKey(), window);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Get the number of vehicles with a live window
+     */
+    public int getWindowCount() {
+        return windows.size();
+    }
+
+    /**
+     * Store all held-back tails (application shutdown)
+     */
+    @PreDestroy
+    public void flushAll() {
+        for (Window window : windows.values()) {
+            synchronized (window) {
+                flush(window);
+            }
+        }
+    }
+
+    /**
+     * Get the online compression ratio since startup (received / stored)
+     */
+    public CompressionResult getOnlineStats() {
+        return new CompressionResult(pointsReceived.get(), pointsStored.get());
+    }
+
+    /**
+     * Compact stored history of all vehicles within a time range
+     * Only use for closed ranges - live windows are not consulted.
+     *
+     * @param from range start (inclusive)
+     * @param to   range end (inclusive)
+     * @return Combined compaction result
+     */
+    public CompressionResult compactHistory(LocalDateTime from, LocalDateTime to) {
+        long before = 0;
+        long after = 0;
+
+        for (Long vehicleId : locationTrackingRepository.findDistinctVehicleIdsBetween(from, to)) {
+            try {
+                CompressionResult result = compactVehicleHistory(vehicleId, from, to);
+                before += result.getPointsBefore();
+                after += result.getPointsAfter();
+            } catch (Exception e) {
+                logger.error("Error compacting history of vehicle {}: {}", vehicleId, e.getMessage());
+            }
+        }
+
+        CompressionResult total = new CompressionResult(before, after);
+        logger.info("Compacted location history {} to {}: {}", from, to, total);
+        return total;
+    }
+
+    /**
+     * Compact stored history of one vehicle within a time range
+     * Keeps highway state changes and points referenced by anomalies. The
+     * moved distances and the deletions are written in one transaction, so a
+     * failure cannot count the distance of dropped points twice.
+     *
+     * @param vehicleId The vehicle ID
+     * @param from      range start (inclusive)
+     * @param to        range end (inclusive)
+     * @return Compaction result for the vehicle
+     */
+    public CompressionResult compactVehicleHistory(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        List<LocationTracking> points = locationTrackingRepository
+                .findByVehicleIdAndTimestampBetweenOrderByTimestampAsc(vehicleId, from, to);
+        int n = points.size();
+        if (n < 3) {
+            return new CompressionResult(n, n);
+        }
+
+        Set<Long> referencedIds = new HashSet<>(anomalyRepository.findRelatedLocationIdsByVehicleId(vehicleId));
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        for (int i = 1; i < n; i++) {
+            if (!sameHighwayState(points.get(i - 1), points.get(i))) {
+                keep[i - 1] = true;
+                keep[i] = true;
+            }
+            if (referencedIds.contains(points.get(i).getId())) {
+                keep[i] = true;
+            }
+        }
+
+        // Simplify between consecutive forced points
+        int start = 0;
+        for (int i = 1; i < n; i++) {
+            if (keep[i]) {
+                douglasPeucker(points, start, i, keep);
+                start = i;
+            }
+        }
+
+        // Fold the distance of dropped points into the next kept point
+        List<LocationTracking> updated = new ArrayList<>();
+        List<Long> dropped = new ArrayList<>();
+        double carriedDistance = 0.0;
+        for (int i = 0; i < n; i++) {
+            LocationTracking point = points.get(i);
+            double ownDistance = point.getDistanceFromPrevious() != null ? point.getDistanceFromPrevious() : 0.0;
+            if (!keep[i]) {
+                carriedDistance += ownDistance;
+                dropped.add(point.getId());
+            } else if (carriedDistance > 0) {
+                point.setDistanceFromPrevious(ownDistance + carriedDistance);
+                updated.add(point);
+                carriedDistance = 0.0;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            locationTrackingRepository.saveAll(updated);
+            locationTrackingRepository.deleteAllByIdInBatch(dropped);
+        });
+
+        return new CompressionResult(n, n - dropped.size());
+    }
+
+    /**
+     * Iterative Douglas-Peucker between two kept indices (exclusive)
+     */
+    private void douglasPeucker(List<LocationTracking> points, int first, int last, boolean[] keep) {
+        double toleranceKm = stageToleranceMeters(compressionEnabled) / 1000.0;
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] { first, last });
+
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int a = range[0];
+            int b = range[1];
+            if (b - a < 2) {
+                continue;
+            }
+
+            LocationTracking start = points.get(a);
+            LocationTracking end = points.get(b);
+            double maxDistance = -1;
+            int farthest = -1;
+            for (int i = a + 1; i < b; i++) {
+                double d = distanceToSegment(points.get(i), start, end);
+                if (d > maxDistance) {
+                    maxDistance = d;
+                    farthest = i;
+                }
+            }
+
+            if (maxDistance > toleranceKm) {
+                keep[farthest] = true;
+                stack.push(new int[] { a, farthest });
+                stack.push(new int[] { farthest, b });
+            }
+        }
+    }
+
+    /**
+     * Check that all held-back points stay within tolerance of anchor -> candidate
+     */
+    private boolean fitsWindow(Window window, LocationTracking candidate) {
+        double toleranceKm = stageToleranceMeters(compactionEnabled) / 1000.0;
+        for (LocationTracking point : window.buffer) {
+            if (distanceToSegment(point, window.anchor, candidate) > toleranceKm) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Store the newest held-back point as the new anchor and drop the rest
+     */
+    private void flush(Window window) {
+        if (window.buffer.isEmpty()) {
+            return;
+        }
+
+        double summedDistance = 0.0;
+        for (LocationTracking point : window.buffer) {
+            if (point.getDistanceFromPrevious() != null) {
+                summedDistance += point.getDistanceFromPrevious();
+            }
+        }
+
+        LocationTracking last = window.buffer.getLast();
+        last.setDistanceFromPrevious(summedDistance);
+        window.buffer.clear();
+        window.anchor = store(last);
+    }
+
+    /**
+     * Tolerance of one stage: half of the total if the other stage also runs
+     */
+    private double stageToleranceMeters(boolean otherStageEnabled) {
+        return otherStageEnabled ? toleranceMeters / 2 : toleranceMeters;
+    }
+
+    private LocationTracking store(LocationTracking location) {
+        pointsStored.incrementAndGet();
+        return locationTrackingService.saveLocation(location);
+    }
+
+    private double distanceToSegment(LocationTracking point, LocationTracking start, LocationTracking end) {
+        return distanceCalculatorService.calculateDistanceToSegment(
+                point.getLatitude(), point.getLongitude(),
+                start.getLatitude(), start.getLongitude(),
+                end.getLatitude(), end.getLongitude());
+    }
+
+    private boolean sameHighwayState(LocationTracking a, LocationTracking b) {
+        return Objects.equals(a.getHighwayId(), b.getHighwayId())
+                && Objects.equals(a.getIsOnHighway(), b.getIsOnHighway());
+    }
+
+    /**
+     * Per-vehicle simplification state
+     */
+    private static class Window {
+        private LocationTracking anchor; // last stored point
+        private final ArrayDeque<LocationTracking> buffer = new ArrayDeque<>(); // held-back points
+        private boolean evicted; // removed from the map by the idle sweep
+
+        Window(LocationTracking anchor) {
+            this.anchor = anchor;
+        }
+
+        LocationTracking lastAccepted() {
+            return buffer.isEmpty() ? anchor : buffer.getLast();
+        }
+    }
+
+    /**
+     * Inner class to hold compression results
+     */
+    public static class CompressionResult {
+        private long pointsBefore;
+        private long pointsAfter;
+
+        public CompressionResult(long pointsBefore, long pointsAfter) {
+            this.pointsBefore = pointsBefore;
+            this.pointsAfter = pointsAfter;
+        }
+
+        // Getters
+        public long getPointsBefore() {
+            return pointsBefore;
+        }
+
+        public long getPointsAfter() {
+            return pointsAfter;
+        }
+
+        /**
+         * Compression ratio (points before / points after), 1.0 if nothing stored
+         */
+        public double getCompressionRatio() {
+            return pointsAfter > 0 ? (double) pointsBefore / pointsAfter : 1.0;
+        }
+
+        @Override
+        public String toString() {
+            return "CompressionResult{" +
+                    "pointsBefore=" + pointsBefore +
+                    ", pointsAfter=" + pointsAfter +
+                    ", compressionRatio=" + String.format("%.2f", getCompressionRatio()) +
+                    '}';
+        }
+    }
+}
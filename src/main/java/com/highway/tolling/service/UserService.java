@@ -1,8 +1,11 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.User;
 import com.highway.tolling.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,10 +19,16 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final VehicleRegistryService vehicleRegistryService;
+    private final VehicleLastSeenService vehicleLastSeenService;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+            VehicleRegistryService vehicleRegistryService,
+            VehicleLastSeenService vehicleLastSeenService) {
         this.userRepository = userRepository;
+        this.vehicleRegistryService = vehicleRegistryService;
+        this.vehicleLastSeenService = vehicleLastSeenService;
     }
 
     /**
@@ -51,6 +60,19 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Get one page of users, ordered by ID
+     * 
+     * @param cursor cursor from the previous page (null for the first page)
+     * @param limit  page size
+     * @return page of users
+     */
+    public PageResponse<User> getUsersPage(String cursor, int limit) {
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                PageCursor.decodeId(cursor), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(users, limit, user -> PageCursor.encode(user.getUserId()));
+    }
+
     /**
      * Get a user by ID (includes vehicles)
      * 
@@ -98,5 +120,7 @@ public class UserService {
             throw new RuntimeException("User not found with id: " + userId);
         }
         userRepository.deleteById(userId);
+        // Vehicles are deleted with their owner
+        vehicleLastSeenService.unregisterAll(vehicleRegistryService.unregisterOwner(userId));
     }
 }
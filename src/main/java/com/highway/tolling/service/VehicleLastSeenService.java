@@ -0,0 +1,178 @@
+package com.highway.tolling.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vehicle Last-Seen Service
+ * Keeps the most recent GPS fix of every vehicle in memory, including pings
+ * that were not persisted to location_tracking (stationary suppression).
+ *
+ * Only pings within the heartbeat interval can be suppressed, so a vehicle
+ * silent for longer than that has a persisted row at least as useful as its
+ * entry here; such entries are evicted (see VehicleLastSeenSweepScheduler).
+ */
+@Service
+public class VehicleLastSeenService {
+
+    @Value("${app.iot.stationary-suppression.heartbeat-seconds:300}")
+    private long heartbeatIntervalSeconds;
+
+    private final ConcurrentHashMap<Long, LastSeen> lastSeenByVehicle = new ConcurrentHashMap<>();
+
+    /**
+     * Record a GPS ping for a vehicle
+     *
+     * @param vehicleId       The vehicle ID
+     * @param latitude        Latitude of the ping
+     * @param longitude       Longitude of the ping
+     * @param timestamp       Device timestamp of the ping
+     * @param stationary      true if the ping moved less than the noise threshold
+     * @param anchorTimestamp Timestamp of the last persisted point the ping was
+     *                        compared against
+     * @return The updated last-seen state
+     */
+    public LastSeen recordPing(Long vehicleId, double latitude, double longitude,
+            LocalDateTime timestamp, boolean stationary, LocalDateTime anchorTimestamp) {
+        return lastSeenByVehicle.compute(vehicleId, (id, existing) -> {
+            LastSeen updated = new LastSeen(latitude, longitude, timestamp);
+            if (stationary) {
+                boolean continuing = existing != null && existing.getStationarySince() != null;
+                updated.stationarySince = continuing ? existing.getStationarySince() : anchorTimestamp;
+                updated.suppressedPings = existing != null ? existing.getSuppressedPings() : 0;
+                updated.inactivityFlagged = continuing && existing.isInactivityFlagged();
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Count a ping that was absorbed without writing a location_tracking row
+     */
+    public void recordSuppressedPing(Long vehicleId) {
+        lastSeenByVehicle.computeIfPresent(vehicleId, (id, lastSeen) -> {
+            lastSeen.suppressedPings++;
+            return lastSeen;
+        });
+    }
+
+    /**
+     * Remember that an inactivity anomaly has already been raised for the
+     * current stationary episode
+     */
+    public void markInactivityFlagged(Long vehicleId) {
+        lastSeenByVehicle.computeIfPresent(vehicleId, (id, lastSeen) -> {
+            lastSeen.inactivityFlagged = true;
+            return lastSeen;
+        });
+    }
+
+    /**
+     * Get the last-seen state of a vehicle (if any ping was received since
+     * startup)
+     */
+    public Optional<LastSeen> getLastSeen(Long vehicleId) {
+        return Optional.ofNullable(lastSeenByVehicle.get(vehicleId));
+    }
+
+    /**
+     * Drop the entries of vehicles not seen for longer than the heartbeat
+     * interval
+     *
+     * @param now current time
+     * @return number of entries dropped
+     */
+    public int evictIdle(LocalDateTime now) {
+        LocalDateTime idleBefore = now.minusSeconds(heartbeatIntervalSeconds);
+        int dropped = 0;
+        for (Map.Entry<Long, LastSeen> entry : lastSeenByVehicle.entrySet()) {
+            // Conditional remove: a ping recorded meanwhile replaces the entry and keeps it
+            if (entry.getValue().getTimestamp().isBefore(idleBefore)
+                    && lastSeenByVehicle.remove(entry.getKey(), entry.getValue())) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Forget a vehicle (after it was deleted)
+     */
+    public void unregister(Long vehicleId) {
+        lastSeenByVehicle.remove(vehicleId);
+    }
+
+    /**
+     * Forget several vehicles (after their owner was deleted)
+     */
+    public void unregisterAll(Collection<Long> vehicleIds) {
+        vehicleIds.forEach(lastSeenByVehicle::remove);
+    }
+
+    /**
+     * Get the number of vehicles with a last-seen entry
+     */
+    public int size() {
+        return lastSeenByVehicle.size();
+    }
+
+    /**
+     * Inner class holding the last known position of a vehicle
+     */
+    public static class LastSeen {
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime timestamp;
+        private LocalDateTime stationarySince; // null while the vehicle is moving
+        private long suppressedPings;
+        private boolean inactivityFlagged;
+
+        public LastSeen(double latitude, double longitude, LocalDateTime timestamp) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+        }
+
+        // Getters
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public LocalDateTime getStationarySince() {
+            return stationarySince;
+        }
+
+        public long getSuppressedPings() {
+            return suppressedPings;
+        }
+
+        public boolean isInactivityFlagged() {
+            return inactivityFlagged;
+        }
+
+        @Override
+        public String toString() {
+            return "LastSeen{" +
+                    "latitude=" + latitude +
+                    ", longitude=" + longitude +
+                    ", timestamp=" + timestamp +
+                    ", stationarySince=" + stationarySince +
+                    ", suppressedPings=" + suppressedPings +
+                    '}';
+        }
+    }
+}
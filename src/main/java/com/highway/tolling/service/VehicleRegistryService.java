@@ -0,0 +1,197 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Vehicle;
+import com.highway.tolling.model.VehicleType;
+import com.highway.tolling.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vehicle Registry Service
+ * In-memory registry of every vehicle's type and owner, so GPS ingest can
+ * validate a vehicle ID without loading the Vehicle and its User.
+ *
+ * A bitset over vehicle IDs sits in front of the map: IDs that were never
+ * registered are rejected with one array read. The bitset is copied on write
+ * (registrations are rare), so readers never lock.
+ * Loaded at startup and kept current by VehicleService.
+ */
+@Service
+public class VehicleRegistryService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleRegistryService.class);
+
+    private final VehicleRepository vehicleRepository;
+
+    private final ConcurrentHashMap<Long, RegisteredVehicle> vehicles = new ConcurrentHashMap<>();
+
+    // Bit i of knownIds[i >> 6] is set if vehicle ID i is registered
+    private volatile long[] knownIds = new long[0];
+
+    @Autowired
+    public VehicleRegistryService(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    /**
+     * Load the registry once all beans exist, before the web server starts
+     * accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Load every vehicle from the database
+     * Runs at startup; call it after editing the vehicles table directly.
+     */
+    public synchronized void reload() {
+        List<Object[]> rows = vehicleRepository.findAllRegistryEntries();
+        ConcurrentHashMap<Long, RegisteredVehicle> loaded = new ConcurrentHashMap<>(rows.size() * 2);
+        long maxId = 0;
+        for (Object[] row : rows) {
+            RegisteredVehicle vehicle = new RegisteredVehicle((Long) row[0], (VehicleType) row[1], (Long) row[2]);
+            loaded.put(vehicle.getVehicleId(), vehicle);
+            maxId = Math.max(maxId, vehicle.getVehicleId());
+        }
+
+        long[] bits = new long[(int) (maxId >> 6) + 1];
+        for (Long vehicleId : loaded.keySet()) {
+            bits[(int) (vehicleId >> 6)] |= 1L << vehicleId;
+        }
+
+        vehicles.putAll(loaded);
+        vehicles.keySet().retainAll(loaded.keySet());
+        knownIds = bits;
+        logger.info("Vehicle registry loaded: {} vehicles", loaded.size());
+    }
+
+    /**
+     * Find a registered vehicle
+     *
+     * @return the vehicle's type and owner, empty if the ID is not registered
+     */
+    public Optional<RegisteredVehicle> find(Long vehicleId) {
+        if (!mightExist(vehicleId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(vehicles.get(vehicleId));
+    }
+
+    /**
+     * Check whether a vehicle ID is registered
+     */
+    public boolean exists(Long vehicleId) {
+        return find(vehicleId).isPresent();
+    }
+
+    /**
+     * Add or update a vehicle (after it was saved)
+     */
+    public synchronized void register(Vehicle vehicle) {
+        Long vehicleId = vehicle.getVehicleId();
+        vehicles.put(vehicleId, new RegisteredVehicle(vehicleId, vehicle.getVehicleType(),
+                vehicle.getUser() != null ? vehicle.getUser().getUserId() : null));
+
+        long[] bits = knownIds;
+        int word = (int) (vehicleId >> 6);
+        long[] updated = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        updated[word] |= 1L << vehicleId;
+        knownIds = updated;
+    }
+
+    /**
+     * Remove a vehicle (after it was deleted)
+     */
+    public synchronized void unregister(Long vehicleId) {
+        vehicles.remove(vehicleId);
+
+        long[] bits = knownIds;
+        int word = (int) (vehicleId >> 6);
+        if (word < bits.length) {
+            long[] updated = bits.clone();
+            updated[word] &= ~(1L << vehicleId);
+            knownIds = updated;
+        }
+    }
+
+    /**
+     * Remove every vehicle of a user (after the user and, by cascade, their
+     * vehicles were deleted)
+     *
+     * @return IDs of the removed vehicles
+     */
+    public synchronized List<Long> unregisterOwner(Long userId) {
+        List<Long> removed = new ArrayList<>();
+        for (RegisteredVehicle vehicle : vehicles.values()) {
+            if (userId.equals(vehicle.getUserId())) {
+                removed.add(vehicle.getVehicleId());
+            }
+        }
+        removed.forEach(this::unregister);
+        return removed;
+    }
+
+    /**
+     * Get the number of registered vehicles
+     */
+    public int size() {
+        return vehicles.size();
+    }
+
+    private boolean mightExist(Long vehicleId) {
+        if (vehicleId == null || vehicleId < 0) {
+            return false;
+        }
+        long[] bits = knownIds;
+        long word = vehicleId >> 6;
+        return word < bits.length && (bits[(int) word] & (1L << vehicleId)) != 0;
+    }
+
+    /**
+     * Inner class holding what ingest and tolling need to know about a vehicle
+     */
+    public static class RegisteredVehicle {
+        private final Long vehicleId;
+        private final VehicleType vehicleType;
+        private final Long userId;
+
+        public RegisteredVehicle(Long vehicleId, VehicleType vehicleType, Long userId) {
+            this.vehicleId = vehicleId;
+            this.vehicleType = vehicleType;
+            this.userId = userId;
+        }
+
+        // Getters
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        public VehicleType getVehicleType() {
+            return vehicleType;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String toString() {
+            return "RegisteredVehicle{" +
+                    "vehicleId=" + vehicleId +
+                    ", vehicleType=" + vehicleType +
+                    ", userId=" + userId +
+                    '}';
+        }
+    }
+}
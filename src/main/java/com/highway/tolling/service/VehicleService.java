@@ -1,8 +1,11 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.dto.PageCursor;
+import com.highway.tolling.dto.PageResponse;
 import com.highway.tolling.model.Vehicle;
 import com.highway.tolling.repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,10 +19,16 @@ import java.util.Optional;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final VehicleRegistryService vehicleRegistryService;
+    private final VehicleLastSeenService vehicleLastSeenService;
 
     @Autowired
-    public VehicleService(VehicleRepository vehicleRepository) {
+    public VehicleService(VehicleRepository vehicleRepository,
+            VehicleRegistryService vehicleRegistryService,
+            VehicleLastSeenService vehicleLastSeenService) {
         this.vehicleRepository = vehicleRepository;
+        this.vehicleRegistryService = vehicleRegistryService;
+        this.vehicleLastSeenService = vehicleLastSeenService;
     }
 
     /**
@@ -33,16 +42,22 @@ public class VehicleService {
         if (vehicleRepository.existsByVehicleNumber(vehicle.getVehicleNumber())) {
             throw new RuntimeException("Vehicle with number " + vehicle.getVehicleNumber() + " already exists");
         }
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleRegistryService.register(savedVehicle);
+        return savedVehicle;
     }
 
     /**
-     * Get all registered vehicles
+     * Get one page of registered vehicles, ordered by ID
      * 
-     * @return list of all vehicles
+     * @param cursor cursor from the previous page (null for the first page)
+     * @param limit  page size
+     * @return page of vehicles
      */
-    public List<Vehicle> getAllVehicles() {
-        return vehicleRepository.findAll();
+    public PageResponse<Vehicle> getVehiclesPage(String cursor, int limit) {
+        List<Vehicle> vehicles = vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(
+                PageCursor.decodeId(cursor), PageRequest.ofSize(limit + 1));
+        return PageResponse.of(vehicles, limit, vehicle -> PageCursor.encode(vehicle.getVehicleId()));
     }
 
     /**
@@ -79,7 +94,9 @@ public class VehicleService {
         vehicle.setVehicleType(updatedVehicle.getVehicleType());
         vehicle.setUser(updatedVehicle.getUser());
 
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleRegistryService.register(savedVehicle);
+        return savedVehicle;
     }
 
     /**
@@ -92,5 +109,7 @@ public class VehicleService {
             throw new RuntimeException("Vehicle not found with id: " + id);
         }
         vehicleRepository.deleteById(id);
+        vehicleRegistryService.unregister(id);
+        vehicleLastSeenService.unregister(id);
     }
 }
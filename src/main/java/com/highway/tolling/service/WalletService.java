@@ -1,5 +1,6 @@
 package com.highway.tolling.service;
 
+import com.highway.tolling.model.Money;
 import com.highway.tolling.model.User;
 import com.highway.tolling.model.Wallet;
 import com.highway.tolling.repository.WalletRepository;
@@ -11,6 +12,7 @@ import java.util.Optional;
 /**
  * Wallet Service
  * Manages wallet operations including toll deductions and balance management
+ * All amounts are in paise (see Money).
  */
 @Service
 public class WalletService {
@@ -26,11 +28,11 @@ public class WalletService {
      * Create a new wallet for a user
      * 
      * @param user           The user for whom to create wallet
-     * @param initialBalance Initial balance amount
-     * @param minimumBalance Minimum balance threshold
+     * @param initialBalance Initial balance amount in paise
+     * @param minimumBalance Minimum balance threshold in paise
      * @return Created wallet
      */
-    public Wallet createWallet(User user, Double initialBalance, Double minimumBalance) {
+    public Wallet createWallet(User user, long initialBalance, long minimumBalance) {
         // Check if wallet already exists for this user
         if (walletRepository.existsByUser_UserId(user.getUserId())) {
             throw new RuntimeException("Wallet already exists for user: " + user.getUserId());
@@ -64,10 +66,10 @@ public class WalletService {
      * Add money to wallet (recharge)
      * 
      * @param walletId The wallet ID
-     * @param amount   Amount to add
+     * @param amount   Amount to add in paise
      * @return Updated wallet
      */
-    public Wallet addBalance(Long walletId, Double amount) {
+    public Wallet addBalance(Long walletId, long amount) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
@@ -75,7 +77,7 @@ public class WalletService {
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new RuntimeException("Wallet not found with id: " + walletId));
 
-        wallet.setBalance(wallet.getBalance() + amount);
+        wallet.setBalancePaise(Math.addExact(wallet.getBalancePaise(), amount));
         return walletRepository.save(wallet);
     }
 
@@ -84,10 +86,10 @@ public class WalletService {
      * Allows negative balance (user can go into deficit)
      * 
      * @param walletId   The wallet ID
-     * @param tollAmount Toll amount to deduct
+     * @param tollAmount Toll amount to deduct in paise
      * @return Updated wallet with deduction result
      */
-    public WalletDeductionResult deductToll(Long walletId, Double tollAmount) {
+    public WalletDeductionResult deductToll(Long walletId, long tollAmount) {
         if (tollAmount <= 0) {
             throw new IllegalArgumentException("Toll amount must be positive");
         }
@@ -96,11 +98,11 @@ public class WalletService {
                 .orElseThrow(() -> new RuntimeException("Wallet not found with id: " + walletId));
 
         // Store previous balance
-        double previousBalance = wallet.getBalance();
+        long previousBalance = wallet.getBalancePaise();
 
         // Deduct toll amount (allows negative balance)
-        double newBalance = previousBalance - tollAmount;
-        wallet.setBalance(newBalance);
+        long newBalance = Math.subtractExact(previousBalance, tollAmount);
+        wallet.setBalancePaise(newBalance);
 
         // Save updated wallet
         Wallet updatedWallet = walletRepository.save(wallet);
@@ -132,16 +134,16 @@ public class WalletService {
      * Get deficit amount (how much below minimum balance)
      * 
      * @param walletId The wallet ID
-     * @return Deficit amount (0 if not in deficit)
+     * @return Deficit amount in paise (0 if not in deficit)
      */
-    public double getDeficitAmount(Long walletId) {
+    public long getDeficitAmount(Long walletId) {
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new RuntimeException("Wallet not found with id: " + walletId));
 
         if (wallet.isInDeficit()) {
-            return wallet.getMinimumBalance() - wallet.getBalance();
+            return wallet.getMinimumBalancePaise() - wallet.getBalancePaise();
         }
-        return 0.0;
+        return 0;
     }
 
     /**
@@ -149,13 +151,13 @@ public class WalletService {
      */
     public static class WalletDeductionResult {
         private Wallet wallet;
-        private double previousBalance;
-        private double newBalance;
-        private double amountDeducted;
+        private long previousBalance; // paise
+        private long newBalance;
+        private long amountDeducted;
         private boolean isDeficit;
 
-        public WalletDeductionResult(Wallet wallet, double previousBalance,
-                double newBalance, double amountDeducted,
+        public WalletDeductionResult(Wallet wallet, long previousBalance,
+                long newBalance, long amountDeducted,
                 boolean isDeficit) {
             this.wallet = wallet;
             this.previousBalance = previousBalance;
@@ -169,16 +171,17 @@ public class WalletService {
             return wallet;
         }
 
+        // Rupees, for the API
         public double getPreviousBalance() {
-            return previousBalance;
+            return Money.toRupees(previousBalance);
         }
 
         public double getNewBalance() {
-            return newBalance;
+            return Money.toRupees(newBalance);
         }
 
         public double getAmountDeducted() {
-            return amountDeducted;
+            return Money.toRupees(amountDeducted);
         }
 
         public boolean isDeficit() {
@@ -189,9 +192,9 @@ public class WalletService {
         public String toString() {
             return "WalletDeductionResult{" +
                     "walletId=" + wallet.getWalletId() +
-                    ", previousBalance=₹" + previousBalance +
-                    ", newBalance=₹" + newBalance +
-                    ", amountDeducted=₹" + amountDeducted +
+                    ", previousBalance=" + Money.format(previousBalance) +
+                    ", newBalance=" + Money.format(newBalance) +
+                    ", amountDeducted=" + Money.format(amountDeducted) +
                     ", isDeficit=" + isDeficit +
                     '}';
         }
@@ -0,0 +1,59 @@
+-- ============================================================================
+-- Monthly range partitioning for location_tracking and data_anomalies
+-- ============================================================================
+-- Run once against tolling_system (MySQL 8.0+). Afterwards the application's
+-- PartitionMaintenanceService creates upcoming months and applies retention.
+--
+-- MySQL requires the partitioning column in every unique key, so the primary
+-- keys become (id, timestamp) / (id, detected_at). IDs stay AUTO_INCREMENT and
+-- unique; JPA keeps mapping "id" as the entity identifier.
+--
+-- Each month is one partition named pYYYYMM holding rows with
+-- timestamp < the first day of the following month. p_future catches anything
+-- beyond the newest month until it is split by the maintenance job.
+-- ============================================================================
+
+ALTER TABLE location_tracking
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp),
+    ADD INDEX idx_location_vehicle_time (vehicle_id, timestamp);
+
+ALTER TABLE location_tracking
+    PARTITION BY RANGE COLUMNS (timestamp) (
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+ALTER TABLE data_anomalies
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, detected_at),
+    ADD INDEX idx_anomaly_vehicle_time (vehicle_id, detected_at),
+    ADD INDEX idx_anomaly_status_time (review_status, detected_at);
+
+ALTER TABLE data_anomalies
+    PARTITION BY RANGE COLUMNS (detected_at) (
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
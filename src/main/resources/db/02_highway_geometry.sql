@@ -0,0 +1,18 @@
+-- ============================================================================
+-- Polyline highway geometry
+-- ============================================================================
+-- Run once against tolling_system. Stores the centreline of each highway as
+-- "lat,lon;lat,lon;..." vertices in driving order. Highways left NULL are
+-- matched against the straight line from start to end.
+--
+-- A GPS point belongs to the highway of the nearest segment, if that segment
+-- is within app.highway.corridor-half-width-meters of the point.
+-- ============================================================================
+
+ALTER TABLE highways
+    ADD COLUMN geometry TEXT NULL;
+
+-- Example:
+-- UPDATE highways
+--    SET geometry = '19.0760,72.8777;19.2183,72.9781;19.4500,73.1200'
+--  WHERE highway_name = 'NH-48';
@@ -0,0 +1,14 @@
+-- ============================================================================
+-- Linear-referenced highway usage
+-- ============================================================================
+-- Run once against tolling_system. Entry and exit points of a session are
+-- projected onto the highway centreline; their chainage (km from the first
+-- vertex) is stored and distance_traveled becomes |exit - entry| at close.
+--
+-- Existing rows keep their accumulated distance; sessions still open when this
+-- is applied get their entry chainage projected when they close.
+-- ============================================================================
+
+ALTER TABLE highway_usage
+    ADD COLUMN entry_chainage_km DOUBLE NULL,
+    ADD COLUMN exit_chainage_km DOUBLE NULL;
@@ -0,0 +1,42 @@
+-- ============================================================================
+-- Virtual toll gantries
+-- ============================================================================
+-- Run once against tolling_system. A gantry is a line segment across a
+-- highway; every consecutive GPS point pair of a vehicle whose path crosses
+-- the line records a gantry_crossings row and adds the per-vehicle-type
+-- charge to the open highway_usage session (gantry_charges).
+-- ============================================================================
+
+CREATE TABLE gantries (
+    gantry_id        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    highway_id       BIGINT       NOT NULL,
+    gantry_name      VARCHAR(100) NOT NULL,
+    start_latitude   DOUBLE       NOT NULL,
+    start_longitude  DOUBLE       NOT NULL,
+    end_latitude     DOUBLE       NOT NULL,
+    end_longitude    DOUBLE       NOT NULL,
+    charge_for_car   DOUBLE       NOT NULL,
+    charge_for_bike  DOUBLE       NOT NULL,
+    charge_for_truck DOUBLE       NOT NULL,
+    CONSTRAINT fk_gantries_highway FOREIGN KEY (highway_id) REFERENCES highways (highway_id)
+        ON DELETE CASCADE
+);
+
+CREATE TABLE gantry_crossings (
+    id                 BIGINT AUTO_INCREMENT PRIMARY KEY,
+    gantry_id          BIGINT   NOT NULL,
+    vehicle_id         BIGINT   NOT NULL,
+    highway_usage_id   BIGINT   NULL,
+    crossing_timestamp DATETIME(6) NOT NULL,
+    charge             DOUBLE   NOT NULL,
+    INDEX idx_gantry_crossings_vehicle (vehicle_id, crossing_timestamp),
+    INDEX idx_gantry_crossings_usage (highway_usage_id)
+);
+
+ALTER TABLE highway_usage
+    ADD COLUMN gantry_charges DOUBLE NOT NULL DEFAULT 0;
+
+-- Example: a gantry across NH-48 near Thane
+-- INSERT INTO gantries (highway_id, gantry_name, start_latitude, start_longitude,
+--                       end_latitude, end_longitude, charge_for_car, charge_for_bike, charge_for_truck)
+-- VALUES (1, 'NH-48 Thane', 19.2180, 72.9770, 19.2186, 72.9792, 45.0, 20.0, 120.0);
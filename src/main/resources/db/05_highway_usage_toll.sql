@@ -0,0 +1,16 @@
+-- ============================================================================
+-- Per-session toll
+-- ============================================================================
+-- Run once against tolling_system. The toll of a session (distance x rate of
+-- the vehicle type, plus gantry charges) is computed when the session closes
+-- and stored with the version of the highway catalog the rate came from.
+-- Month-end billing sums toll_amount over the sessions closed in the month.
+--
+-- Open sessions and sessions closed before this is applied have no toll
+-- (NULL) and are not billed.
+-- ============================================================================
+
+ALTER TABLE highway_usage
+    ADD COLUMN toll_amount DOUBLE NULL,
+    ADD COLUMN rate_version BIGINT NULL,
+    ADD INDEX idx_highway_usage_exit (exit_timestamp);
@@ -0,0 +1,25 @@
+-- ============================================================================
+-- Billing accruals
+-- ============================================================================
+-- Run once against tolling_system. Every priced session that closes adds its
+-- distance and toll to the accrual row of its owner and month with a single
+-- upsert. The month is the one the session closes in, not the month of its
+-- exit timestamp; it is recorded in highway_usage.bill_month
+-- (13_highway_usage_bill_month.sql). Month-end billing turns the month's
+-- accruals into bills with one INSERT ... SELECT.
+--
+-- To seed accruals for months that were already running when this is
+-- applied, call POST /api/admin/billing/accruals/rebuild?month=YYYY-MM.
+-- ============================================================================
+
+CREATE TABLE billing_accruals (
+    accrual_id     BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id        BIGINT     NOT NULL,
+    bill_month     VARCHAR(7) NOT NULL,
+    total_distance DOUBLE     NOT NULL DEFAULT 0,
+    total_amount   DOUBLE     NOT NULL DEFAULT 0,
+    session_count  BIGINT     NOT NULL DEFAULT 0,
+    updated_at     DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_billing_accruals_user_month (user_id, bill_month),
+    INDEX idx_billing_accruals_month (bill_month)
+);
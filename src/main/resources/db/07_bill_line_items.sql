@@ -0,0 +1,27 @@
+-- ============================================================================
+-- Bill line items
+-- ============================================================================
+-- Run once against tolling_system. One row per bill, vehicle and highway:
+-- the month's closed sessions of that vehicle on that highway, summed.
+-- Written by the month-end billing run right after the bills, one
+-- INSERT ... SELECT per range of user IDs; served by bill_id.
+--
+-- rate_per_km is the effective distance rate of the grouped sessions
+-- ((amount - gantry_charges) / total_distance); it differs from the highway's
+-- current rate if the rate changed during the month.
+-- ============================================================================
+
+CREATE TABLE bill_line_items (
+    line_item_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bill_id        BIGINT NOT NULL,
+    vehicle_id     BIGINT NOT NULL,
+    highway_id     BIGINT NOT NULL,
+    session_count  BIGINT NOT NULL,
+    total_distance DOUBLE NOT NULL,
+    gantry_charges DOUBLE NOT NULL,
+    rate_per_km    DOUBLE NOT NULL,
+    amount         DOUBLE NOT NULL,
+    INDEX idx_bill_line_items_bill (bill_id, vehicle_id, highway_id),
+    CONSTRAINT fk_bill_line_items_bill FOREIGN KEY (bill_id) REFERENCES bills (bill_id)
+        ON DELETE CASCADE
+);
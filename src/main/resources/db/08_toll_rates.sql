@@ -0,0 +1,37 @@
+-- ============================================================================
+-- Time-effective toll rates
+-- ============================================================================
+-- Run once against tolling_system. Rates are versioned per highway and
+-- vehicle type: a rate applies from its effective_from until the next
+-- version of the same highway and type. Sessions are priced with the rate in
+-- effect at their entry, so a rate change never re-rates trips already under
+-- way, and highway_usage.rate_version now holds the toll_rates.rate_id used.
+--
+-- Editing a highway's rates appends versions effective immediately; future
+-- changes are scheduled with POST /api/highways/{id}/rates. The rate columns
+-- of highways keep the rates of the last edit. Highways without versions are
+-- seeded from those columns (effective from 1970-01-01) when the application
+-- starts; the INSERT below does the same for existing highways.
+-- ============================================================================
+
+CREATE TABLE toll_rates (
+    rate_id        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    highway_id     BIGINT      NOT NULL,
+    vehicle_type   VARCHAR(20) NOT NULL,
+    rate_per_km    DOUBLE      NOT NULL,
+    effective_from DATETIME(6) NOT NULL,
+    created_at     DATETIME(6) NOT NULL,
+    INDEX idx_toll_rates_highway (highway_id, vehicle_type, effective_from),
+    CONSTRAINT fk_toll_rates_highway FOREIGN KEY (highway_id) REFERENCES highways (highway_id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO toll_rates (highway_id, vehicle_type, rate_per_km, effective_from, created_at)
+SELECT h.highway_id, t.vehicle_type,
+       CASE t.vehicle_type WHEN 'CAR' THEN h.rate_per_km_for_car
+                           WHEN 'BIKE' THEN h.rate_per_km_for_bike
+                           ELSE h.rate_per_km_for_truck END,
+       '1970-01-01 00:00:00', NOW(6)
+FROM highways h
+CROSS JOIN (SELECT 'CAR' AS vehicle_type UNION ALL SELECT 'BIKE'
+            UNION ALL SELECT 'BUS' UNION ALL SELECT 'TRUCK') t;
@@ -0,0 +1,29 @@
+-- ============================================================================
+-- Time-of-day pricing windows
+-- ============================================================================
+-- Run once against tolling_system. A pricing window multiplies the per-km
+-- rate of a highway on one weekday between start_time and end_time (end
+-- exclusive; 00:00 as end means midnight at the end of the day). Outside all
+-- windows the multiplier is 1. Windows are compiled into 15-minute slots: a
+-- window covers every slot it overlaps, and where windows overlap the one
+-- created last wins.
+--
+-- A session's distance is spread evenly over its time on the highway, so its
+-- toll uses the time-weighted average multiplier between entry and exit.
+-- ============================================================================
+
+CREATE TABLE pricing_windows (
+    window_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    highway_id  BIGINT      NOT NULL,
+    day_of_week VARCHAR(10) NOT NULL,
+    start_time  TIME        NOT NULL,
+    end_time    TIME        NOT NULL,
+    multiplier  DOUBLE      NOT NULL,
+    INDEX idx_pricing_windows_highway (highway_id),
+    CONSTRAINT fk_pricing_windows_highway FOREIGN KEY (highway_id) REFERENCES highways (highway_id)
+        ON DELETE CASCADE
+);
+
+-- Example: weekday morning peak on NH-48 at 1.5x
+-- INSERT INTO pricing_windows (highway_id, day_of_week, start_time, end_time, multiplier)
+-- VALUES (1, 'MONDAY', '08:00', '10:30', 1.5);
@@ -0,0 +1,85 @@
+-- ============================================================================
+-- Money as whole paise
+-- ============================================================================
+-- Run once against tolling_system, with the application stopped. Every
+-- amount, balance, charge and rate moves from a DOUBLE rupee column to a
+-- BIGINT paise column (1 rupee = 100 paise): sums in the database and in the
+-- application are exact, and each computed toll is rounded once, half up, to
+-- the paisa. Existing values are converted with the same rounding (through
+-- DECIMAL: ROUND of a DOUBLE rounds half to even). The API keeps exchanging
+-- rupees.
+-- ============================================================================
+
+ALTER TABLE wallets
+    ADD COLUMN balance_paise         BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN minimum_balance_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE wallets
+SET balance_paise = ROUND(CAST(balance AS DECIMAL(20, 6)) * 100), minimum_balance_paise = ROUND(CAST(minimum_balance AS DECIMAL(20, 6)) * 100);
+ALTER TABLE wallets
+    DROP COLUMN balance,
+    DROP COLUMN minimum_balance;
+
+ALTER TABLE bills ADD COLUMN total_amount_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE bills SET total_amount_paise = ROUND(CAST(total_amount AS DECIMAL(20, 6)) * 100);
+ALTER TABLE bills DROP COLUMN total_amount;
+
+ALTER TABLE highways
+    ADD COLUMN rate_per_km_for_car_paise   BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rate_per_km_for_bike_paise  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rate_per_km_for_truck_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE highways
+SET rate_per_km_for_car_paise = ROUND(CAST(rate_per_km_for_car AS DECIMAL(20, 6)) * 100),
+    rate_per_km_for_bike_paise = ROUND(CAST(rate_per_km_for_bike AS DECIMAL(20, 6)) * 100),
+    rate_per_km_for_truck_paise = ROUND(CAST(rate_per_km_for_truck AS DECIMAL(20, 6)) * 100);
+ALTER TABLE highways
+    DROP COLUMN rate_per_km_for_car,
+    DROP COLUMN rate_per_km_for_bike,
+    DROP COLUMN rate_per_km_for_truck;
+
+ALTER TABLE toll_rates ADD COLUMN rate_per_km_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE toll_rates SET rate_per_km_paise = ROUND(CAST(rate_per_km AS DECIMAL(20, 6)) * 100);
+ALTER TABLE toll_rates DROP COLUMN rate_per_km;
+
+ALTER TABLE gantries
+    ADD COLUMN charge_for_car_paise   BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN charge_for_bike_paise  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN charge_for_truck_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE gantries
+SET charge_for_car_paise = ROUND(CAST(charge_for_car AS DECIMAL(20, 6)) * 100),
+    charge_for_bike_paise = ROUND(CAST(charge_for_bike AS DECIMAL(20, 6)) * 100),
+    charge_for_truck_paise = ROUND(CAST(charge_for_truck AS DECIMAL(20, 6)) * 100);
+ALTER TABLE gantries
+    DROP COLUMN charge_for_car,
+    DROP COLUMN charge_for_bike,
+    DROP COLUMN charge_for_truck;
+
+ALTER TABLE gantry_crossings ADD COLUMN charge_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE gantry_crossings SET charge_paise = ROUND(CAST(charge AS DECIMAL(20, 6)) * 100);
+ALTER TABLE gantry_crossings DROP COLUMN charge;
+
+ALTER TABLE highway_usage
+    ADD COLUMN gantry_charges_paise BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN toll_amount_paise    BIGINT NULL;
+UPDATE highway_usage
+SET gantry_charges_paise = ROUND(CAST(gantry_charges AS DECIMAL(20, 6)) * 100), toll_amount_paise = ROUND(CAST(toll_amount AS DECIMAL(20, 6)) * 100);
+ALTER TABLE highway_usage
+    DROP COLUMN gantry_charges,
+    DROP COLUMN toll_amount;
+
+ALTER TABLE billing_accruals ADD COLUMN total_amount_paise BIGINT NOT NULL DEFAULT 0;
+UPDATE billing_accruals SET total_amount_paise = ROUND(CAST(total_amount AS DECIMAL(20, 6)) * 100);
+ALTER TABLE billing_accruals DROP COLUMN total_amount;
+
+-- rate_per_km_paise of a line item is the effective rate rounded to the paisa
+ALTER TABLE bill_line_items
+    ADD COLUMN gantry_charges_paise BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rate_per_km_paise    BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN amount_paise         BIGINT NOT NULL DEFAULT 0;
+UPDATE bill_line_items
+SET gantry_charges_paise = ROUND(CAST(gantry_charges AS DECIMAL(20, 6)) * 100),
+    rate_per_km_paise = ROUND(CAST(rate_per_km AS DECIMAL(20, 6)) * 100),
+    amount_paise = ROUND(CAST(amount AS DECIMAL(20, 6)) * 100);
+ALTER TABLE bill_line_items
+    DROP COLUMN gantry_charges,
+    DROP COLUMN rate_per_km,
+    DROP COLUMN amount;
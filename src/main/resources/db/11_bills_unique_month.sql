@@ -0,0 +1,17 @@
+-- ============================================================================
+-- One bill per user and month
+-- ============================================================================
+-- Run once against tolling_system. The unique key makes the database the
+-- guard against duplicate bills: the month-end rollover skips users already
+-- billed with NOT EXISTS, and of two overlapping runs (a manual trigger
+-- during the scheduled one, a second instance) the later one fails on the
+-- key instead of billing a user twice.
+--
+-- The ALTER fails if duplicates already exist; list them first with
+--   SELECT user_id, bill_month, COUNT(*) FROM bills
+--   GROUP BY user_id, bill_month HAVING COUNT(*) > 1;
+-- and keep one bill of each pair.
+-- ============================================================================
+
+ALTER TABLE bills
+    ADD UNIQUE KEY uk_bills_user_month (user_id, bill_month);
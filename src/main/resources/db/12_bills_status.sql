@@ -0,0 +1,11 @@
+-- ============================================================================
+-- Bill status index
+-- ============================================================================
+-- Run once against tolling_system. The daily overdue sweep walks PENDING
+-- bills in bill_id order, one chunk at a time, and marks those past their
+-- due date OVERDUE. With this index each chunk continues the scan where the
+-- previous one stopped instead of sorting every PENDING bill again.
+-- ============================================================================
+
+ALTER TABLE bills
+    ADD INDEX idx_bills_status (status, bill_id, due_date);
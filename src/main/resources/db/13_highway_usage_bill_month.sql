@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Bill month of a session
+-- ============================================================================
+-- Run once against tolling_system. A priced session is accrued to the month
+-- it closes in, recorded in bill_month. Before, the month of exit_timestamp
+-- was used; a session closed after the 1st with an exit in the previous
+-- month (late pings, back-dated exits) was added to an accrual that had
+-- already become a bill and was never billed. Accrual rebuilds and bill line
+-- items now select sessions by bill_month.
+--
+-- Sessions priced before this is applied get the month of their exit, which
+-- is where they were accrued.
+-- ============================================================================
+
+ALTER TABLE highway_usage
+    ADD COLUMN bill_month VARCHAR(7) NULL,
+    ADD INDEX idx_highway_usage_bill_month (bill_month);
+
+UPDATE highway_usage
+SET bill_month = DATE_FORMAT(exit_timestamp, '%Y-%m')
+WHERE toll_amount_paise IS NOT NULL;
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Billed user of a session
+-- ============================================================================
+-- Run once against tolling_system. A priced session records the owner of its
+-- vehicle at close in billed_user_id; that user's accrual is the one it was
+-- added to. Accrual rebuilds and bill line items group by this column
+-- instead of joining vehicles, so a vehicle that changes owner mid-month
+-- no longer moves its earlier sessions to the new owner's line items.
+--
+-- Sessions priced before this is applied get the vehicle's current owner,
+-- the user they were grouped under until now.
+-- ============================================================================
+
+ALTER TABLE highway_usage
+    ADD COLUMN billed_user_id BIGINT NULL,
+    ADD INDEX idx_highway_usage_billed_user (billed_user_id, bill_month);
+
+UPDATE highway_usage hu
+JOIN vehicles v ON v.vehicle_id = hu.vehicle_id
+SET hu.billed_user_id = v.user_id
+WHERE hu.toll_amount_paise IS NOT NULL;
@@ -0,0 +1,27 @@
+package com.highway.tolling.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark Runner
+ * Runs the JMH benchmarks of this package; skipped by a plain mvn test.
+ *
+ * mvn test -Pbenchmark                               all benchmarks
+ * mvn test -Pbenchmark -Dbenchmark=PricingSchedule   matching benchmarks only
+ */
+@Tag("benchmark")
+class BenchmarkRunnerTest {
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        String include = System.getProperty("benchmark", "");
+        new Runner(new OptionsBuilder()
+                .include(BenchmarkRunnerTest.class.getPackageName() + ".*" + include)
+                .build())
+                .run();
+    }
+}
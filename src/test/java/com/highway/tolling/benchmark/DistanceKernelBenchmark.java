@@ -0,0 +1,82 @@
+package com.highway.tolling.benchmark;
+
+import com.highway.tolling.service.DistanceCalculatorService;
+import com.highway.tolling.service.DistanceCalculatorService.DistanceKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance Kernel Benchmark
+ * FAST against HAVERSINE on a track of pings 5-50 m apart, pair by pair
+ * (calculateDistance, as ingest does) and over the whole track at once
+ * (calculateConsecutiveDistances). Scores are per point pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceKernelBenchmark {
+
+    private static final int POINTS = 100_000;
+
+    @Param({ "FAST", "HAVERSINE" })
+    public DistanceKernel kernel;
+
+    private DistanceCalculatorService service;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        service = new DistanceCalculatorService();
+        ReflectionTestUtils.setField(service, "kernel", kernel);
+        ReflectionTestUtils.setField(service, "fastMaxSpanKm", 2.0);
+
+        // A wandering track around Bengaluru
+        Random random = new Random(38);
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        distances = new double[POINTS];
+        latitudes[0] = 12.97;
+        longitudes[0] = 77.59;
+        for (int i = 1; i < POINTS; i++) {
+            double spanDegrees = (0.005 + random.nextDouble() * 0.045) / 111.2;
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            latitudes[i] = latitudes[i - 1] + spanDegrees * Math.cos(bearing);
+            longitudes[i] = longitudes[i - 1] + spanDegrees * Math.sin(bearing) / Math.cos(Math.toRadians(12.97));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double pairwise() {
+        double total = 0.0;
+        for (int i = 1; i < POINTS; i++) {
+            total += service.calculateDistance(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double consecutive() {
+        return service.calculateConsecutiveDistances(latitudes, longitudes, POINTS, distances);
+    }
+}
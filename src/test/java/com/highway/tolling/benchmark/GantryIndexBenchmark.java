@@ -0,0 +1,106 @@
+package com.highway.tolling.benchmark;
+
+import com.highway.tolling.model.Gantry;
+import com.highway.tolling.service.GantryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gantry Index Benchmark
+ * GantryIndex.findCrossings on a drive of about 2,700 km with pings 5-50 m
+ * apart, as ingest calls it once per ping. Half the gantries sit on the
+ * route, the rest are scattered over the area it spans, so both occupied
+ * and empty cells are exercised. Scores are per point pair; the target is
+ * under 2 µs with thousands of gantries. The cost follows the number of
+ * gantries per grid cell, not the total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GantryIndexBenchmark {
+
+    private static final int POINTS = 100_000;
+    private static final double METERS_PER_DEGREE = 111_200.0;
+
+    @Param({ "1000", "5000", "20000" })
+    public int gantryCount;
+
+    private GantryIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        // A long drive out of Bengaluru, heading drifting a little per ping
+        Random random = new Random(37);
+        double lonScale = Math.cos(Math.toRadians(12.97));
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        latitudes[0] = 12.97;
+        longitudes[0] = 77.59;
+        double minLat = latitudes[0], maxLat = latitudes[0], minLon = longitudes[0], maxLon = longitudes[0];
+        double bearing = 0.0;
+        for (int i = 1; i < POINTS; i++) {
+            double spanDegrees = (5.0 + random.nextDouble() * 45.0) / METERS_PER_DEGREE;
+            bearing += Math.toRadians(random.nextGaussian() * 5.0);
+            latitudes[i] = latitudes[i - 1] + spanDegrees * Math.cos(bearing);
+            longitudes[i] = longitudes[i - 1] + spanDegrees * Math.sin(bearing) / lonScale;
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+
+        // Gantries 30-60 m long, centred on a track point or anywhere nearby
+        List<Gantry> gantries = new ArrayList<>(gantryCount);
+        for (int g = 0; g < gantryCount; g++) {
+            double centreLat;
+            double centreLon;
+            if (g % 2 == 0) {
+                int at = random.nextInt(POINTS);
+                centreLat = latitudes[at];
+                centreLon = longitudes[at];
+            } else {
+                centreLat = minLat + random.nextDouble() * (maxLat - minLat);
+                centreLon = minLon + random.nextDouble() * (maxLon - minLon);
+            }
+            double halfDegrees = (15.0 + random.nextDouble() * 15.0) / METERS_PER_DEGREE;
+            double heading = random.nextDouble() * Math.PI;
+            double dLat = halfDegrees * Math.cos(heading);
+            double dLon = halfDegrees * Math.sin(heading) / lonScale;
+            Gantry gantry = new Gantry(1L, "G" + g, centreLat - dLat, centreLon - dLon,
+                    centreLat + dLat, centreLon + dLon, 500L, 250L, 1000L);
+            gantry.setGantryId((long) g + 1);
+            gantries.add(gantry);
+        }
+        index = GantryIndex.build(gantries);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public int findCrossings() {
+        int crossings = 0;
+        for (int i = 1; i < POINTS; i++) {
+            crossings += index.findCrossings(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]).size();
+        }
+        return crossings;
+    }
+}
@@ -0,0 +1,251 @@
+package com.highway.tolling.benchmark;
+
+import com.highway.tolling.model.Highway;
+import com.highway.tolling.service.DistanceCalculatorService;
+import com.highway.tolling.service.HighwaySegmentIndex;
+import com.highway.tolling.service.HighwaySessionHysteresisService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Hysteresis Replay
+ * Measures how many session rows entry/exit hysteresis saves. The same pings
+ * are replayed with hysteresis off (every matched entry opens a session) and
+ * with the default settings, and the sessions opened are compared.
+ *
+ * The synthetic fleet approaches a highway, drives along it - partly hugging
+ * the edge of the corridor, where GPS noise flips the map match from ping
+ * to ping - and leaves it again. Its saving says nothing about real data.
+ *
+ * A real track is replayed when -Dreplay.file names a CSV from
+ * GET /api/export/locations. Its highway_id column is taken as the per-ping
+ * map match, so export from a deployment running with
+ * app.highway.hysteresis.enabled=false; with compression on, only the stored
+ * points are replayed, which understates the pings hysteresis waits for.
+ *
+ * mvn test -Pbenchmark -Dtest=HysteresisReplayTest [-Dreplay.file=locations.csv]
+ */
+@Tag("benchmark")
+class HysteresisReplayTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HysteresisReplayTest.class);
+
+    private static final int TRIPS = 2_000;
+    private static final double CORRIDOR_HALF_WIDTH_M = 100.0;
+    private static final double GPS_SIGMA_M = 20.0;
+    private static final Long HIGHWAY_ID = 1L;
+
+    @Test
+    void hysteresisSavesSessionRowsOnSyntheticTrips() {
+        long withoutHysteresis = replaySynthetic(hysteresis(false));
+        long withHysteresis = replaySynthetic(hysteresis(true));
+
+        logger.info("Hysteresis replay (synthetic): {} trips, {} sessions without hysteresis, {} with ({})",
+                TRIPS, withoutHysteresis, withHysteresis, saving(withoutHysteresis, withHysteresis));
+
+        // Every trip really enters the highway once
+        assertThat(withHysteresis).isGreaterThanOrEqualTo(TRIPS).isLessThan(withoutHysteresis);
+    }
+
+    @Test
+    void hysteresisSavesSessionRowsOnExportedTrack() throws IOException {
+        String replayFile = System.getProperty("replay.file");
+        assumeTrue(replayFile != null && !replayFile.isBlank(), "set -Dreplay.file to replay an exported track");
+
+        List<Ping> pings = readExport(Path.of(replayFile));
+        long withoutHysteresis = replay(pings, hysteresis(false));
+        long withHysteresis = replay(pings, hysteresis(true));
+
+        logger.info("Hysteresis replay ({}): {} pings of {} vehicles, {} sessions without hysteresis, {} with ({})",
+                replayFile, pings.size(), pings.stream().map(ping -> ping.vehicleId).distinct().count(),
+                withoutHysteresis, withHysteresis, saving(withoutHysteresis, withHysteresis));
+
+        assertThat(withHysteresis).isLessThanOrEqualTo(withoutHysteresis);
+    }
+
+    /**
+     * Replay every synthetic trip through the service and count sessions opened
+     */
+    private static long replaySynthetic(HighwaySessionHysteresisService service) {
+        HighwaySegmentIndex.SegmentMatch match = match(HIGHWAY_ID);
+
+        Random random = new Random(35);
+        long sessions = 0;
+        for (long vehicleId = 1; vehicleId <= TRIPS; vehicleId++) {
+            int intervalSeconds = 1 + random.nextInt(10);
+            double speedMps = 8.0 + random.nextDouble() * 22.0;
+            double stepKm = speedMps * intervalSeconds / 1000.0;
+            // Where the trip hugs the corridor edge: lateral offset of the
+            // true position while on the highway
+            double edgeOffsetM = CORRIDOR_HALF_WIDTH_M - 30.0 + random.nextDouble() * 40.0;
+            int approachPings = 20 + random.nextInt(40);
+            int highwayPings = 100 + random.nextInt(400);
+            int edgeFrom = random.nextInt(highwayPings / 2);
+            int edgeTo = edgeFrom + random.nextInt(highwayPings / 2);
+            int leavePings = 20 + random.nextInt(40);
+
+            LocalDateTime timestamp = LocalDateTime.of(2026, 3, 1, 6, 0).plusMinutes(random.nextInt(600));
+            Long state = null;
+            int total = approachPings + highwayPings + leavePings;
+            for (int i = 0; i < total; i++) {
+                double trueOffsetM;
+                if (i < approachPings) {
+                    trueOffsetM = CORRIDOR_HALF_WIDTH_M + 40.0 * (approachPings - i); // closing in
+                } else if (i < approachPings + highwayPings) {
+                    int along = i - approachPings;
+                    trueOffsetM = along >= edgeFrom && along < edgeTo ? edgeOffsetM : 10.0;
+                } else {
+                    trueOffsetM = CORRIDOR_HALF_WIDTH_M + 40.0 * (i - approachPings - highwayPings + 1);
+                }
+                double observedOffsetM = Math.abs(trueOffsetM + random.nextGaussian() * GPS_SIGMA_M);
+                HighwaySegmentIndex.SegmentMatch matched = observedOffsetM <= CORRIDOR_HALF_WIDTH_M ? match : null;
+
+                Long effective = service.apply(vehicleId, state, matched, 0.0, 0.0, timestamp, stepKm)
+                        .getHighwayId();
+                if (effective != null && !Objects.equals(effective, state)) {
+                    sessions++;
+                }
+                state = effective;
+                timestamp = timestamp.plusSeconds(intervalSeconds);
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Replay exported pings (time order, vehicles interleaved) and count
+     * sessions opened
+     */
+    private static long replay(List<Ping> pings, HighwaySessionHysteresisService service) {
+        DistanceCalculatorService distanceCalculator = new DistanceCalculatorService();
+        ReflectionTestUtils.setField(distanceCalculator, "kernel", DistanceCalculatorService.DistanceKernel.HAVERSINE);
+
+        Map<Long, HighwaySegmentIndex.SegmentMatch> matches = new HashMap<>();
+        Map<Long, Long> states = new HashMap<>();
+        Map<Long, Ping> previous = new HashMap<>();
+        long sessions = 0;
+        for (Ping ping : pings) {
+            Ping last = previous.put(ping.vehicleId, ping);
+            double distanceKm = last != null
+                    ? distanceCalculator.calculateHaversineDistance(last.latitude, last.longitude,
+                            ping.latitude, ping.longitude)
+                    : 0.0;
+            HighwaySegmentIndex.SegmentMatch matched = ping.highwayId != null
+                    ? matches.computeIfAbsent(ping.highwayId, HysteresisReplayTest::match)
+                    : null;
+
+            Long state = states.get(ping.vehicleId);
+            Long effective = service.apply(ping.vehicleId, state, matched, ping.latitude, ping.longitude,
+                    ping.timestamp, distanceKm).getHighwayId();
+            if (effective != null && !Objects.equals(effective, state)) {
+                sessions++;
+            }
+            states.put(ping.vehicleId, effective);
+        }
+        return sessions;
+    }
+
+    /**
+     * Read a location export (CSV with a header row, ordered by timestamp)
+     */
+    private static List<Ping> readExport(Path file) throws IOException {
+        List<Ping> pings = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            List<String> header = Arrays.asList(reader.readLine().split(","));
+            int vehicleId = column(header, "vehicle_id");
+            int latitude = column(header, "latitude");
+            int longitude = column(header, "longitude");
+            int timestamp = column(header, "timestamp");
+            int highwayId = column(header, "highway_id");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                pings.add(new Ping(
+                        Long.parseLong(fields[vehicleId]),
+                        Double.parseDouble(fields[latitude]),
+                        Double.parseDouble(fields[longitude]),
+                        parseTimestamp(fields[timestamp]),
+                        fields[highwayId].isEmpty() ? null : Long.parseLong(fields[highwayId])));
+            }
+        }
+        return pings;
+    }
+
+    private static int column(List<String> header, String name) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Export has no " + name + " column: " + header);
+        }
+        return index;
+    }
+
+    /**
+     * Export timestamps are written as ISO (2026-03-01T08:00:05) or JDBC
+     * (2026-03-01 08:00:05.0) date-times depending on the driver
+     */
+    private static LocalDateTime parseTimestamp(String value) {
+        String iso = value.replace(' ', 'T');
+        return LocalDateTime.parse(iso.endsWith(".0") ? iso.substring(0, iso.length() - 2) : iso);
+    }
+
+    private static HighwaySegmentIndex.SegmentMatch match(Long highwayId) {
+        Highway highway = new Highway();
+        highway.setHighwayId(highwayId);
+        return new HighwaySegmentIndex.SegmentMatch(highway, 0, 0.0, 0.0, 0.0);
+    }
+
+    private static String saving(long withoutHysteresis, long withHysteresis) {
+        return String.format("%d rows saved, %.1f%%", withoutHysteresis - withHysteresis,
+                withoutHysteresis > 0 ? 100.0 * (withoutHysteresis - withHysteresis) / withoutHysteresis : 0.0);
+    }
+
+    private static HighwaySessionHysteresisService hysteresis(boolean enabled) {
+        HighwaySessionHysteresisService service = new HighwaySessionHysteresisService();
+        ReflectionTestUtils.setField(service, "hysteresisEnabled", enabled);
+        ReflectionTestUtils.setField(service, "requiredPings", 3);
+        ReflectionTestUtils.setField(service, "requiredMeters", 150.0);
+        return service;
+    }
+
+    /**
+     * One exported GPS point
+     */
+    private static class Ping {
+        private final Long vehicleId;
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime timestamp;
+        private final Long highwayId; // null off highway
+
+        Ping(Long vehicleId, double latitude, double longitude, LocalDateTime timestamp, Long highwayId) {
+            this.vehicleId = vehicleId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+            this.highwayId = highwayId;
+        }
+    }
+}
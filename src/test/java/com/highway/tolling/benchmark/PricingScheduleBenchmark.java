@@ -0,0 +1,135 @@
+package com.highway.tolling.benchmark;
+
+import com.highway.tolling.model.PricingWindow;
+import com.highway.tolling.service.PricingSchedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing Schedule Benchmark
+ * Prices 10M sessions with the precompiled schedule and with a scan of the
+ * pricing windows that walks every session slot by slot, the approach the
+ * schedule replaces. The sessions cycle through a pool of 1M distinct ones
+ * to keep the heap small.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PricingScheduleBenchmark {
+
+    private static final int SESSIONS = 10_000_000;
+    private static final int POOL = 1_000_000;
+    private static final int HIGHWAYS = 50;
+    private static final int WINDOWS_PER_HIGHWAY = 10;
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private PricingSchedule schedule;
+    private List<PricingWindow> windows;
+    private long[] highwayIds;
+    private LocalDateTime[] entries;
+    private LocalDateTime[] exits;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(46);
+        windows = new ArrayList<>();
+        long windowId = 1;
+        for (long highwayId = 1; highwayId <= HIGHWAYS; highwayId++) {
+            for (int i = 0; i < WINDOWS_PER_HIGHWAY; i++) {
+                int start = random.nextInt(95);
+                int end = start + 1 + random.nextInt(96 - start);
+                PricingWindow window = new PricingWindow(highwayId, DayOfWeek.of(1 + random.nextInt(7)),
+                        slotTime(start), slotTime(end), 0.5 + random.nextInt(4) * 0.25);
+                window.setWindowId(windowId++);
+                windows.add(window);
+            }
+        }
+        schedule = PricingSchedule.build(windows);
+
+        highwayIds = new long[POOL];
+        entries = new LocalDateTime[POOL];
+        exits = new LocalDateTime[POOL];
+        for (int i = 0; i < POOL; i++) {
+            highwayIds[i] = 1 + random.nextInt(HIGHWAYS);
+            entries[i] = MONDAY.plusSeconds(random.nextInt(28 * 24 * 3600));
+            exits[i] = entries[i].plusSeconds(60 + random.nextInt(4 * 3600));
+        }
+    }
+
+    @Benchmark
+    public double precompiledSchedule() {
+        double sum = 0;
+        for (int n = 0; n < SESSIONS; n++) {
+            int i = n % POOL;
+            sum += schedule.getAverageMultiplier(highwayIds[i], entries[i], exits[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Baseline: per session, walk its 15-minute slots and look up the
+     * matching window of each. Prices 1 session in 100 (multiply the time
+     * by 100), as a full run takes minutes.
+     */
+    @Benchmark
+    public double windowScanSampled() {
+        double sum = 0;
+        for (int n = 0; n < SESSIONS; n += 100) {
+            int i = n % POOL;
+            sum += scanWindows(highwayIds[i], entries[i], exits[i]);
+        }
+        return sum;
+    }
+
+    private double scanWindows(long highwayId, LocalDateTime entry, LocalDateTime exit) {
+        double weighted = 0;
+        long seconds = 0;
+        LocalDateTime t = entry;
+        while (t.isBefore(exit)) {
+            LocalDateTime slotEnd = t.withMinute(t.getMinute() / 15 * 15).withSecond(0).withNano(0).plusMinutes(15);
+            LocalDateTime next = slotEnd.isBefore(exit) ? slotEnd : exit;
+            long length = Duration.between(t, next).getSeconds();
+            double multiplier = 1.0;
+            long winner = Long.MIN_VALUE;
+            for (PricingWindow window : windows) {
+                if (window.getHighwayId() == highwayId
+                        && window.getDayOfWeek() == t.getDayOfWeek()
+                        && !t.toLocalTime().isBefore(window.getStartTime())
+                        && (window.getEndTime().equals(LocalTime.MIDNIGHT)
+                                || t.toLocalTime().isBefore(window.getEndTime()))
+                        && window.getWindowId() > winner) {
+                    winner = window.getWindowId();
+                    multiplier = window.getMultiplier();
+                }
+            }
+            weighted += multiplier * length;
+            seconds += length;
+            t = next;
+        }
+        return seconds == 0 ? 1.0 : weighted / seconds;
+    }
+
+    private static LocalTime slotTime(int slot) {
+        return slot == 96 ? LocalTime.MIDNIGHT : LocalTime.of(slot / 4, slot % 4 * 15);
+    }
+}
@@ -0,0 +1,129 @@
+package com.highway.tolling.benchmark;
+
+import com.highway.tolling.dto.TollQuoteRequest;
+import com.highway.tolling.model.PricingWindow;
+import com.highway.tolling.model.TollRate;
+import com.highway.tolling.model.VehicleType;
+import com.highway.tolling.repository.PricingWindowRepository;
+import com.highway.tolling.repository.TollRateRepository;
+import com.highway.tolling.repository.VehicleRepository;
+import com.highway.tolling.service.PricingWindowService;
+import com.highway.tolling.service.TollCalculationService;
+import com.highway.tolling.service.TollQuoteService;
+import com.highway.tolling.service.TollRateService;
+import com.highway.tolling.service.VehicleRegistryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Toll Quote Benchmark
+ * One full batch of 100k routes through TollQuoteService.writeQuotes: rate
+ * lookup, time-of-day multiplier, pricing and NDJSON encoding. Half the
+ * routes name a registered vehicle, half a vehicle type. The repositories
+ * are stubs that are only read while the in-memory tables are built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TollQuoteBenchmark {
+
+    private static final int ROUTES = 100_000;
+    private static final int HIGHWAYS = 50;
+    private static final int VEHICLES = 10_000;
+
+    private TollQuoteService tollQuoteService;
+    private List<TollQuoteRequest> requests;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(48);
+        VehicleType[] types = VehicleType.values();
+
+        List<TollRate> rates = new ArrayList<>();
+        long rateId = 1;
+        for (long highwayId = 1; highwayId <= HIGHWAYS; highwayId++) {
+            for (VehicleType type : types) {
+                // Original rate plus a revision in the middle of the month
+                for (LocalDateTime from : new LocalDateTime[] { LocalDateTime.of(2020, 1, 1, 0, 0),
+                        LocalDateTime.of(2026, 3, 15, 0, 0) }) {
+                    TollRate rate = new TollRate(highwayId, type, 100L + random.nextInt(400), from);
+                    rate.setRateId(rateId++);
+                    rates.add(rate);
+                }
+            }
+        }
+        TollRateRepository tollRateRepository = mock(TollRateRepository.class);
+        when(tollRateRepository.findAll()).thenReturn(rates);
+        TollRateService tollRateService = new TollRateService(tollRateRepository);
+        tollRateService.reload();
+
+        List<PricingWindow> windows = new ArrayList<>();
+        long windowId = 1;
+        for (long highwayId = 1; highwayId <= HIGHWAYS; highwayId++) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                PricingWindow peak = new PricingWindow(highwayId, day, LocalTime.of(8, 0), LocalTime.of(10, 30), 1.5);
+                peak.setWindowId(windowId++);
+                windows.add(peak);
+            }
+        }
+        PricingWindowRepository pricingWindowRepository = mock(PricingWindowRepository.class);
+        when(pricingWindowRepository.findAll()).thenReturn(windows);
+        PricingWindowService pricingWindowService = new PricingWindowService(pricingWindowRepository, null);
+        pricingWindowService.rebuildSchedule();
+
+        List<Object[]> vehicles = new ArrayList<>();
+        for (long vehicleId = 1; vehicleId <= VEHICLES; vehicleId++) {
+            vehicles.add(new Object[] { vehicleId, types[random.nextInt(types.length)], 1 + vehicleId / 3 });
+        }
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        when(vehicleRepository.findAllRegistryEntries()).thenReturn(vehicles);
+        VehicleRegistryService vehicleRegistryService = new VehicleRegistryService(vehicleRepository);
+        vehicleRegistryService.reload();
+
+        tollQuoteService = new TollQuoteService(vehicleRegistryService, tollRateService, pricingWindowService,
+                new TollCalculationService(tollRateService, pricingWindowService));
+        ReflectionTestUtils.setField(tollQuoteService, "maxBatchSize", ROUTES);
+
+        now = LocalDateTime.of(2026, 3, 31, 12, 0);
+        requests = new ArrayList<>(ROUTES);
+        for (int i = 0; i < ROUTES; i++) {
+            boolean byVehicle = random.nextBoolean();
+            requests.add(new TollQuoteRequest(
+                    byVehicle ? 1L + random.nextInt(VEHICLES) : null,
+                    byVehicle ? null : types[random.nextInt(types.length)],
+                    1L + random.nextInt(HIGHWAYS),
+                    0.5 + random.nextDouble() * 300.0,
+                    random.nextInt(4) == 0 ? null : now.minusMinutes(random.nextInt(31 * 24 * 60))));
+        }
+    }
+
+    @Benchmark
+    public long quoteBatch() {
+        return tollQuoteService.writeQuotes(requests, now, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,172 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.service.DistanceCalculatorService.DistanceKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Distance Calculator Service Tests
+ * Property tests of the FAST kernel against Haversine over random points
+ * and bearings, checking the error bound documented on the class.
+ */
+class DistanceCalculatorServiceTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int SAMPLES = 200_000;
+
+    private DistanceCalculatorService fast;
+    private DistanceCalculatorService haversine;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        fast = service(DistanceKernel.FAST);
+        haversine = service(DistanceKernel.HAVERSINE);
+        random = new Random(38);
+    }
+
+    @Test
+    void haversineReturnsTheGreatCircleDistance() {
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat = randomLatitude(89.0);
+            double lon = randomLongitude();
+            double spanKm = 0.001 + random.nextDouble() * 100.0;
+            double[] to = destination(lat, lon, random.nextDouble() * 360.0, spanKm);
+
+            assertThat(haversine.calculateDistance(lat, lon, to[0], to[1])).isCloseTo(spanKm, within(1e-9));
+        }
+    }
+
+    @Test
+    void fastKernelStaysWithinDocumentedBound() {
+        assertMaxError(0.050, 0.01e-6);
+        assertMaxError(1.0, 0.1e-6);
+        assertMaxError(2.0, 0.3e-6);
+    }
+
+    @Test
+    void fastKernelIsExactlyHaversineAboveTheSpanLimit() {
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat = randomLatitude(80.0);
+            double lon = randomLongitude();
+            double[] to = destination(lat, lon, random.nextDouble() * 360.0, 2.1 + random.nextDouble() * 50.0);
+
+            assertThat(fast.calculateDistance(lat, lon, to[0], to[1]))
+                    .isEqualTo(haversine.calculateHaversineDistance(lat, lon, to[0], to[1]));
+        }
+    }
+
+    @Test
+    void fastKernelFallsBackNearThePolesAndAcrossTheAntimeridian() {
+        assertThat(fast.calculateEquirectangularDistance(80.5, 10.0, 80.5, 10.01)).isNaN();
+        assertThat(fast.calculateEquirectangularDistance(-12.0, 179.999, -12.0, -179.999)).isNaN();
+
+        assertThat(fast.calculateDistance(80.5, 10.0, 80.5, 10.01))
+                .isEqualTo(fast.calculateHaversineDistance(80.5, 10.0, 80.5, 10.01));
+        assertThat(fast.calculateDistance(-12.0, 179.999, -12.0, -179.999))
+                .isEqualTo(fast.calculateHaversineDistance(-12.0, 179.999, -12.0, -179.999));
+    }
+
+    @Test
+    void consecutiveDistancesMatchPairwiseDistances() {
+        int count = 10_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        latitudes[0] = randomLatitude(60.0);
+        longitudes[0] = randomLongitude();
+        for (int i = 1; i < count; i++) {
+            // Mostly pings 5-50 m apart, with an occasional long jump
+            double spanKm = random.nextInt(100) == 0 ? 5.0 : 0.005 + random.nextDouble() * 0.045;
+            double[] next = destination(latitudes[i - 1], longitudes[i - 1], random.nextDouble() * 360.0, spanKm);
+            latitudes[i] = next[0];
+            longitudes[i] = next[1];
+        }
+
+        for (DistanceCalculatorService service : new DistanceCalculatorService[] { fast, haversine }) {
+            double[] distances = new double[count];
+            double total = service.calculateConsecutiveDistances(latitudes, longitudes, count, distances);
+
+            double expectedTotal = 0.0;
+            assertThat(distances[0]).isZero();
+            for (int i = 1; i < count; i++) {
+                double expected = service.calculateDistance(latitudes[i - 1], longitudes[i - 1],
+                        latitudes[i], longitudes[i]);
+                assertThat(distances[i]).isCloseTo(expected, within(1e-12));
+                expectedTotal += distances[i];
+            }
+            assertThat(total).isCloseTo(expectedTotal, within(1e-9));
+        }
+    }
+
+    @Test
+    void distanceIsSymmetricAndZeroForTheSamePoint() {
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat = randomLatitude(80.0);
+            double lon = randomLongitude();
+            double[] to = destination(lat, lon, random.nextDouble() * 360.0, random.nextDouble() * 3.0);
+
+            assertThat(fast.calculateDistance(lat, lon, to[0], to[1]))
+                    .isCloseTo(fast.calculateDistance(to[0], to[1], lat, lon), within(1e-12));
+            assertThat(fast.calculateDistance(lat, lon, lat, lon)).isZero();
+        }
+    }
+
+    /**
+     * Largest difference between the kernels over random points at
+     * |latitude| <= 80° and spans up to maxSpanKm
+     */
+    private void assertMaxError(double maxSpanKm, double maxErrorKm) {
+        double worst = 0.0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat = randomLatitude(79.9);
+            double lon = randomLongitude();
+            double[] to = destination(lat, lon, random.nextDouble() * 360.0, random.nextDouble() * maxSpanKm);
+            if (Math.abs(to[0]) > 80.0) {
+                continue;
+            }
+
+            double error = Math.abs(fast.calculateDistance(lat, lon, to[0], to[1])
+                    - haversine.calculateDistance(lat, lon, to[0], to[1]));
+            worst = Math.max(worst, error);
+        }
+        assertThat(worst).as("max error up to %s km", maxSpanKm).isLessThanOrEqualTo(maxErrorKm);
+    }
+
+    /**
+     * Point at a great-circle distance and initial bearing from a start point
+     */
+    private static double[] destination(double lat, double lon, double bearingDegrees, double distanceKm) {
+        double phi1 = Math.toRadians(lat);
+        double lambda1 = Math.toRadians(lon);
+        double theta = Math.toRadians(bearingDegrees);
+        double delta = distanceKm / EARTH_RADIUS_KM;
+
+        double phi2 = Math.asin(Math.sin(phi1) * Math.cos(delta)
+                + Math.cos(phi1) * Math.sin(delta) * Math.cos(theta));
+        double lambda2 = lambda1 + Math.atan2(Math.sin(theta) * Math.sin(delta) * Math.cos(phi1),
+                Math.cos(delta) - Math.sin(phi1) * Math.sin(phi2));
+        double lon2 = (Math.toDegrees(lambda2) + 540.0) % 360.0 - 180.0;
+        return new double[] { Math.toDegrees(phi2), lon2 };
+    }
+
+    private double randomLatitude(double maxAbs) {
+        return (random.nextDouble() * 2.0 - 1.0) * maxAbs;
+    }
+
+    private double randomLongitude() {
+        return random.nextDouble() * 360.0 - 180.0;
+    }
+
+    private static DistanceCalculatorService service(DistanceKernel kernel) {
+        DistanceCalculatorService service = new DistanceCalculatorService();
+        ReflectionTestUtils.setField(service, "kernel", kernel);
+        ReflectionTestUtils.setField(service, "fastMaxSpanKm", 2.0);
+        return service;
+    }
+}
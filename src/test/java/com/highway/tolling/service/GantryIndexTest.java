@@ -0,0 +1,92 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Gantry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gantry Index Tests
+ * A point exactly on a gantry line belongs to one side only, so a vehicle
+ * stopping on the line is charged once, and a gantry registered in several
+ * grid cells is reported once per crossing.
+ */
+class GantryIndexTest {
+
+    // West-east line across a north-south road; north is the positive side
+    private static final double LINE_LAT = 12.975;
+
+    @Test
+    void stoppingOnTheLineChargesOnceGoingNorth() {
+        GantryIndex index = GantryIndex.build(List.of(gantry(1L, LINE_LAT, 77.590, LINE_LAT, 77.600)));
+
+        assertThat(index.findCrossings(12.970, 77.595, LINE_LAT, 77.595)).isEmpty();
+        assertThat(index.findCrossings(LINE_LAT, 77.595, LINE_LAT, 77.595)).isEmpty();
+        assertThat(index.findCrossings(LINE_LAT, 77.595, 12.980, 77.595)).hasSize(1);
+    }
+
+    @Test
+    void stoppingOnTheLineChargesOnceGoingSouth() {
+        GantryIndex index = GantryIndex.build(List.of(gantry(1L, LINE_LAT, 77.590, LINE_LAT, 77.600)));
+
+        assertThat(index.findCrossings(12.980, 77.595, LINE_LAT, 77.595)).hasSize(1);
+        assertThat(index.findCrossings(LINE_LAT, 77.595, 12.970, 77.595)).isEmpty();
+    }
+
+    @Test
+    void touchingTheLineAndTurningBackIsNotCharged() {
+        GantryIndex index = GantryIndex.build(List.of(gantry(1L, LINE_LAT, 77.590, LINE_LAT, 77.600)));
+
+        // From the south onto the line and back: never on the positive side
+        assertThat(index.findCrossings(12.970, 77.595, LINE_LAT, 77.595)).isEmpty();
+        assertThat(index.findCrossings(LINE_LAT, 77.595, 12.970, 77.595)).isEmpty();
+    }
+
+    @Test
+    void pathEndingOnAGantryEndpointIsChargedOnce() {
+        GantryIndex index = GantryIndex.build(List.of(gantry(1L, LINE_LAT, 77.590, LINE_LAT, 77.600)));
+
+        assertThat(index.findCrossings(12.980, 77.600, LINE_LAT, 77.600)).hasSize(1);
+        assertThat(index.findCrossings(LINE_LAT, 77.600, 12.970, 77.600)).isEmpty();
+    }
+
+    @Test
+    void gantrySpanningSeveralCellsIsReportedOnce() {
+        // About 4.4 km wide: registered in five longitude cells
+        Gantry wide = gantry(1L, LINE_LAT, 77.585, LINE_LAT, 77.625);
+        GantryIndex index = GantryIndex.build(List.of(wide));
+
+        // The path's bounding box covers several of the gantry's cells
+        List<Gantry> crossed = index.findCrossings(12.965, 77.592, 12.985, 77.618);
+
+        assertThat(crossed).containsExactly(wide);
+    }
+
+    @Test
+    void longGapScanningAllGantriesReportsEachOnce() {
+        Gantry wide = gantry(1L, LINE_LAT, 77.585, LINE_LAT, 77.625);
+        Gantry other = gantry(2L, 13.500, 77.500, 13.500, 77.700);
+        GantryIndex index = GantryIndex.build(List.of(wide, other));
+
+        // Spans far more than the scanned-cell limit
+        List<Gantry> crossed = index.findCrossings(12.900, 77.600, 13.600, 77.600);
+
+        assertThat(crossed).containsExactly(wide, other);
+    }
+
+    @Test
+    void pathMissingTheGantryIsNotCharged() {
+        GantryIndex index = GantryIndex.build(List.of(gantry(1L, LINE_LAT, 77.590, LINE_LAT, 77.600)));
+
+        assertThat(index.findCrossings(12.970, 77.605, 12.980, 77.605)).isEmpty();
+        assertThat(GantryIndex.EMPTY.findCrossings(12.970, 77.595, 12.980, 77.595)).isEmpty();
+    }
+
+    private static Gantry gantry(Long gantryId, double startLat, double startLon, double endLat, double endLon) {
+        Gantry gantry = new Gantry(1L, "G" + gantryId, startLat, startLon, endLat, endLon, 500L, 250L, 1000L);
+        gantry.setGantryId(gantryId);
+        return gantry;
+    }
+}
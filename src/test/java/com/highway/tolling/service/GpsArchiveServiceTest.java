@@ -0,0 +1,127 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.LocationTracking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GPS Archive Service Tests
+ * Round trip of vehicle-month files and cursor reads across months.
+ */
+class GpsArchiveServiceTest {
+
+    private static final Long VEHICLE = 7L;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @TempDir
+    Path archiveDirectory;
+
+    private GpsArchiveService gpsArchiveService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gpsArchiveService = new GpsArchiveService(null);
+        ReflectionTestUtils.setField(gpsArchiveService, "archiveDirectory", archiveDirectory.toString());
+
+        // One point per day in January, February and March, IDs in time order
+        long id = 1;
+        for (YearMonth month = YearMonth.of(2026, 1); !month.isAfter(YearMonth.of(2026, 3)); month = month.plusMonths(1)) {
+            List<LocationTracking> points = new ArrayList<>();
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                points.add(point(id++, month.atDay(day).atTime(8, 0)));
+            }
+            gpsArchiveService.writeVehicleMonth(VEHICLE, month, points);
+        }
+    }
+
+    @Test
+    void fileRoundTripKeepsPoints() throws IOException {
+        Path file = gpsArchiveService.writeVehicleMonth(VEHICLE, YearMonth.of(2025, 12),
+                List.of(point(1L, LocalDateTime.of(2025, 12, 31, 23, 59, 59))));
+
+        List<LocationTracking> points = gpsArchiveService.readFile(file);
+
+        assertThat(points).hasSize(1);
+        assertThat(points.get(0).getId()).isEqualTo(1L);
+        assertThat(points.get(0).getTimestamp()).isEqualTo(LocalDateTime.of(2025, 12, 31, 23, 59, 59));
+        assertThat(points.get(0).getLatitude()).isEqualTo(12.971599);
+        assertThat(points.get(0).getHighwayId()).isEqualTo(3L);
+    }
+
+    @Test
+    void readsNewestPointsBeforeCursor() {
+        List<LocationTracking> page = gpsArchiveService.readVehicleBefore(VEHICLE, EPOCH,
+                LocalDateTime.of(2026, 3, 5, 8, 0), Long.MAX_VALUE, 3);
+
+        assertThat(page).extracting(LocationTracking::getTimestamp).containsExactly(
+                LocalDateTime.of(2026, 3, 5, 8, 0),
+                LocalDateTime.of(2026, 3, 4, 8, 0),
+                LocalDateTime.of(2026, 3, 3, 8, 0));
+    }
+
+    @Test
+    void excludesThePointAtTheCursor() {
+        LocalDateTime cursor = LocalDateTime.of(2026, 3, 5, 8, 0);
+        long cursorId = gpsArchiveService.readVehicleBefore(VEHICLE, EPOCH, cursor, Long.MAX_VALUE, 1)
+                .get(0).getId();
+
+        List<LocationTracking> page = gpsArchiveService.readVehicleBefore(VEHICLE, EPOCH, cursor, cursorId, 1);
+
+        assertThat(page).extracting(LocationTracking::getTimestamp)
+                .containsExactly(LocalDateTime.of(2026, 3, 4, 8, 0));
+    }
+
+    @Test
+    void pageSpansMonthsNewestFirst() {
+        List<LocationTracking> page = gpsArchiveService.readVehicleBefore(VEHICLE, EPOCH,
+                LocalDateTime.of(2026, 3, 2, 8, 0), Long.MAX_VALUE, 4);
+
+        assertThat(page).extracting(LocationTracking::getTimestamp).containsExactly(
+                LocalDateTime.of(2026, 3, 2, 8, 0),
+                LocalDateTime.of(2026, 3, 1, 8, 0),
+                LocalDateTime.of(2026, 2, 28, 8, 0),
+                LocalDateTime.of(2026, 2, 27, 8, 0));
+    }
+
+    @Test
+    void stopsBeforeOlderMonthsOncePageIsFull() throws IOException {
+        // An unreadable January file fails the read if it is ever opened
+        Files.writeString(archiveDirectory.resolve("2026-01").resolve("vehicle-" + VEHICLE + ".gpsc"), "corrupt");
+
+        List<LocationTracking> page = gpsArchiveService.readVehicleBefore(VEHICLE, EPOCH,
+                LocalDateTime.of(2026, 3, 31, 23, 0), Long.MAX_VALUE, 40);
+
+        assertThat(page).hasSize(40);
+        assertThat(page.get(39).getTimestamp()).isEqualTo(LocalDateTime.of(2026, 2, 20, 8, 0));
+    }
+
+    @Test
+    void rangeStartLimitsThePage() {
+        List<LocationTracking> page = gpsArchiveService.readVehicleBefore(VEHICLE,
+                LocalDateTime.of(2026, 3, 30, 0, 0), LocalDateTime.of(2026, 3, 31, 23, 0), Long.MAX_VALUE, 10);
+
+        assertThat(page).extracting(LocationTracking::getTimestamp).containsExactly(
+                LocalDateTime.of(2026, 3, 31, 8, 0),
+                LocalDateTime.of(2026, 3, 30, 8, 0));
+    }
+
+    private static LocationTracking point(Long id, LocalDateTime timestamp) {
+        LocationTracking point = new LocationTracking(VEHICLE, 12.971599, 77.594566, timestamp);
+        point.setId(id);
+        point.setIsOnHighway(true);
+        point.setHighwayId(3L);
+        return point;
+    }
+}
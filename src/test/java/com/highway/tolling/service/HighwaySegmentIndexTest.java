@@ -0,0 +1,152 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Highway;
+import com.highway.tolling.service.DistanceCalculatorService.DistanceKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Highway Segment Index Tests
+ * The batch matcher (matchAll, behind HighwayDetectionService.matchHighways)
+ * agrees point for point with findNearest over random points: on crossing
+ * and shared stretches of highway, near corridor edges, and outside every
+ * corridor.
+ */
+class HighwaySegmentIndexTest {
+
+    private static final double CORRIDOR_KM = 0.1;
+    private static final int HIGHWAYS = 12;
+    private static final int POINTS = 200_000;
+
+    private Random random;
+    private List<Highway> highways;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(39);
+        highways = new ArrayList<>();
+
+        // Random polylines around Bengaluru; with this many they cross
+        for (long id = 1; id <= HIGHWAYS; id++) {
+            int vertices = 5 + random.nextInt(20);
+            StringBuilder geometry = new StringBuilder();
+            double lat = 12.85 + random.nextDouble() * 0.3;
+            double lon = 77.45 + random.nextDouble() * 0.3;
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            for (int v = 0; v < vertices; v++) {
+                if (v > 0) {
+                    geometry.append(';');
+                    bearing += (random.nextDouble() - 0.5) * 0.8;
+                    double stepDegrees = 0.005 + random.nextDouble() * 0.03;
+                    lat += stepDegrees * Math.cos(bearing);
+                    lon += stepDegrees * Math.sin(bearing);
+                }
+                geometry.append(lat).append(',').append(lon);
+            }
+            highways.add(highway(id, geometry.toString()));
+        }
+
+        // Two highways sharing the middle of another one exactly (equal
+        // distances to both), and one running parallel 60 m away
+        String[] shared = highways.get(0).getGeometry().split(";");
+        highways.add(highway(HIGHWAYS + 1L, String.join(";", List.of(shared).subList(1, shared.length - 1))));
+        highways.add(highway(HIGHWAYS + 2L, String.join(";", List.of(shared).subList(0, shared.length / 2 + 1))));
+        StringBuilder parallel = new StringBuilder();
+        for (String vertex : highways.get(1).getGeometry().split(";")) {
+            String[] coordinates = vertex.split(",");
+            if (parallel.length() > 0) {
+                parallel.append(';');
+            }
+            parallel.append(Double.parseDouble(coordinates[0]) + 0.06 / 111.2).append(',').append(coordinates[1]);
+        }
+        highways.add(highway(HIGHWAYS + 3L, parallel.toString()));
+    }
+
+    @Test
+    void matchAllAgreesWithFindNearestForFastKernel() {
+        assertMatchAllAgrees(calculator(DistanceKernel.FAST));
+    }
+
+    @Test
+    void matchAllAgreesWithFindNearestForHaversineKernel() {
+        assertMatchAllAgrees(calculator(DistanceKernel.HAVERSINE));
+    }
+
+    @Test
+    void pointsOutsideEveryCorridorAreUnmatched() {
+        DistanceCalculatorService calculator = calculator(DistanceKernel.FAST);
+        HighwaySegmentIndex index = HighwaySegmentIndex.build(highways, CORRIDOR_KM, calculator);
+
+        double[] latitudes = { 0.0, 45.0, -12.97, 12.97 };
+        double[] longitudes = { 0.0, 77.59, 77.59, -77.59 };
+        long[] highwayIds = { -1, -1, -1, -1 };
+
+        assertThat(index.matchAll(latitudes, longitudes, 4, CORRIDOR_KM, calculator, highwayIds)).isZero();
+        assertThat(highwayIds).containsOnly(0L);
+    }
+
+    private void assertMatchAllAgrees(DistanceCalculatorService calculator) {
+        HighwaySegmentIndex index = HighwaySegmentIndex.build(highways, CORRIDOR_KM, calculator);
+
+        double[] latitudes = new double[POINTS];
+        double[] longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            if (i % 2 == 0) {
+                // Anywhere around the network, mostly outside every corridor
+                latitudes[i] = 12.6 + random.nextDouble() * 0.8;
+                longitudes[i] = 77.2 + random.nextDouble() * 0.8;
+            } else {
+                // Close to a vertex: inside, on the edge of or just outside
+                // one or more corridors, or exactly on a shared vertex
+                Highway highway = highways.get(random.nextInt(highways.size()));
+                String[] vertices = highway.getGeometry().split(";");
+                String[] vertex = vertices[random.nextInt(vertices.length)].split(",");
+                double spread = i % 10 == 1 ? 0.0 : 0.2 / 111.2;
+                latitudes[i] = Double.parseDouble(vertex[0]) + (random.nextDouble() * 2 - 1) * spread;
+                longitudes[i] = Double.parseDouble(vertex[1]) + (random.nextDouble() * 2 - 1) * spread;
+            }
+        }
+
+        long[] highwayIds = new long[POINTS];
+        int matched = index.matchAll(latitudes, longitudes, POINTS, CORRIDOR_KM, calculator, highwayIds);
+
+        int expectedMatched = 0;
+        for (int i = 0; i < POINTS; i++) {
+            HighwaySegmentIndex.SegmentMatch nearest = index.findNearest(latitudes[i], longitudes[i],
+                    CORRIDOR_KM, calculator);
+            long expected = nearest != null ? nearest.getHighway().getHighwayId() : 0L;
+            assertThat(highwayIds[i]).as("point %d (%s, %s)", i, latitudes[i], longitudes[i]).isEqualTo(expected);
+            if (nearest != null) {
+                expectedMatched++;
+            }
+        }
+        assertThat(matched).isEqualTo(expectedMatched);
+        // Both cases are actually exercised
+        assertThat(matched).isGreaterThan(POINTS / 10).isLessThan(POINTS * 9 / 10);
+    }
+
+    private static Highway highway(Long highwayId, String geometry) {
+        String[] vertices = geometry.split(";");
+        String[] start = vertices[0].split(",");
+        String[] end = vertices[vertices.length - 1].split(",");
+        Highway highway = new Highway("H" + highwayId, Double.parseDouble(start[0]), Double.parseDouble(start[1]),
+                Double.parseDouble(end[0]), Double.parseDouble(end[1]), 200L, 100L, 500L);
+        highway.setHighwayId(highwayId);
+        highway.setGeometry(geometry);
+        return highway;
+    }
+
+    private static DistanceCalculatorService calculator(DistanceKernel kernel) {
+        DistanceCalculatorService calculator = new DistanceCalculatorService();
+        ReflectionTestUtils.setField(calculator, "kernel", kernel);
+        ReflectionTestUtils.setField(calculator, "fastMaxSpanKm", 2.0);
+        return calculator;
+    }
+}
@@ -0,0 +1,92 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.Highway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Highway Session Hysteresis Service Tests
+ * Transitions commit after the configured pings or metres, flaps are
+ * suppressed, and committed transitions are dated back to their first ping.
+ */
+class HighwaySessionHysteresisServiceTest {
+
+    private static final Long VEHICLE = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    private HighwaySessionHysteresisService service;
+    private HighwaySegmentIndex.SegmentMatch onHighway;
+    private int ping;
+
+    @BeforeEach
+    void setUp() {
+        service = hysteresis(true, 3, 150);
+        Highway highway = new Highway();
+        highway.setHighwayId(5L);
+        onHighway = new HighwaySegmentIndex.SegmentMatch(highway, 0, 0.01, 1.0, 90.0);
+        ping = 0;
+    }
+
+    @Test
+    void entryCommitsAfterRequiredPingsAndIsDatedBack() {
+        assertThat(apply(null, onHighway, 0.02).getHighwayId()).isNull();
+        assertThat(apply(null, onHighway, 0.02).getHighwayId()).isNull();
+        HighwaySessionHysteresisService.HysteresisDecision decision = apply(null, onHighway, 0.02);
+
+        assertThat(decision.getHighwayId()).isEqualTo(5L);
+        assertThat(decision.getTransitionTimestamp()).isEqualTo(START);
+        assertThat(decision.getTransitionMatch()).isSameAs(onHighway);
+        assertThat(service.getStats().getCommittedTransitions()).isEqualTo(1);
+    }
+
+    @Test
+    void entryCommitsEarlyOnceRequiredDistanceIsCovered() {
+        assertThat(apply(null, onHighway, 0.2).getHighwayId()).isNull();
+        assertThat(apply(null, onHighway, 0.2).getHighwayId()).isEqualTo(5L);
+    }
+
+    @Test
+    void flapBackToCommittedStateIsSuppressed() {
+        apply(null, onHighway, 0.02);
+        apply(null, onHighway, 0.02);
+        assertThat(apply(null, null, 0.02).getHighwayId()).isNull();
+        assertThat(apply(null, onHighway, 0.02).getHighwayId()).isNull();
+
+        assertThat(service.getStats().getSuppressedTransitions()).isEqualTo(1);
+        assertThat(service.getStats().getCommittedTransitions()).isZero();
+    }
+
+    @Test
+    void exitIsDebouncedLikeEntry() {
+        assertThat(apply(5L, null, 0.02).getHighwayId()).isEqualTo(5L);
+        assertThat(apply(5L, null, 0.02).getHighwayId()).isEqualTo(5L);
+        assertThat(apply(5L, null, 0.02).getHighwayId()).isNull();
+    }
+
+    @Test
+    void disabledHysteresisPassesMatchesThrough() {
+        service = hysteresis(false, 3, 150);
+
+        assertThat(apply(null, onHighway, 0.02).getHighwayId()).isEqualTo(5L);
+        assertThat(apply(5L, null, 0.02).getHighwayId()).isNull();
+    }
+
+    private HighwaySessionHysteresisService.HysteresisDecision apply(Long previousHighwayId,
+            HighwaySegmentIndex.SegmentMatch match, double distanceKm) {
+        LocalDateTime timestamp = START.plusSeconds(5L * ping++);
+        return service.apply(VEHICLE, previousHighwayId, match, 12.9, 77.6, timestamp, distanceKm);
+    }
+
+    private static HighwaySessionHysteresisService hysteresis(boolean enabled, int pings, double meters) {
+        HighwaySessionHysteresisService service = new HighwaySessionHysteresisService();
+        ReflectionTestUtils.setField(service, "hysteresisEnabled", enabled);
+        ReflectionTestUtils.setField(service, "requiredPings", pings);
+        ReflectionTestUtils.setField(service, "requiredMeters", meters);
+        return service;
+    }
+}
@@ -0,0 +1,125 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.PricingWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Pricing Schedule Tests
+ * Slot edges and the integral lookup against a second-by-second sum.
+ */
+class PricingScheduleTest {
+
+    private static final Long HIGHWAY = 1L;
+    // 2024-01-01 was a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void windowCoversExactlyItsSlots() {
+        PricingSchedule schedule = PricingSchedule.build(List.of(
+                window(1L, DayOfWeek.MONDAY, "07:15", "09:15", 1.5)));
+
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(7).withMinute(14).withSecond(59))).isEqualTo(1.0);
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(7).withMinute(15))).isEqualTo(1.5);
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(9).withMinute(14).withSecond(59))).isEqualTo(1.5);
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(9).withMinute(15))).isEqualTo(1.0);
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.plusDays(1).withHour(8))).isEqualTo(1.0);
+    }
+
+    @Test
+    void windowEndingAtMidnightCoversTheRestOfTheDay() {
+        PricingSchedule schedule = PricingSchedule.build(List.of(
+                window(1L, DayOfWeek.SUNDAY, "22:00", "00:00", 0.5)));
+
+        LocalDateTime sunday = MONDAY.plusDays(6);
+        assertThat(schedule.getMultiplier(HIGHWAY, sunday.withHour(23).withMinute(59).withSecond(59))).isEqualTo(0.5);
+        assertThat(schedule.getMultiplier(HIGHWAY, sunday.plusDays(1))).isEqualTo(1.0);
+    }
+
+    @Test
+    void laterWindowWinsWhereWindowsOverlap() {
+        PricingSchedule schedule = PricingSchedule.build(List.of(
+                window(2L, DayOfWeek.MONDAY, "08:00", "09:00", 2.0),
+                window(1L, DayOfWeek.MONDAY, "07:00", "10:00", 1.5)));
+
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(7))).isEqualTo(1.5);
+        assertThat(schedule.getMultiplier(HIGHWAY, MONDAY.withHour(8).withMinute(30))).isEqualTo(2.0);
+    }
+
+    @Test
+    void highwayWithoutWindowsPaysTheBaseRate() {
+        assertThat(PricingSchedule.EMPTY.getAverageMultiplier(HIGHWAY, MONDAY, MONDAY.plusHours(3))).isEqualTo(1.0);
+        assertThat(PricingSchedule.EMPTY.getMultiplier(HIGHWAY, MONDAY)).isEqualTo(1.0);
+    }
+
+    @Test
+    void averageIsTimeWeighted() {
+        PricingSchedule schedule = PricingSchedule.build(List.of(
+                window(1L, DayOfWeek.MONDAY, "08:00", "09:00", 2.0)));
+
+        // 30 minutes at 1.0, then 30 minutes at 2.0
+        double average = schedule.getAverageMultiplier(HIGHWAY, MONDAY.withHour(7).withMinute(30),
+                MONDAY.withHour(8).withMinute(30));
+        assertThat(average).isCloseTo(1.5, within(1e-12));
+    }
+
+    @Test
+    void slotBoundariesAreWholeQuarterHours() {
+        assertThat(PricingSchedule.isSlotBoundary(LocalTime.of(7, 15))).isTrue();
+        assertThat(PricingSchedule.isSlotBoundary(LocalTime.MIDNIGHT)).isTrue();
+        assertThat(PricingSchedule.isSlotBoundary(LocalTime.of(7, 10))).isFalse();
+        assertThat(PricingSchedule.isSlotBoundary(LocalTime.of(7, 15, 1))).isFalse();
+    }
+
+    @Test
+    void averageMatchesSecondBySecondSumForRandomSessions() {
+        Random random = new Random(46);
+        List<PricingWindow> windows = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            int start = random.nextInt(95);
+            int end = start + 1 + random.nextInt(96 - start);
+            windows.add(window(id, DayOfWeek.of(1 + random.nextInt(7)), slotTime(start), slotTime(end),
+                    0.5 + random.nextInt(4) * 0.25));
+        }
+        PricingSchedule schedule = PricingSchedule.build(windows);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime entry = MONDAY.plusSeconds(random.nextInt(3 * 7 * 24 * 3600));
+            LocalDateTime exit = entry.plusSeconds(1 + random.nextInt(36 * 3600));
+
+            double sum = 0;
+            for (LocalDateTime t = entry; t.isBefore(exit); t = t.plusSeconds(1)) {
+                sum += schedule.getMultiplier(HIGHWAY, t);
+            }
+            double expected = sum / Duration.between(entry, exit).getSeconds();
+
+            assertThat(schedule.getAverageMultiplier(HIGHWAY, entry, exit))
+                    .as("session %s - %s", entry, exit)
+                    .isCloseTo(expected, within(1e-9));
+        }
+    }
+
+    private static LocalTime slotTime(int slot) {
+        return slot == 96 ? LocalTime.MIDNIGHT : LocalTime.of(slot / 4, slot % 4 * 15);
+    }
+
+    private static PricingWindow window(Long id, DayOfWeek day, String start, String end, double multiplier) {
+        return window(id, day, LocalTime.parse(start), LocalTime.parse(end), multiplier);
+    }
+
+    private static PricingWindow window(Long id, DayOfWeek day, LocalTime start, LocalTime end, double multiplier) {
+        PricingWindow window = new PricingWindow(HIGHWAY, day, start, end, multiplier);
+        window.setWindowId(id);
+        return window;
+    }
+}
@@ -0,0 +1,129 @@
+package com.highway.tolling.service;
+
+import com.highway.tolling.model.LocationTracking;
+import com.highway.tolling.service.DistanceCalculatorService.DistanceKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Trajectory Compression Service Tests
+ * Straight runs are held back, held-back points can be kept on demand, and
+ * the idle sweep stores the tail of silent vehicles and drops their windows.
+ */
+class TrajectoryCompressionServiceTest {
+
+    private static final Long VEHICLE = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    private TrajectoryCompressionService service;
+    private List<LocationTracking> stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = new ArrayList<>();
+        LocationTrackingService locationTrackingService = mock(LocationTrackingService.class);
+        when(locationTrackingService.saveLocation(any())).thenAnswer(invocation -> {
+            LocationTracking location = invocation.getArgument(0);
+            location.setId((long) stored.size() + 1);
+            stored.add(location);
+            return location;
+        });
+
+        DistanceCalculatorService distanceCalculatorService = new DistanceCalculatorService();
+        ReflectionTestUtils.setField(distanceCalculatorService, "kernel", DistanceKernel.HAVERSINE);
+        ReflectionTestUtils.setField(distanceCalculatorService, "fastMaxSpanKm", 2.0);
+
+        service = new TrajectoryCompressionService(locationTrackingService, null, null,
+                distanceCalculatorService, null);
+        ReflectionTestUtils.setField(service, "compressionEnabled", true);
+        ReflectionTestUtils.setField(service, "compactionEnabled", true);
+        ReflectionTestUtils.setField(service, "toleranceMeters", 10.0);
+        ReflectionTestUtils.setField(service, "maxBufferedPoints", 50);
+        ReflectionTestUtils.setField(service, "maxIntervalSeconds", 300L);
+    }
+
+    @Test
+    void straightRunIsHeldBack() {
+        for (int i = 0; i < 5; i++) {
+            service.offer(point(i), false);
+        }
+
+        assertThat(stored).hasSize(1);
+        assertThat(service.getLastAcceptedPoint(VEHICLE)).hasValueSatisfying(
+                last -> assertThat(last.getTimestamp()).isEqualTo(START.plusSeconds(40)));
+    }
+
+    @Test
+    void keepStoresAHeldBackPoint() {
+        LocationTracking last = null;
+        for (int i = 0; i < 5; i++) {
+            last = service.offer(point(i), false);
+        }
+        assertThat(last.getId()).isNull();
+
+        assertThat(service.keep(last).getId()).isNotNull();
+        assertThat(stored).hasSize(2).last().isSameAs(last);
+        // The kept point is the new anchor; nothing is left to flush
+        service.flushAll();
+        assertThat(stored).hasSize(2);
+    }
+
+    @Test
+    void sweepStoresTheTailOfASilentVehicleAndDropsItsWindow() {
+        for (int i = 0; i < 5; i++) {
+            service.offer(point(i), false);
+        }
+
+        assertThat(service.sweepIdleWindows(START.plusSeconds(40 + 301))).isEqualTo(1);
+
+        assertThat(stored).hasSize(2);
+        assertThat(stored.get(1).getTimestamp()).isEqualTo(START.plusSeconds(40));
+        assertThat(service.getWindowCount()).isZero();
+    }
+
+    @Test
+    void sweepKeepsWindowsOfActiveVehicles() {
+        for (int i = 0; i < 5; i++) {
+            service.offer(point(i), false);
+        }
+
+        assertThat(service.sweepIdleWindows(START.plusSeconds(40 + 299))).isZero();
+
+        assertThat(stored).hasSize(1);
+        assertThat(service.getWindowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pingAfterSweepStartsANewWindow() {
+        for (int i = 0; i < 5; i++) {
+            service.offer(point(i), false);
+        }
+        service.sweepIdleWindows(START.plusSeconds(40 + 301));
+
+        LocationTracking next = service.offer(point(50), false);
+
+        assertThat(next.getId()).isNotNull();
+        assertThat(stored).hasSize(3);
+        assertThat(service.getWindowCount()).isEqualTo(1);
+    }
+
+    /**
+     * Point i of a straight northbound track, 10 m and 10 s apart
+     */
+    private static LocationTracking point(int i) {
+        LocationTracking location = new LocationTracking(VEHICLE, 12.97 + i * 0.00009, 77.59,
+                START.plusSeconds(10L * i));
+        location.setDistanceFromPrevious(i == 0 ? 0.0 : 0.01);
+        return location;
+    }
+}
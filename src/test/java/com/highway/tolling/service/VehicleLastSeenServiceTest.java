@@ -0,0 +1,58 @@
+package com.highway.tolling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vehicle Last-Seen Service Tests
+ * Entries of vehicles silent beyond the heartbeat interval and of deleted
+ * vehicles are dropped.
+ */
+class VehicleLastSeenServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    private VehicleLastSeenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VehicleLastSeenService();
+        ReflectionTestUtils.setField(service, "heartbeatIntervalSeconds", 300L);
+    }
+
+    @Test
+    void evictsVehiclesSilentBeyondTheHeartbeat() {
+        ping(1L, NOW.minusSeconds(301));
+        ping(2L, NOW.minusSeconds(299));
+
+        assertThat(service.evictIdle(NOW)).isEqualTo(1);
+
+        assertThat(service.getLastSeen(1L)).isEmpty();
+        assertThat(service.getLastSeen(2L)).isPresent();
+        assertThat(service.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unregistersDeletedVehicles() {
+        ping(1L, NOW);
+        ping(2L, NOW);
+        ping(3L, NOW);
+
+        service.unregister(1L);
+        service.unregisterAll(List.of(2L, 4L));
+
+        assertThat(service.getLastSeen(1L)).isEmpty();
+        assertThat(service.getLastSeen(2L)).isEmpty();
+        assertThat(service.getLastSeen(3L)).isPresent();
+    }
+
+    private void ping(Long vehicleId, LocalDateTime timestamp) {
+        service.recordPing(vehicleId, 12.97, 77.59, timestamp, false, timestamp);
+    }
+}